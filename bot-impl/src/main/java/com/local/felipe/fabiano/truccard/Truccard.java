@@ -74,4 +74,9 @@ public class Truccard implements BotServiceProvider {
     public String getName() {
         return "Truccard";
     }
-}
\ No newline at end of file
+
+    @Override
+    public boolean isDeterministic() {
+        return true;
+    }
+}
@@ -29,6 +29,11 @@ import java.util.Optional;
 
 public class MalasiaBot implements BotServiceProvider {
 
+    @Override
+    public boolean isDeterministic() {
+        return true;
+    }
+
     @Override
     public int getRaiseResponse(GameIntel intel) {
 
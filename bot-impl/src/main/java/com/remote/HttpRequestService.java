@@ -1,45 +1,71 @@
 package com.remote;
 
+import com.bueno.domain.usecases.bot.dtos.RemoteBotDto;
 import com.bueno.domain.usecases.utils.exceptions.UnhealthyRemoteBot;
-import com.google.gson.Gson;
+import com.bueno.spi.model.GameIntel;
+import com.bueno.spi.model.GameIntelCodec;
 import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
 import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
 
-import java.net.URI;
+import java.time.Duration;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
-public class HttpRequestService<T, R> {
+public class HttpRequestService {
 
-    public R sendRequest(String path, T content, HttpMethod method, Class<R> returnType) {
+    private final RemoteBotTransport transport;
+
+    public HttpRequestService() {
+        this(RemoteBotTransport.shared());
+    }
+
+    public HttpRequestService(RemoteBotTransport transport) {
+        this.transport = Objects.requireNonNull(transport);
+    }
+
+    public <T, R> R sendRequest(RemoteBotDto bot, String resource, T content, HttpMethod method, Class<R> returnType) {
         try {
-            WebClient builder = WebClient.builder().build();
-            String response = builder
-                    .method(method)
-                    .uri(URI.create(path))
-                    .header("Content-Type", "application/json")
-                    .bodyValue(content)
-                    .retrieve()
-                    .bodyToMono(String.class)
-                    .block();
-            return new Gson().fromJson(response, returnType);
+            String response = exchange(bot, resource, content, method).block(transport.readTimeout());
+            return transport.gson().fromJson(response, returnType);
         } catch (Exception e) {
-            System.out.println("Error: could not fetch remote bot decision");
-
+            throw new UnhealthyRemoteBot("could not fetch remote bot decision");
         }
-        return null;
     }
 
-    public Optional<R> sendGetRequest(String path, Class<R> returnType) {
+    // Non-blocking variant: the future completes on the transport threads once the bot answers.
+    public <T, R> CompletableFuture<R> sendRequestAsync(RemoteBotDto bot, String resource, T content,
+                                                        HttpMethod method, Class<R> returnType) {
+        return exchange(bot, resource, content, method)
+                .timeout(transport.readTimeout())
+                .map(response -> transport.gson().fromJson(response, returnType))
+                .toFuture();
+    }
+
+    // Intel goes in the compact binary encoding to the bots that announced it, JSON to the others.
+    private <T> Mono<String> exchange(RemoteBotDto bot, String resource, T content, HttpMethod method) {
+        final WebClient.RequestBodySpec request = transport.clientFor(bot).method(method).uri("/" + resource);
+        final WebClient.RequestHeadersSpec<?> withBody = content instanceof GameIntel intel && transport.usesBinaryIntel(bot)
+                ? request.contentType(MediaType.parseMediaType(GameIntelCodec.MEDIA_TYPE)).bodyValue(GameIntelCodec.encode(intel))
+                : request.bodyValue(content);
+        return withBody.retrieve()
+                .toEntity(String.class)
+                .doOnNext(response -> transport.learnEncodings(bot, response.getHeaders()))
+                .flatMap(response -> Mono.justOrEmpty(response.getBody()));
+    }
+
+    // Waits at most the given timeout, or the read timeout of the transport when that is shorter.
+    public <R> Optional<R> sendGetRequest(RemoteBotDto bot, String resource, Class<R> returnType, Duration timeout) {
         try {
-            WebClient builder = WebClient.builder().build();
-            String request = builder
+            String request = transport.clientFor(bot)
                     .method(HttpMethod.GET)
-                    .uri(URI.create(path))
-                    .header("Content-Type", "application/json")
+                    .uri("/" + resource)
                     .retrieve()
                     .bodyToMono(String.class)
-                    .block();
-            R response = new Gson().fromJson(request, returnType);
+                    .block(timeout.compareTo(transport.readTimeout()) < 0 ? timeout : transport.readTimeout());
+            R response = transport.gson().fromJson(request, returnType);
             return Optional.ofNullable(response);
         } catch (Exception e) {
             throw new UnhealthyRemoteBot("could not fetch remote bot info");
@@ -1,51 +1,92 @@
 package com.remote;
 
 import com.bueno.domain.usecases.bot.providers.RemoteBotApi;
+import com.bueno.domain.usecases.bot.providers.RemoteBotHealthMonitor;
 import com.bueno.domain.usecases.bot.dtos.RemoteBotDto;
 import com.bueno.domain.usecases.utils.exceptions.UnhealthyRemoteBot;
 import com.bueno.spi.model.CardToPlay;
 import com.bueno.spi.model.GameIntel;
-import org.springframework.http.HttpMethod;
 
+import java.time.Duration;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
+// Decisions go through the batcher, which coalesces them into one request per bot when the bot supports
+// the batch protocol and sends them one by one otherwise.
 public class RemoteBotApiAdapter implements RemoteBotApi {
 
+    // A health check gives up no later than the probe waiting for it, so a bot that does not answer does not
+    // hold a probe thread after its probe already counted it as unhealthy.
+    private static final Duration HEALTH_CHECK_TIMEOUT = RemoteBotHealthMonitor.DEFAULT_PROBE_TIMEOUT;
+
+    private final HttpRequestService requester;
+    private final RemoteBotBatcher batcher;
+
+    public RemoteBotApiAdapter() {
+        this(RemoteBotTransport.shared());
+    }
+
+    public RemoteBotApiAdapter(RemoteBotTransport transport) {
+        this(transport, new RemoteBotBatcher(transport));
+    }
+
+    public RemoteBotApiAdapter(RemoteBotTransport transport, RemoteBotBatcher batcher) {
+        this.requester = new HttpRequestService(transport);
+        this.batcher = Objects.requireNonNull(batcher);
+    }
+
     @Override
     public boolean fetchMaoDeOnzeResponse(GameIntel intel, RemoteBotDto botData) {
-        String url = buildUrl(botData, "mao-de-onze");
-        HttpRequestService<GameIntel, Boolean> requester = new HttpRequestService<>();
-        return requester.sendRequest(url, intel, HttpMethod.POST, Boolean.class);
+        return await(batcher.request(botData, "mao-de-onze", intel, Boolean.class));
     }
 
     @Override
     public boolean fetchRaiseRequestDecision(GameIntel intel, RemoteBotDto botData) {
-        String url = buildUrl(botData, "if-raises");
-        HttpRequestService<GameIntel, Boolean> requester = new HttpRequestService<>();
-        return requester.sendRequest(url, intel, HttpMethod.POST, Boolean.class);
+        return await(batcher.request(botData, "if-raises", intel, Boolean.class));
     }
 
     @Override
     public CardToPlay fetchCardToPlay(GameIntel intel, RemoteBotDto botData) {
-        String url = buildUrl(botData, "choose-card");
-        HttpRequestService<GameIntel, CardToPlay> requester = new HttpRequestService<>();
-        return requester.sendRequest(url, intel, HttpMethod.POST, CardToPlay.class);
+        return await(batcher.request(botData, "choose-card", intel, CardToPlay.class));
     }
 
     @Override
     public int fetchRaiseResponse(GameIntel intel, RemoteBotDto botData) {
-        String url = buildUrl(botData, "raise-response");
-        HttpRequestService<GameIntel, Integer> requester = new HttpRequestService<>();
-        return requester.sendRequest(url, intel, HttpMethod.POST, Integer.class);
+        return await(batcher.request(botData, "raise-response", intel, Integer.class));
+    }
+
+    @Override
+    public boolean supportsAsync() {
+        return true;
+    }
+
+    @Override
+    public CompletableFuture<Boolean> fetchMaoDeOnzeResponseAsync(GameIntel intel, RemoteBotDto botData) {
+        return batcher.request(botData, "mao-de-onze", intel, Boolean.class);
+    }
+
+    @Override
+    public CompletableFuture<Boolean> fetchRaiseRequestDecisionAsync(GameIntel intel, RemoteBotDto botData) {
+        return batcher.request(botData, "if-raises", intel, Boolean.class);
+    }
+
+    @Override
+    public CompletableFuture<CardToPlay> fetchCardToPlayAsync(GameIntel intel, RemoteBotDto botData) {
+        return batcher.request(botData, "choose-card", intel, CardToPlay.class);
+    }
+
+    @Override
+    public CompletableFuture<Integer> fetchRaiseResponseAsync(GameIntel intel, RemoteBotDto botData) {
+        return batcher.request(botData, "raise-response", intel, Integer.class);
     }
 
     @Override
     public boolean isHealthy(RemoteBotDto botData) {
-        String url = buildUrl(botData, "name");
-        HttpRequestService<GameIntel, String> requester = new HttpRequestService<>();
         Optional<String> response;
         try {
-            response = requester.sendGetRequest(url, String.class);
+            response = requester.sendGetRequest(botData, "name", String.class, HEALTH_CHECK_TIMEOUT);
         } catch (UnhealthyRemoteBot e) {
             System.out.println(e.getMessage());
             return false;
@@ -53,7 +94,13 @@ public class RemoteBotApiAdapter implements RemoteBotApi {
         return response.isPresent();
     }
 
-    private String buildUrl(RemoteBotDto botData, String resource) {
-        return String.format("%s:%s/%s", botData.url(), botData.port(), resource);
+    private static <R> R await(CompletableFuture<R> answer) {
+        try {
+            return answer.join();
+        } catch (CompletionException e) {
+            throw new UnhealthyRemoteBot("could not fetch remote bot decision", e.getCause());
+        } catch (Exception e) {
+            throw new UnhealthyRemoteBot("could not fetch remote bot decision", e);
+        }
     }
 }
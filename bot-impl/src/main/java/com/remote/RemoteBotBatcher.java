@@ -0,0 +1,252 @@
+package com.remote;
+
+import com.bueno.domain.usecases.bot.dtos.RemoteBotDto;
+import com.bueno.spi.model.GameIntel;
+import com.bueno.spi.model.GameIntelCodec;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonParser;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+// Coalesces the decisions asked to the same remote bot into one request. The first decision sent to a bot
+// opens a short window; the decisions arriving within it are posted together to the bot /batch endpoint
+// as an array of {resource, intel} and the answers, returned as an array in the same order, are handed
+// back to the waiting games. A bot advertises the protocol answering GET /batch with the largest batch it
+// accepts. Bots that do not answer it keep receiving one request per decision. Bots that announced the
+// binary intel encoding get the batch in the GameIntelCodec batch format instead of JSON.
+public class RemoteBotBatcher {
+
+    public static final Duration DEFAULT_WINDOW = Duration.ofMillis(2);
+    public static final int DEFAULT_MAX_BATCH_SIZE = 64;
+    private static final int UNSUPPORTED = 1;
+    private static final String BATCH_RESOURCE = "batch";
+    private static final ScheduledExecutorService TIMER = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        final Thread thread = new Thread(runnable, "remote-bot-batcher");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /* @ spec_public @ */
+    private final RemoteBotTransport transport;
+    /* @ spec_public @ */
+    private final HttpRequestService requester;
+    /* @ spec_public @ */
+    private final Duration window;
+    /* @ spec_public @ */
+    private final int maxBatchSize;
+    /* @ spec_public @ */
+    private final Map<String, CompletableFuture<Integer>> batchSizes = new ConcurrentHashMap<>();
+    /* @ spec_public @ */
+    private final Map<String, Batch> openBatches = new HashMap<>();
+
+    /*
+     * @ public invariant transport != null && requester != null;
+     *
+     * @ public invariant maxBatchSize > 0;
+     *
+     * @
+     */
+
+    public RemoteBotBatcher(RemoteBotTransport transport) {
+        this(transport, DEFAULT_WINDOW, DEFAULT_MAX_BATCH_SIZE);
+    }
+
+    /*
+     * @ public normal_behavior
+     *
+     * @ requires transport != null && window != null;
+     *
+     * @ requires maxBatchSize > 0;
+     *
+     * @ ensures this.window == window && this.maxBatchSize == maxBatchSize;
+     *
+     * @
+     */
+    public RemoteBotBatcher(RemoteBotTransport transport, Duration window, int maxBatchSize) {
+        if (maxBatchSize <= 0) throw new IllegalArgumentException("Batch size must be positive: " + maxBatchSize);
+        this.transport = Objects.requireNonNull(transport);
+        this.requester = new HttpRequestService(transport);
+        this.window = Objects.requireNonNull(window);
+        this.maxBatchSize = maxBatchSize;
+    }
+
+    /*
+     * @ public normal_behavior
+     *
+     * @ requires bot != null && resource != null && intel != null && returnType != null;
+     *
+     * @ ensures \result != null;
+     *
+     * @
+     */
+    public <R> CompletableFuture<R> request(RemoteBotDto bot, String resource, GameIntel intel, Class<R> returnType) {
+        return batchSizeOf(bot).thenCompose(batchSize -> batchSize > UNSUPPORTED
+                ? enqueue(bot, batchSize, new Pending<>(resource, intel, returnType))
+                : requester.sendRequestAsync(bot, resource, intel, HttpMethod.POST, returnType));
+    }
+
+    // Negotiated once per bot. An HTTP error status or a reply that is not a batch size means the bot does not
+    // know the endpoint; any other failure, such as the bot being offline, is forgotten once the stored
+    // negotiation completes, so the next decision negotiates again. The negotiation starts outside the map,
+    // as a failure may complete it on the calling thread.
+    private CompletableFuture<Integer> batchSizeOf(RemoteBotDto bot) {
+        final String key = RemoteBotTransport.baseUri(bot);
+        CompletableFuture<Integer> batchSize = batchSizes.get(key);
+        if (batchSize == null) {
+            final CompletableFuture<Integer> negotiation = new CompletableFuture<>();
+            batchSize = batchSizes.putIfAbsent(key, negotiation);
+            if (batchSize == null) {
+                batchSize = negotiation;
+                negotiation.whenComplete((size, error) -> {
+                    if (error != null) batchSizes.remove(key, negotiation);
+                });
+                negotiate(bot).subscribe(negotiation::complete, negotiation::completeExceptionally);
+            }
+        }
+        return batchSize.exceptionally(error -> UNSUPPORTED);
+    }
+
+    private Mono<Integer> negotiate(RemoteBotDto bot) {
+        return Mono.defer(() -> transport.clientFor(bot)
+                        .get()
+                        .uri("/" + BATCH_RESOURCE)
+                        .retrieve()
+                        .toEntity(String.class))
+                .timeout(transport.readTimeout())
+                .doOnNext(response -> transport.learnEncodings(bot, response.getHeaders()))
+                .map(response -> batchSizeIn(response.getBody()))
+                .defaultIfEmpty(UNSUPPORTED)
+                .onErrorResume(WebClientResponseException.class, e -> Mono.just(UNSUPPORTED));
+    }
+
+    private int batchSizeIn(String body) {
+        try {
+            final Integer batchSize = body == null ? null : transport.gson().fromJson(body, Integer.class);
+            return batchSize == null || batchSize <= UNSUPPORTED ? UNSUPPORTED : Math.min(batchSize, maxBatchSize);
+        } catch (JsonParseException e) {
+            return UNSUPPORTED;
+        }
+    }
+
+    private <R> CompletableFuture<R> enqueue(RemoteBotDto bot, int batchSize, Pending<R> pending) {
+        final String key = RemoteBotTransport.baseUri(bot);
+        Batch fullBatch = null;
+        synchronized (openBatches) {
+            Batch batch = openBatches.get(key);
+            if (batch == null) {
+                final Batch openedBatch = new Batch(bot);
+                openBatches.put(key, openedBatch);
+                TIMER.schedule(() -> flush(key, openedBatch), window.toNanos(), TimeUnit.NANOSECONDS);
+                batch = openedBatch;
+            }
+            batch.entries.add(pending);
+            if (batch.entries.size() >= batchSize) {
+                openBatches.remove(key);
+                fullBatch = batch;
+            }
+        }
+        if (fullBatch != null) send(fullBatch);
+        return pending.answer;
+    }
+
+    private void flush(String key, Batch batch) {
+        synchronized (openBatches) {
+            if (!openBatches.remove(key, batch)) return;
+        }
+        send(batch);
+    }
+
+    // Also runs on the timer thread, so a request that can not even be built fails its batch right away
+    // instead of leaving the answers to the deadline of the guard.
+    private void send(Batch batch) {
+        try {
+            post(batch);
+        } catch (RuntimeException e) {
+            batch.fail(e);
+        }
+    }
+
+    private void post(Batch batch) {
+        final WebClient.RequestBodySpec request = transport.clientFor(batch.bot).post().uri("/" + BATCH_RESOURCE);
+        final WebClient.RequestHeadersSpec<?> withBody = transport.usesBinaryIntel(batch.bot)
+                ? request.contentType(MediaType.parseMediaType(GameIntelCodec.BATCH_MEDIA_TYPE))
+                        .bodyValue(GameIntelCodec.encodeBatch(batch.entries.stream()
+                                .map(pending -> new GameIntelCodec.Entry(pending.resource, pending.intel))
+                                .toList()))
+                : request.bodyValue(batch.entries.stream()
+                        .map(pending -> new BatchRequest(pending.resource, pending.intel))
+                        .toList());
+        withBody.retrieve()
+                .toEntity(String.class)
+                .timeout(transport.readTimeout())
+                .doOnNext(response -> transport.learnEncodings(batch.bot, response.getHeaders()))
+                .mapNotNull(HttpEntity::getBody)
+                .toFuture()
+                .whenComplete((response, error) -> {
+                    if (error != null) batch.fail(error);
+                    else batch.answer(response);
+                });
+    }
+
+    public record BatchRequest(String resource, GameIntel intel) {
+    }
+
+    private final class Batch {
+        private final RemoteBotDto bot;
+        private final List<Pending<?>> entries = new ArrayList<>();
+
+        private Batch(RemoteBotDto bot) {
+            this.bot = bot;
+        }
+
+        private void answer(String response) {
+            try {
+                final JsonArray answers = JsonParser.parseString(response).getAsJsonArray();
+                if (answers.size() != entries.size())
+                    throw new IllegalStateException("Expected " + entries.size() + " answers but got " + answers.size());
+                for (int i = 0; i < entries.size(); i++) entries.get(i).complete(answers.get(i));
+            } catch (RuntimeException e) {
+                fail(e);
+            }
+        }
+
+        private void fail(Throwable error) {
+            entries.forEach(pending -> pending.answer.completeExceptionally(error));
+        }
+    }
+
+    private final class Pending<R> {
+        private final String resource;
+        private final GameIntel intel;
+        private final Class<R> returnType;
+        private final CompletableFuture<R> answer = new CompletableFuture<>();
+
+        private Pending(String resource, GameIntel intel, Class<R> returnType) {
+            this.resource = resource;
+            this.intel = intel;
+            this.returnType = returnType;
+        }
+
+        private void complete(JsonElement element) {
+            answer.complete(transport.gson().fromJson(element, returnType));
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package com.remote;
+
+import com.bueno.domain.usecases.bot.dtos.RemoteBotDto;
+import com.bueno.spi.model.GameIntelCodec;
+import com.google.gson.Gson;
+import io.netty.channel.ChannelOption;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Shared HTTP transport of the remote bots. One connection pool with keep-alive serves every bot, the
+// codecs and the Gson instance are built once, and each bot gets a WebClient bound to its base URI on
+// first use. Plain HTTP connections try HTTP/2 cleartext and fall back to HTTP/1.1 when the bot does
+// not support it. Bots that list the binary intel encoding in the response header of GameIntelCodec are
+// sent the compact encoding from then on.
+public class RemoteBotTransport {
+
+    public static final Duration DEFAULT_CONNECT_TIMEOUT = Duration.ofSeconds(2);
+    public static final Duration DEFAULT_READ_TIMEOUT = Duration.ofSeconds(5);
+    public static final int DEFAULT_MAX_CONNECTIONS = 256;
+    private static final Duration MAX_IDLE_TIME = Duration.ofSeconds(30);
+    private static final RemoteBotTransport SHARED =
+            new RemoteBotTransport(DEFAULT_CONNECT_TIMEOUT, DEFAULT_READ_TIMEOUT, DEFAULT_MAX_CONNECTIONS);
+
+    /* @ spec_public @ */
+    private final WebClient client;
+    /* @ spec_public @ */
+    private final Duration readTimeout;
+    /* @ spec_public @ */
+    private final Gson gson = new Gson();
+    /* @ spec_public @ */
+    private final Map<String, WebClient> botClients = new ConcurrentHashMap<>();
+    /* @ spec_public @ */
+    private final Set<String> binaryIntelBots = ConcurrentHashMap.newKeySet();
+
+    /*
+     * @ public invariant client != null;
+     *
+     * @ public invariant botClients != null;
+     *
+     * @
+     */
+
+    /*
+     * @ public normal_behavior
+     *
+     * @ requires connectTimeout != null && readTimeout != null;
+     *
+     * @ requires maxConnections > 0;
+     *
+     * @ ensures this.readTimeout == readTimeout;
+     *
+     * @
+     */
+    public RemoteBotTransport(Duration connectTimeout, Duration readTimeout, int maxConnections) {
+        this.readTimeout = Objects.requireNonNull(readTimeout);
+        final ConnectionProvider pool = ConnectionProvider.builder("remote-bots")
+                .maxConnections(maxConnections)
+                .maxIdleTime(MAX_IDLE_TIME)
+                .build();
+        final HttpClient httpClient = HttpClient.create(pool)
+                .protocol(HttpProtocol.HTTP11, HttpProtocol.H2C)
+                .keepAlive(true)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) connectTimeout.toMillis())
+                .responseTimeout(readTimeout);
+        this.client = WebClient.builder()
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
+                .defaultHeader("Content-Type", "application/json")
+                .build();
+    }
+
+    public static RemoteBotTransport shared() {
+        return SHARED;
+    }
+
+    /*
+     * @ public normal_behavior
+     *
+     * @ requires bot != null;
+     *
+     * @ ensures \result != null;
+     *
+     * @
+     */
+    public WebClient clientFor(RemoteBotDto bot) {
+        return botClients.computeIfAbsent(baseUri(bot), uri -> client.mutate().baseUrl(uri).build());
+    }
+
+    /*
+     * @ public normal_behavior
+     *
+     * @ requires bot != null && headers != null;
+     *
+     * @
+     */
+    public void learnEncodings(RemoteBotDto bot, HttpHeaders headers) {
+        final List<String> encodings = headers.getValuesAsList(GameIntelCodec.ENCODINGS_HEADER);
+        if (encodings.isEmpty()) return;
+        if (encodings.contains(GameIntelCodec.ENCODING)) binaryIntelBots.add(baseUri(bot));
+        else binaryIntelBots.remove(baseUri(bot));
+    }
+
+    public boolean usesBinaryIntel(RemoteBotDto bot) {
+        return binaryIntelBots.contains(baseUri(bot));
+    }
+
+    public Duration readTimeout() {
+        return readTimeout;
+    }
+
+    public Gson gson() {
+        return gson;
+    }
+
+    static String baseUri(RemoteBotDto bot) {
+        return String.format("%s:%s", bot.url(), bot.port());
+    }
+}
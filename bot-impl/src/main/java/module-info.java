@@ -21,6 +21,9 @@ module bot.impl {
     requires com.google.gson;
     requires spring.web;
     requires spring.context;
+    requires reactor.netty.http;
+    requires reactor.netty.core;
+    requires io.netty.transport;
 
     exports com.local.bueno.impl.dummybot;
     exports com.local.aah.refactor.me;
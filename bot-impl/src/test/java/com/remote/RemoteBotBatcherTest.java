@@ -0,0 +1,231 @@
+/*
+ *  Copyright (C) 2022 Lucas B. R. de Oliveira - IFSP/SCL
+ *  Contact: lucas <dot> oliveira <at> ifsp <dot> edu <dot> br
+ *
+ *  This file is part of CTruco (Truco game for didactic purpose).
+ *
+ *  CTruco is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  CTruco is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with CTruco.  If not, see <https://www.gnu.org/licenses/>
+ */
+
+package com.remote;
+
+import com.bueno.domain.usecases.bot.dtos.RemoteBotDto;
+import com.bueno.spi.model.GameIntel;
+import com.bueno.spi.model.TrucoCard;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonParser;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.reactivestreams.Publisher;
+import reactor.core.publisher.Mono;
+import reactor.netty.Connection;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+import reactor.netty.http.server.HttpServerRequest;
+import reactor.netty.http.server.HttpServerResponse;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Function;
+import java.util.stream.IntStream;
+
+import static com.bueno.spi.model.CardRank.*;
+import static com.bueno.spi.model.CardSuit.*;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RemoteBotBatcherTest {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(5);
+
+    private FakeBot bot;
+    private RemoteBotTransport transport;
+
+    @BeforeEach
+    void setUp() {
+        bot = new FakeBot();
+        transport = new RemoteBotTransport(Duration.ofSeconds(1), Duration.ofSeconds(2), 8);
+    }
+
+    @AfterEach
+    void tearDown() {
+        bot.close();
+    }
+
+    @Test
+    @DisplayName("Should negotiate the batch size once for each bot")
+    void shouldNegotiateTheBatchSizeOnceForEachBot() {
+        bot.negotiationReplies.add(new Reply(200, "4"));
+        final var sut = new RemoteBotBatcher(transport, Duration.ofMillis(1), 64);
+
+        assertThat(sut.request(bot.dto(), "mao-de-onze", intel(), Boolean.class)).succeedsWithin(TIMEOUT);
+        assertThat(sut.request(bot.dto(), "mao-de-onze", intel(), Boolean.class)).succeedsWithin(TIMEOUT);
+
+        assertThat(bot.requests).containsExactly("GET /batch", "POST /batch", "POST /batch");
+    }
+
+    @Test
+    @DisplayName("Should send one request per decision to a bot that does not know the endpoint")
+    void shouldSendOneRequestPerDecisionToABotThatDoesNotKnowTheEndpoint() {
+        bot.negotiationReplies.add(new Reply(404, ""));
+        final var sut = new RemoteBotBatcher(transport, Duration.ofMillis(1), 64);
+
+        assertThat(sut.request(bot.dto(), "mao-de-onze", intel(), Boolean.class)).succeedsWithin(TIMEOUT);
+        assertThat(sut.request(bot.dto(), "mao-de-onze", intel(), Boolean.class)).succeedsWithin(TIMEOUT);
+
+        assertThat(bot.requests).containsExactly("GET /batch", "POST /mao-de-onze", "POST /mao-de-onze");
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"", "yes", "1.5", "0"})
+    @DisplayName("Should remember a bot that answers the negotiation without a batch size as unsupported")
+    void shouldRememberABotThatAnswersTheNegotiationWithoutABatchSizeAsUnsupported(String body) {
+        bot.negotiationReplies.add(new Reply(200, body));
+        final var sut = new RemoteBotBatcher(transport, Duration.ofMillis(1), 64);
+
+        assertThat(sut.request(bot.dto(), "mao-de-onze", intel(), Boolean.class)).succeedsWithin(TIMEOUT);
+        assertThat(sut.request(bot.dto(), "mao-de-onze", intel(), Boolean.class)).succeedsWithin(TIMEOUT);
+
+        assertThat(bot.requests).containsExactly("GET /batch", "POST /mao-de-onze", "POST /mao-de-onze");
+    }
+
+    @Test
+    @DisplayName("Should negotiate again after the bot failed to answer the negotiation")
+    void shouldNegotiateAgainAfterTheBotFailedToAnswerTheNegotiation() {
+        bot.negotiationReplies.add(Reply.DROPPED);
+        bot.negotiationReplies.add(new Reply(200, "4"));
+        final var sut = new RemoteBotBatcher(transport, Duration.ofMillis(1), 64);
+
+        assertThat(sut.request(bot.dto(), "mao-de-onze", intel(), Boolean.class)).succeedsWithin(TIMEOUT);
+        assertThat(sut.request(bot.dto(), "mao-de-onze", intel(), Boolean.class)).succeedsWithin(TIMEOUT);
+
+        assertThat(bot.requests).containsExactly("GET /batch", "POST /mao-de-onze", "GET /batch", "POST /batch");
+    }
+
+    @Test
+    @DisplayName("Should send the decisions gathered within the window as one batch")
+    void shouldSendTheDecisionsGatheredWithinTheWindowAsOneBatch() {
+        bot.negotiationReplies.add(new Reply(200, "8"));
+        final var sut = new RemoteBotBatcher(transport, Duration.ofMillis(200), 64);
+        assertThat(sut.request(bot.dto(), "mao-de-onze", intel(), Boolean.class)).succeedsWithin(TIMEOUT);
+        bot.batchSizes.clear();
+
+        final List<CompletableFuture<Boolean>> answers = IntStream.range(0, 3)
+                .mapToObj(i -> sut.request(bot.dto(), "mao-de-onze", intel(), Boolean.class))
+                .toList();
+
+        assertThat(answers).allSatisfy(answer -> assertThat(answer).succeedsWithin(TIMEOUT).isEqualTo(true));
+        assertThat(bot.batchSizes).containsExactly(3);
+    }
+
+    @Test
+    @DisplayName("Should send a full batch without waiting for the window")
+    void shouldSendAFullBatchWithoutWaitingForTheWindow() {
+        bot.negotiationReplies.add(new Reply(200, "2"));
+        final var sut = new RemoteBotBatcher(transport, Duration.ofMinutes(1), 64);
+
+        final List<CompletableFuture<Boolean>> answers = IntStream.range(0, 2)
+                .mapToObj(i -> sut.request(bot.dto(), "mao-de-onze", intel(), Boolean.class))
+                .toList();
+
+        assertThat(answers).allSatisfy(answer -> assertThat(answer).succeedsWithin(TIMEOUT).isEqualTo(true));
+        assertThat(bot.batchSizes).containsExactly(2);
+    }
+
+    @Test
+    @DisplayName("Should fail every decision of a batch answered with the wrong number of answers")
+    void shouldFailEveryDecisionOfABatchAnsweredWithTheWrongNumberOfAnswers() {
+        bot.negotiationReplies.add(new Reply(200, "2"));
+        bot.batchReply = entries -> "[true]";
+        final var sut = new RemoteBotBatcher(transport, Duration.ofMinutes(1), 64);
+
+        final List<CompletableFuture<Boolean>> answers = IntStream.range(0, 2)
+                .mapToObj(i -> sut.request(bot.dto(), "mao-de-onze", intel(), Boolean.class))
+                .toList();
+
+        assertThat(answers).allSatisfy(answer -> assertThat(answer).failsWithin(TIMEOUT)
+                .withThrowableOfType(Exception.class)
+                .havingRootCause()
+                .isInstanceOf(IllegalStateException.class)
+                .withMessage("Expected 2 answers but got 1"));
+    }
+
+    private static GameIntel intel() {
+        return GameIntel.StepBuilder.with()
+                .gameInfo(List.of(), List.of(), TrucoCard.of(FOUR, HEARTS), 1)
+                .botInfo(List.of(TrucoCard.of(THREE, SPADES), TrucoCard.of(TWO, CLUBS), TrucoCard.of(ACE, DIAMONDS)), 0)
+                .opponentScore(0)
+                .build();
+    }
+
+    private record Reply(int status, String body) {
+        private static final Reply DROPPED = new Reply(-1, "");
+    }
+
+    // Bot server on a free local port. It answers GET /batch with the queued negotiation replies, every
+    // decision with true and POST /batch with the batch reply, recording the requests it received.
+    private static final class FakeBot implements AutoCloseable {
+        private final DisposableServer server;
+        private final Queue<Reply> negotiationReplies = new ConcurrentLinkedQueue<>();
+        private final List<String> requests = new CopyOnWriteArrayList<>();
+        private final List<Integer> batchSizes = new CopyOnWriteArrayList<>();
+        private volatile Function<JsonArray, String> batchReply = entries -> "[true" + ",true".repeat(entries.size() - 1) + "]";
+
+        private FakeBot() {
+            server = HttpServer.create().host("localhost").port(0).handle(this::handle).bindNow();
+        }
+
+        private Publisher<Void> handle(HttpServerRequest request, HttpServerResponse response) {
+            final String name = request.method().name() + " " + request.fullPath();
+            return request.receive().aggregate().asString().defaultIfEmpty("").flatMap(body -> {
+                requests.add(name);
+                return switch (name) {
+                    case "GET /batch" -> reply(response, negotiationReplies.remove());
+                    case "POST /batch" -> {
+                        final JsonArray entries = JsonParser.parseString(body).getAsJsonArray();
+                        batchSizes.add(entries.size());
+                        yield reply(response, new Reply(200, batchReply.apply(entries)));
+                    }
+                    default -> reply(response, new Reply(200, "true"));
+                };
+            });
+        }
+
+        private static Mono<Void> reply(HttpServerResponse response, Reply reply) {
+            if (reply.status() < 0) {
+                response.withConnection(Connection::dispose);
+                return Mono.empty();
+            }
+            return response.status(reply.status()).sendString(Mono.just(reply.body())).then();
+        }
+
+        private RemoteBotDto dto() {
+            return new RemoteBotDto(UUID.randomUUID(), UUID.randomUUID(), "FakeBot", "http://localhost",
+                    String.valueOf(server.port()), "", true);
+        }
+
+        @Override
+        public void close() {
+            server.disposeNow();
+        }
+    }
+}
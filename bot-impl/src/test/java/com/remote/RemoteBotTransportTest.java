@@ -0,0 +1,141 @@
+/*
+ *  Copyright (C) 2022 Lucas B. R. de Oliveira - IFSP/SCL
+ *  Contact: lucas <dot> oliveira <at> ifsp <dot> edu <dot> br
+ *
+ *  This file is part of CTruco (Truco game for didactic purpose).
+ *
+ *  CTruco is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  CTruco is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with CTruco.  If not, see <https://www.gnu.org/licenses/>
+ */
+
+package com.remote;
+
+import com.bueno.domain.usecases.bot.dtos.RemoteBotDto;
+import com.bueno.domain.usecases.utils.exceptions.UnhealthyRemoteBot;
+import com.bueno.spi.model.GameIntel;
+import com.bueno.spi.model.GameIntelCodec;
+import com.bueno.spi.model.TrucoCard;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static com.bueno.spi.model.CardRank.*;
+import static com.bueno.spi.model.CardSuit.*;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RemoteBotTransportTest {
+
+    private final Set<Integer> clientPorts = ConcurrentHashMap.newKeySet();
+    private final List<String> requests = new CopyOnWriteArrayList<>();
+    private DisposableServer server;
+    private RemoteBotTransport sut;
+
+    @BeforeEach
+    void setUp() {
+        server = HttpServer.create()
+                .host("localhost")
+                .port(0)
+                .handle((request, response) -> {
+                    requests.add(request.method().name() + " " + request.fullPath());
+                    clientPorts.add(request.remoteAddress().getPort());
+                    return response.sendString(request.receive().aggregate().asString().then(Mono.just("3")));
+                })
+                .bindNow();
+        sut = new RemoteBotTransport(Duration.ofSeconds(1), Duration.ofSeconds(2), 8);
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.disposeNow();
+    }
+
+    @Test
+    @DisplayName("Should bind one client to each bot base URI")
+    void shouldBindOneClientToEachBotBaseUri() {
+        final RemoteBotDto bot = bot(server.port());
+
+        assertThat(sut.clientFor(bot)).isSameAs(sut.clientFor(bot(server.port())));
+        assertThat(sut.clientFor(bot)).isNotSameAs(sut.clientFor(bot(server.port() + 1)));
+    }
+
+    @Test
+    @DisplayName("Should keep connections to a bot alive between consecutive requests")
+    void shouldKeepConnectionsToABotAliveBetweenConsecutiveRequests() {
+        final var requester = new HttpRequestService(sut);
+
+        for (int i = 0; i < 10; i++)
+            assertThat(requester.sendRequest(bot(server.port()), "raise-response", intel(), HttpMethod.POST,
+                    Integer.class)).isEqualTo(3);
+
+        assertThat(requests).containsOnly("POST /raise-response").hasSize(10);
+        assertThat(clientPorts).hasSizeLessThan(10);
+    }
+
+    @Test
+    @DisplayName("Should report a bot that does not answer as unhealthy")
+    void shouldReportABotThatDoesNotAnswerAsUnhealthy() {
+        final int port = server.port();
+        server.disposeNow();
+        final var requester = new HttpRequestService(sut);
+
+        assertThatThrownBy(() -> requester.sendRequest(bot(port), "raise-response", intel(), HttpMethod.POST,
+                Integer.class)).isInstanceOf(UnhealthyRemoteBot.class);
+    }
+
+    @Test
+    @DisplayName("Should use the binary intel only while the bot lists it")
+    void shouldUseTheBinaryIntelOnlyWhileTheBotListsIt() {
+        final RemoteBotDto bot = bot(server.port());
+        final HttpHeaders binary = new HttpHeaders();
+        binary.add(GameIntelCodec.ENCODINGS_HEADER, GameIntelCodec.ENCODING);
+        final HttpHeaders json = new HttpHeaders();
+        json.add(GameIntelCodec.ENCODINGS_HEADER, "json");
+
+        sut.learnEncodings(bot, binary);
+        final boolean afterBinary = sut.usesBinaryIntel(bot);
+        sut.learnEncodings(bot, new HttpHeaders());
+        final boolean afterNoHeader = sut.usesBinaryIntel(bot);
+        sut.learnEncodings(bot, json);
+
+        assertThat(afterBinary).isTrue();
+        assertThat(afterNoHeader).isTrue();
+        assertThat(sut.usesBinaryIntel(bot)).isFalse();
+    }
+
+    private static RemoteBotDto bot(int port) {
+        return new RemoteBotDto(UUID.randomUUID(), UUID.randomUUID(), "FakeBot", "http://localhost",
+                String.valueOf(port), "", true);
+    }
+
+    private static GameIntel intel() {
+        return GameIntel.StepBuilder.with()
+                .gameInfo(List.of(), List.of(), TrucoCard.of(FOUR, HEARTS), 1)
+                .botInfo(List.of(TrucoCard.of(THREE, SPADES), TrucoCard.of(TWO, CLUBS), TrucoCard.of(ACE, DIAMONDS)), 0)
+                .opponentScore(0)
+                .build();
+    }
+}
@@ -0,0 +1,275 @@
+/*
+ *  Copyright (C) 2022 Lucas B. R. de Oliveira - IFSP/SCL
+ *  Contact: lucas <dot> oliveira <at> ifsp <dot> edu <dot> br
+ *
+ *  This file is part of CTruco (Truco game for didactic purpose).
+ *
+ *  CTruco is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  CTruco is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with CTruco.  If not, see <https://www.gnu.org/licenses/>
+ */
+
+
+package com.bueno.spi.model;
+
+import com.bueno.spi.model.GameIntel.RoundResult;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * <p>
+ * Compact binary encoding of {@link GameIntel}, an alternative to JSON for the
+ * requests sent to remote bots. A remote bot announces it understands the
+ * encoding listing {@link #ENCODING} in the {@link #ENCODINGS_HEADER} header
+ * of its responses; after that, decisions are posted with the
+ * {@link #MEDIA_TYPE} content type and batches with {@link #BATCH_MEDIA_TYPE}.
+ * Answers are still JSON.
+ * </p>
+ * <p>
+ * An intel is encoded as: the format version byte; the vira, the opponent card
+ * ({@code 0xFF} if absent) and each card as one byte, given by
+ * {@link TrucoCard#code()}; the number of cards and of open cards as one byte
+ * each, followed by the cards; one byte with the number of round results in the
+ * two high bits and each result ordinal in two bits, first round in the lowest
+ * bits; and the score, the opponent score and the hand points as unsigned
+ * varints. A batch is the format version byte, the number of entries as a
+ * varint, and for each entry the index of its resource in {@link #RESOURCES},
+ * the encoded intel length as a varint and the encoded intel.
+ * </p>
+ */
+public final class GameIntelCodec {
+
+    public static final String ENCODING = "binary-v1";
+    public static final String ENCODINGS_HEADER = "X-CTruco-Intel-Encodings";
+    public static final String MEDIA_TYPE = "application/vnd.ctruco.intel";
+    public static final String BATCH_MEDIA_TYPE = "application/vnd.ctruco.intel-batch";
+    public static final List<String> RESOURCES = List.of("mao-de-onze", "if-raises", "choose-card", "raise-response");
+
+    private static final int VERSION = 1;
+    private static final int NO_CARD = 0xFF;
+    private static final int MAX_ROUNDS = 3;
+    private static final RoundResult[] ROUND_RESULTS = RoundResult.values();
+
+    public record Entry(String resource, GameIntel intel) {
+        public Entry {
+            if (!RESOURCES.contains(resource))
+                throw new IllegalArgumentException("Unknown resource: " + resource);
+            Objects.requireNonNull(intel);
+        }
+    }
+
+    private GameIntelCodec() {
+    }
+
+    /*
+     * @ public normal_behavior
+     * 
+     * @ requires intel != null;
+     * 
+     * @ ensures decode(\result).equals(intel);
+     * 
+     * @
+     */
+    public static byte[] encode(GameIntel intel) {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream(32);
+        out.write(VERSION);
+        writeIntel(out, intel);
+        return out.toByteArray();
+    }
+
+    /*
+     * @ public normal_behavior
+     * 
+     * @ requires bytes != null;
+     * 
+     * @ ensures \result != null;
+     * 
+     * @ also
+     * 
+     * @ public exceptional_behavior
+     * 
+     * @ signals (IllegalArgumentException);
+     * 
+     * @
+     */
+    public static GameIntel decode(byte[] bytes) {
+        final ByteBuffer in = ByteBuffer.wrap(bytes);
+        try {
+            readVersion(in);
+            final GameIntel intel = readIntel(in);
+            if (in.hasRemaining()) throw new IllegalArgumentException("Unexpected bytes after intel");
+            return intel;
+        } catch (BufferUnderflowException e) {
+            throw new IllegalArgumentException("Truncated intel", e);
+        }
+    }
+
+    /*
+     * @ public normal_behavior
+     * 
+     * @ requires entries != null;
+     * 
+     * @ ensures decodeBatch(\result).equals(entries);
+     * 
+     * @
+     */
+    public static byte[] encodeBatch(List<Entry> entries) {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream(24 * entries.size() + 4);
+        out.write(VERSION);
+        writeVarint(out, entries.size());
+        for (Entry entry : entries) {
+            final ByteArrayOutputStream encodedIntel = new ByteArrayOutputStream(32);
+            writeIntel(encodedIntel, entry.intel());
+            out.write(RESOURCES.indexOf(entry.resource()));
+            writeVarint(out, encodedIntel.size());
+            out.writeBytes(encodedIntel.toByteArray());
+        }
+        return out.toByteArray();
+    }
+
+    /*
+     * @ public normal_behavior
+     * 
+     * @ requires bytes != null;
+     * 
+     * @ ensures \result != null;
+     * 
+     * @ also
+     * 
+     * @ public exceptional_behavior
+     * 
+     * @ signals (IllegalArgumentException);
+     * 
+     * @
+     */
+    public static List<Entry> decodeBatch(byte[] bytes) {
+        final ByteBuffer in = ByteBuffer.wrap(bytes);
+        try {
+            readVersion(in);
+            final int size = readVarint(in);
+            final List<Entry> entries = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                final int resource = Byte.toUnsignedInt(in.get());
+                if (resource >= RESOURCES.size()) throw new IllegalArgumentException("Unknown resource index: " + resource);
+                final int end = readVarint(in) + in.position();
+                final GameIntel intel = readIntel(in);
+                if (in.position() != end) throw new IllegalArgumentException("Intel length does not match its content");
+                entries.add(new Entry(RESOURCES.get(resource), intel));
+            }
+            return entries;
+        } catch (BufferUnderflowException e) {
+            throw new IllegalArgumentException("Truncated batch", e);
+        }
+    }
+
+    private static void writeIntel(ByteArrayOutputStream out, GameIntel intel) {
+        out.write(intel.getVira().code());
+        out.write(intel.getOpponentCard().map(TrucoCard::code).orElse(NO_CARD));
+        writeCards(out, intel.getCards());
+        writeCards(out, intel.getOpenCards());
+        writeRoundResults(out, intel.getRoundResults());
+        writeVarint(out, intel.getScore());
+        writeVarint(out, intel.getOpponentScore());
+        writeVarint(out, intel.getHandPoints());
+    }
+
+    private static GameIntel readIntel(ByteBuffer in) {
+        final TrucoCard vira = readCard(in);
+        final int opponentCardCode = Byte.toUnsignedInt(in.get());
+        final List<TrucoCard> cards = readCards(in);
+        final List<TrucoCard> openCards = readCards(in);
+        final List<RoundResult> roundResults = readRoundResults(in);
+        final int score = readVarint(in);
+        final int opponentScore = readVarint(in);
+        final int handPoints = readVarint(in);
+
+        final GameIntel.StepBuilder builder = GameIntel.StepBuilder.with()
+                .gameInfo(roundResults, openCards, vira, handPoints)
+                .botInfo(cards, score)
+                .opponentScore(opponentScore);
+        if (opponentCardCode != NO_CARD) builder.opponentCard(toCard(opponentCardCode));
+        return builder.build();
+    }
+
+    private static void writeCards(ByteArrayOutputStream out, List<TrucoCard> cards) {
+        if (cards.size() > 0xFF) throw new IllegalArgumentException("Too many cards: " + cards.size());
+        out.write(cards.size());
+        for (TrucoCard card : cards) out.write(card.code());
+    }
+
+    private static List<TrucoCard> readCards(ByteBuffer in) {
+        final int size = Byte.toUnsignedInt(in.get());
+        final List<TrucoCard> cards = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) cards.add(readCard(in));
+        return List.copyOf(cards);
+    }
+
+    private static TrucoCard readCard(ByteBuffer in) {
+        return toCard(Byte.toUnsignedInt(in.get()));
+    }
+
+    private static TrucoCard toCard(int code) {
+        return TrucoCard.ofCode(code);
+    }
+
+    private static void writeRoundResults(ByteArrayOutputStream out, List<RoundResult> results) {
+        if (results.size() > MAX_ROUNDS) throw new IllegalArgumentException("Too many rounds: " + results.size());
+        int packed = results.size() << 6;
+        for (int i = 0; i < results.size(); i++) packed |= results.get(i).ordinal() << (2 * i);
+        out.write(packed);
+    }
+
+    private static List<RoundResult> readRoundResults(ByteBuffer in) {
+        final int packed = Byte.toUnsignedInt(in.get());
+        final int size = packed >>> 6;
+        if (size > MAX_ROUNDS) throw new IllegalArgumentException("Too many rounds: " + size);
+        final List<RoundResult> results = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            final int ordinal = (packed >>> (2 * i)) & 0b11;
+            if (ordinal >= ROUND_RESULTS.length) throw new IllegalArgumentException("Unknown round result: " + ordinal);
+            results.add(ROUND_RESULTS[ordinal]);
+        }
+        return List.copyOf(results);
+    }
+
+    private static void writeVarint(ByteArrayOutputStream out, int value) {
+        if (value < 0) throw new IllegalArgumentException("Value must not be negative: " + value);
+        while ((value & ~0x7F) != 0) {
+            out.write((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.write(value);
+    }
+
+    private static int readVarint(ByteBuffer in) {
+        int value = 0;
+        for (int shift = 0; shift < 32; shift += 7) {
+            final int b = Byte.toUnsignedInt(in.get());
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                if (value < 0) throw new IllegalArgumentException("Varint out of range");
+                return value;
+            }
+        }
+        throw new IllegalArgumentException("Malformed varint");
+    }
+
+    private static void readVersion(ByteBuffer in) {
+        final int version = Byte.toUnsignedInt(in.get());
+        if (version != VERSION) throw new IllegalArgumentException("Unsupported intel format version: " + version);
+    }
+}
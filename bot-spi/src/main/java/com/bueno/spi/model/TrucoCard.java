@@ -36,12 +36,30 @@ import java.util.Objects;
  */
 public final class TrucoCard {
 
+    private static final int CODES = 41;
+    private static final byte CLOSED_MANILHA = Byte.MIN_VALUE;
+
     /* @ spec_public @ */
-    private static final TrucoCard[] cache = new TrucoCard[41];
+    private static final TrucoCard[] cache = new TrucoCard[CODES];
+    // Relative value and manilha flag of every card under every vira, indexed by vira code * 41 + card
+    // code and built once, so comparing cards on the bots hot path is an array lookup.
+    private static final byte[] relativeValues = new byte[CODES * CODES];
+    private static final boolean[] manilhas = new boolean[CODES * CODES];
     /* @ spec_public @ */
     private final CardSuit suit;
     /* @ spec_public @ */
     private final CardRank rank;
+    private final int code;
+
+    static {
+        for (int viraCode = 0; viraCode < CODES; viraCode++) {
+            for (int cardCode = 0; cardCode < CODES; cardCode++) {
+                final int index = viraCode * CODES + cardCode;
+                manilhas[index] = rankOf(cardCode) == rankOf(viraCode).next();
+                relativeValues[index] = relativeValueOf(rankOf(cardCode), suitOf(cardCode), rankOf(viraCode));
+            }
+        }
+    }
 
     /*
      * @ public invariant rank != null;
@@ -56,6 +74,7 @@ public final class TrucoCard {
     private TrucoCard(CardRank rank, CardSuit suit) {
         this.rank = rank;
         this.suit = suit;
+        this.code = codeOf(rank, suit);
     }
 
     /**
@@ -143,16 +162,99 @@ public final class TrucoCard {
         return fromCache(CardRank.HIDDEN, CardSuit.HIDDEN);
     }
 
+    /**
+     * <p>
+     * Returns the card represented by a code in the range 0..40, as returned by
+     * {@link #code()}. Code 0 is the closed card.
+     * </p>
+     *
+     * @param code the card code
+     * @return the cached TrucoCard of the given {@code code}
+     * @throws IllegalArgumentException if {@code code} is not in the range 0..40
+     */
+    /*
+     * @ public normal_behavior
+     * 
+     * @ requires 0 <= code && code < 41;
+     * 
+     * @ ensures \result != null;
+     * 
+     * @ ensures \result.code() == code;
+     * 
+     * @ also
+     * 
+     * @ public exceptional_behavior
+     * 
+     * @ requires code < 0 || code >= 41;
+     * 
+     * @ signals (IllegalArgumentException);
+     * 
+     * @
+     */
+    public static TrucoCard ofCode(int code) {
+        if (code < 0 || code >= cache.length)
+            throw new IllegalArgumentException("Card code must be in the range 0..40: " + code);
+        return fromCache(rankOf(code), suitOf(code));
+    }
+
     private static TrucoCard fromCache(CardRank rank, CardSuit suit) {
-        int rankValue = rank.value();
-        int suitValue = suit.value();
-        int cachePosition = rankValue == 0 || suitValue == 0 ? 0 : (rankValue - 1) * 4 + suitValue;
+        int cachePosition = codeOf(rank, suit);
 
         if (cache[cachePosition] == null)
             cache[cachePosition] = new TrucoCard(rank, suit);
         return cache[cachePosition];
     }
 
+    private static int codeOf(CardRank rank, CardSuit suit) {
+        int rankValue = rank.value();
+        int suitValue = suit.value();
+        return rankValue == 0 || suitValue == 0 ? 0 : (rankValue - 1) * 4 + suitValue;
+    }
+
+    private static CardRank rankOf(int code) {
+        return code == 0 ? CardRank.HIDDEN : CardRank.values()[(code - 1) / 4 + 1];
+    }
+
+    private static CardSuit suitOf(int code) {
+        return code == 0 ? CardSuit.HIDDEN : CardSuit.values()[(code - 1) % 4 + 1];
+    }
+
+    // A closed card is a manilha of a closed vira, which has no relative value.
+    private static byte relativeValueOf(CardRank rank, CardSuit suit, CardRank viraRank) {
+        if (rank == viraRank.next())
+            return switch (suit) {
+                case DIAMONDS -> 10;
+                case SPADES -> 11;
+                case HEARTS -> 12;
+                case CLUBS -> 13;
+                case HIDDEN -> CLOSED_MANILHA;
+            };
+        final boolean manilhaRankWasLowerThanCardRank = rank.value() > viraRank.value();
+        final boolean manilhaIsThree = viraRank == CardRank.THREE;
+        if (manilhaRankWasLowerThanCardRank || manilhaIsThree)
+            return (byte) (rank.value() - 1);
+        return (byte) rank.value();
+    }
+
+    /**
+     * <p>
+     * Returns a compact code of this card in the range 0..40, 0 being the closed
+     * card. The code is suitable to represent the card as a single byte.
+     * </p>
+     *
+     * @return the card code
+     */
+    /*
+     * @ public normal_behavior
+     * 
+     * @ ensures 0 <= \result && \result < 41;
+     * 
+     * @
+     */
+    public int code() {
+        return code;
+    }
+
     /**
      * <p>
      * Compares two TrucoCard objects based on their relative values defined using
@@ -234,24 +336,10 @@ public final class TrucoCard {
      */
     public int relativeValue(TrucoCard vira) {
         Objects.requireNonNull(vira, "Vira card must not be null.");
-
-        if (isManilha(vira))
-            return switch (suit) {
-                case DIAMONDS -> 10;
-                case SPADES -> 11;
-                case HEARTS -> 12;
-                case CLUBS -> 13;
-                case HIDDEN -> throw new IllegalStateException("Closed card can not be manilha!");
-            };
-        if (manilhaPositionInfluencesInCardValue(vira))
-            return rank.value() - 1;
-        return rank.value();
-    }
-
-    private boolean manilhaPositionInfluencesInCardValue(TrucoCard vira) {
-        final boolean manilhaRankWasLowerThanCardRank = rank.value() > vira.rank.value();
-        final boolean manilhaIsThree = vira.rank == CardRank.THREE;
-        return manilhaRankWasLowerThanCardRank || manilhaIsThree;
+        final byte value = relativeValues[vira.code * CODES + code];
+        if (value == CLOSED_MANILHA)
+            throw new IllegalStateException("Closed card can not be manilha!");
+        return value;
     }
 
     /**
@@ -284,8 +372,7 @@ public final class TrucoCard {
      */
     public boolean isManilha(TrucoCard vira) {
         Objects.requireNonNull(vira, "TrucoCard representing the vira must not be null.");
-        return getRank() == vira.getRank().next();
-
+        return manilhas[vira.code * CODES + code];
     }
 
     /**
@@ -138,4 +138,18 @@ public interface BotServiceProvider {
     default String getName() {
         return getClass().getSimpleName();
     }
+
+    /**
+     * <p>
+     * Tells whether every decision of the bot depends only on the {@link GameIntel}
+     * it receives: no randomness and no state kept between calls. The decisions of
+     * deterministic bots may be cached, so the bot is not asked again when the same
+     * intel recurs. By default, bots are not deterministic.
+     * </p>
+     *
+     * @return {@code true} if the same intel always leads to the same decision.
+     */
+    default boolean isDeterministic() {
+        return false;
+    }
 }
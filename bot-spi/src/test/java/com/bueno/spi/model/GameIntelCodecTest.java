@@ -0,0 +1,103 @@
+/*
+ *  Copyright (C) 2022 Lucas B. R. de Oliveira - IFSP/SCL
+ *  Contact: lucas <dot> oliveira <at> ifsp <dot> edu <dot> br
+ *
+ *  This file is part of CTruco (Truco game for didactic purpose).
+ *
+ *  CTruco is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  CTruco is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with CTruco.  If not, see <https://www.gnu.org/licenses/>
+ */
+
+
+package com.bueno.spi.model;
+
+import com.bueno.spi.model.GameIntel.RoundResult;
+import com.bueno.spi.model.GameIntel.StepBuilder;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static com.bueno.spi.model.CardRank.*;
+import static com.bueno.spi.model.CardSuit.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+class GameIntelCodecTest {
+
+    private final GameIntel intel = StepBuilder.with()
+            .gameInfo(List.of(RoundResult.LOST, RoundResult.WON), List.of(TrucoCard.of(SEVEN, CLUBS),
+                    TrucoCard.of(ACE, HEARTS), TrucoCard.closed()), TrucoCard.of(SEVEN, CLUBS), 3)
+            .botInfo(List.of(TrucoCard.of(THREE, DIAMONDS)), 11)
+            .opponentScore(9)
+            .opponentCard(TrucoCard.of(QUEEN, SPADES))
+            .build();
+
+    @Test
+    @DisplayName("Should give every card a distinct code")
+    void shouldGiveEveryCardADistinctCode() {
+        assertAll(IntStream.range(0, 41).mapToObj(code ->
+                () -> assertEquals(code, TrucoCard.ofCode(code).code())));
+        assertEquals(0, TrucoCard.closed().code());
+        assertThrows(IllegalArgumentException.class, () -> TrucoCard.ofCode(41));
+    }
+
+    @Test
+    @DisplayName("Should decode the encoded intel")
+    void shouldDecodeTheEncodedIntel() {
+        assertEquals(intel, GameIntelCodec.decode(GameIntelCodec.encode(intel)));
+    }
+
+    @Test
+    @DisplayName("Should decode intel without opponent card and round results")
+    void shouldDecodeIntelWithoutOpponentCardAndRoundResults() {
+        final GameIntel firstRound = StepBuilder.with()
+                .gameInfo(List.of(), List.of(TrucoCard.of(FOUR, HEARTS)), TrucoCard.of(FOUR, HEARTS), 1)
+                .botInfo(List.of(TrucoCard.of(KING, CLUBS), TrucoCard.of(TWO, SPADES), TrucoCard.of(JACK, DIAMONDS)), 0)
+                .opponentScore(0)
+                .build();
+
+        assertEquals(firstRound, GameIntelCodec.decode(GameIntelCodec.encode(firstRound)));
+    }
+
+    @Test
+    @DisplayName("Should encode intel in a few bytes")
+    void shouldEncodeIntelInAFewBytes() {
+        assertTrue(GameIntelCodec.encode(intel).length <= 16);
+    }
+
+    @Test
+    @DisplayName("Should decode the encoded batch in order")
+    void shouldDecodeTheEncodedBatchInOrder() {
+        final List<GameIntelCodec.Entry> entries = List.of(
+                new GameIntelCodec.Entry("choose-card", intel),
+                new GameIntelCodec.Entry("raise-response", intel));
+
+        assertEquals(entries, GameIntelCodec.decodeBatch(GameIntelCodec.encodeBatch(entries)));
+    }
+
+    @Test
+    @DisplayName("Should reject truncated or unknown payloads")
+    void shouldRejectTruncatedOrUnknownPayloads() {
+        final byte[] encoded = GameIntelCodec.encode(intel);
+        final byte[] truncated = Arrays.copyOf(encoded, encoded.length - 1);
+        final byte[] unknownVersion = encoded.clone();
+        unknownVersion[0] = 9;
+
+        assertAll(
+                () -> assertThrows(IllegalArgumentException.class, () -> GameIntelCodec.decode(truncated)),
+                () -> assertThrows(IllegalArgumentException.class, () -> GameIntelCodec.decode(unknownVersion))
+        );
+    }
+}
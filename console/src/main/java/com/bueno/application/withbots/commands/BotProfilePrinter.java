@@ -0,0 +1,58 @@
+package com.bueno.application.withbots.commands;
+
+import com.bueno.application.utils.Command;
+import com.bueno.domain.usecases.bot.providers.BotProfile.MethodStats;
+import com.bueno.domain.usecases.bot.providers.LogLinearHistogram.Summary;
+
+import java.util.List;
+import java.util.Map;
+
+public class BotProfilePrinter implements Command<Void> {
+    /*
+     * @ public invariant profiles != null;
+     *
+     * @
+     */
+    Map<String, List<MethodStats>> profiles;
+
+    /*
+     * @ public normal_behavior
+     *
+     * @ requires profiles != null;
+     *
+     * @ ensures this.profiles == profiles;
+     *
+     * @
+     */
+    public BotProfilePrinter(Map<String, List<MethodStats>> profiles) {
+        this.profiles = profiles;
+    }
+
+    /*
+     * @ also
+     *
+     * @ public normal_behavior
+     *
+     * @ ensures \result == null;
+     *
+     * @
+     */
+    @Override
+    public Void execute() {
+        if (profiles.isEmpty()) return null;
+        System.out.println("Decision profile of the bots (p50 / p99 / max)");
+        System.out.printf("%-24s %-22s %10s %28s %28s %28s%n", "Bot", "Method", "Calls",
+                "Wall (us)", "CPU (us)", "Allocated (KB)");
+        profiles.forEach((botName, methods) -> methods.forEach(stats -> System.out.printf(
+                "%-24s %-22s %10d %28s %28s %28s%n", botName, stats.method().methodName(), stats.wallNanos().count(),
+                format(stats.wallNanos(), 1_000), format(stats.cpuNanos(), 1_000),
+                format(stats.allocatedBytes(), 1_024))));
+        System.out.println("================================================================");
+        return null;
+    }
+
+    private static String format(Summary summary, double unit) {
+        if (summary.count() == 0) return "-";
+        return String.format("%.1f / %.1f / %.1f", summary.p50() / unit, summary.p99() / unit, summary.max() / unit);
+    }
+}
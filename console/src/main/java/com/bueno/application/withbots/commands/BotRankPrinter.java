@@ -7,18 +7,24 @@ import java.util.Map;
 public class BotRankPrinter implements Command<Void> {
     /* @ public invariant botRankMap != null; @ */
     Map<String, Long> botRankMap;
+    long abandonedGames;
 
     /*
      * @ public normal_behavior
      * 
      * @ requires botRank != null;
      * 
+     * @ requires abandonedGames >= 0;
+     * 
      * @ ensures this.botRankMap == botRank;
      * 
+     * @ ensures this.abandonedGames == abandonedGames;
+     * 
      * @
      */
-    public BotRankPrinter(Map<String, Long> botRank) {
+    public BotRankPrinter(Map<String, Long> botRank, long abandonedGames) {
         this.botRankMap = botRank;
+        this.abandonedGames = abandonedGames;
     }
 
     /*
@@ -38,6 +44,7 @@ public class BotRankPrinter implements Command<Void> {
             rank++;
             System.out.println("[" + rank + "] " + bot.getKey());
         }
+        if (abandonedGames > 0) System.out.println("Abandoned games: " + abandonedGames);
         return null;
     }
 }
@@ -2,6 +2,9 @@ package com.bueno.application.withbots.commands;
 
 import com.bueno.application.utils.Command;
 import com.bueno.domain.usecases.game.dtos.EvaluateResultsDto;
+import com.bueno.domain.usecases.game.service.StopReason;
+
+import java.util.Map;
 
 public class EvaluateBotsPrinter implements Command<Void> {
     /*
@@ -21,6 +24,11 @@ public class EvaluateBotsPrinter implements Command<Void> {
     Long botWins;
     double winRate;
     double percentile;
+    long maxNumberOfGames;
+    double winRateLower;
+    double winRateUpper;
+    Map<String, StopReason> stopReasons;
+    long abandonedGames;
 
     /*
      * @ public normal_behavior
@@ -42,6 +50,11 @@ public class EvaluateBotsPrinter implements Command<Void> {
         this.botWins = resultsDto.evaluatedBotWins();
         this.winRate = resultsDto.winRate();
         this.percentile = resultsDto.percentile();
+        this.maxNumberOfGames = resultsDto.maxNumberOfGames();
+        this.winRateLower = resultsDto.winRateLower();
+        this.winRateUpper = resultsDto.winRateUpper();
+        this.stopReasons = resultsDto.stopReasons();
+        this.abandonedGames = resultsDto.abandonedGames();
     }
 
     /*
@@ -56,9 +69,11 @@ public class EvaluateBotsPrinter implements Command<Void> {
     @Override
     public Void execute() {
         System.out.println("================================================================");
-        System.out.println("Time to compute " + numberOfGames + " games: " + computingTime + "ms.\n");
+        System.out.println("Time to compute " + numberOfGames + "/" + maxNumberOfGames + " games: " + computingTime + "ms.\n");
         System.out.println("Wins of " + botName + ": " + botWins + "/" + numberOfGames);
-        System.out.printf("Win rate of all games: %.2f%%\n", winRate);
+        if (abandonedGames > 0) System.out.println("Abandoned games: " + abandonedGames);
+        System.out.printf("Win rate of all games: %.2f%% (95%% CI %.2f%% - %.2f%%)\n", winRate, winRateLower, winRateUpper);
+        stopReasons.forEach((opponent, reason) -> System.out.println("Against " + opponent + ": " + reason));
         System.out.printf("Win rate against each bot: %.2f%%\n", percentile);
         System.out.println("================================================================");
         return null;
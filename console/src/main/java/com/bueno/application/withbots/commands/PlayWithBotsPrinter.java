@@ -20,6 +20,8 @@ public class PlayWithBotsPrinter implements Command<Void> {
     int numberOfGames;
     long computingTime;
     List<PlayWithBotsDto> results;
+    long seed;
+    long abandonedGames;
 
     /*
      * @ public normal_behavior
@@ -36,12 +38,19 @@ public class PlayWithBotsPrinter implements Command<Void> {
      * 
      * @ ensures this.results == results;
      * 
+     * @ ensures this.seed == seed;
+     * 
+     * @ ensures this.abandonedGames == abandonedGames;
+     * 
      * @
      */
-    public PlayWithBotsPrinter(int numberOfGames, long computingTime, List<PlayWithBotsDto> results) {
+    public PlayWithBotsPrinter(int numberOfGames, long computingTime, List<PlayWithBotsDto> results, long seed,
+            long abandonedGames) {
         this.numberOfGames = numberOfGames;
         this.computingTime = computingTime;
         this.results = results;
+        this.seed = seed;
+        this.abandonedGames = abandonedGames;
     }
 
     /*
@@ -56,10 +65,12 @@ public class PlayWithBotsPrinter implements Command<Void> {
     @Override
     public Void execute() {
         System.out.println("\n================================================================");
-        System.out.println("Time to compute " + numberOfGames + " games: " + computingTime + "ms.\n");
+        System.out.println("Time to compute " + numberOfGames + " games: " + computingTime + "ms.");
+        System.out.println("Seed: " + seed + "\n");
         results.stream()
                 .collect(Collectors.groupingBy(Function.identity(), Collectors.counting()))
                 .forEach((bot, wins) -> System.out.println(bot.name() + ": " + wins));
+        if (abandonedGames > 0) System.out.println("Abandoned games: " + abandonedGames);
         System.out.println("================================================================");
         return null;
     }
@@ -1,13 +1,16 @@
 package com.bueno.application.withbots.features;
 
+import com.bueno.application.withbots.commands.BotProfilePrinter;
 import com.bueno.application.withbots.commands.BotsAvailablePrinter;
 import com.bueno.application.withbots.commands.BotOptionReader;
 import com.bueno.application.withbots.commands.EvaluateBotsPrinter;
 import com.bueno.application.withbots.commands.WaitingMessagePrinter;
 import com.bueno.domain.usecases.bot.providers.BotManagerService;
+import com.bueno.domain.usecases.bot.providers.BotProfiles;
 import com.bueno.domain.usecases.bot.providers.RemoteBotApi;
 import com.bueno.domain.usecases.bot.repository.RemoteBotRepository;
 import com.bueno.domain.usecases.game.dtos.EvaluateResultsDto;
+import com.bueno.domain.usecases.game.service.SequentialTest;
 import com.bueno.domain.usecases.game.usecase.EvaluateBotsUseCase;
 
 import java.util.List;
@@ -64,8 +67,10 @@ public class EvaluateBot {
         String botToEvaluateName = botNames.get(scanBotOption(botNames) - 1);
 
         printWaitingMessage();
+        BotProfiles.shared().clear();
 
         printResultEvaluateBot(getEvaluateResultsDto(botToEvaluateName, botNames), botToEvaluateName);
+        printProfiles();
     }
 
     /*
@@ -81,7 +86,7 @@ public class EvaluateBot {
      */
     private EvaluateResultsDto getEvaluateResultsDto(String botToEvaluateName, List<String> botNames) {
         EvaluateBotsUseCase useCase = new EvaluateBotsUseCase(repository, botApi, providerService);
-        return useCase.evaluate(botNames, botToEvaluateName);
+        return useCase.evaluate(botNames, botToEvaluateName, SequentialTest.DEFAULT, EvaluateBotsUseCase.EVALUATE_TIMES);
     }
 
     /*
@@ -139,4 +144,16 @@ public class EvaluateBot {
         EvaluateBotsPrinter printer = new EvaluateBotsPrinter(resultsDto, botName);
         printer.execute();
     }
+
+    /*
+     * @ public normal_behavior
+     * 
+     * @ ensures true;
+     * 
+     * @
+     */
+    private void printProfiles() {
+        BotProfilePrinter printer = new BotProfilePrinter(BotProfiles.shared().snapshot());
+        printer.execute();
+    }
 }
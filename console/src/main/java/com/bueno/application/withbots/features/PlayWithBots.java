@@ -22,6 +22,7 @@ package com.bueno.application.withbots.features;
 
 import com.bueno.application.withbots.commands.*;
 import com.bueno.domain.usecases.bot.providers.BotManagerService;
+import com.bueno.domain.usecases.bot.providers.BotProfiles;
 import com.bueno.domain.usecases.bot.providers.RemoteBotApi;
 import com.bueno.domain.usecases.bot.repository.RemoteBotRepository;
 import com.bueno.domain.usecases.game.dtos.PlayWithBotsResultsDto;
@@ -92,6 +93,7 @@ public class PlayWithBots {
         times = scanNumberOfSimulations();
 
         showWaitingMessage();
+        BotProfiles.shared().clear();
 
         bot1Name = botNames.get(bot1 - 1);
         bot2Name = botNames.get(bot2 - 1);
@@ -99,6 +101,7 @@ public class PlayWithBots {
         final PlayWithBotsResultsDto results = playBotsStarter(providerService);
 
         printResult(results);
+        printProfiles();
     }
 
     /*
@@ -165,7 +168,8 @@ public class PlayWithBots {
      * @
      */
     private void printResult(PlayWithBotsResultsDto result) {
-        PlayWithBotsPrinter printer = new PlayWithBotsPrinter(result.times(), result.timeToExecute(), result.info());
+        PlayWithBotsPrinter printer = new PlayWithBotsPrinter(result.times(), result.timeToExecute(), result.info(),
+                result.seed(), result.abandonedGames());
         printer.execute();
     }
 
@@ -180,4 +184,16 @@ public class PlayWithBots {
         WaitingMessagePrinter messagePrinter = new WaitingMessagePrinter();
         messagePrinter.execute();
     }
+
+    /*
+     * @ public normal_behavior
+     * 
+     * @ ensures true;
+     * 
+     * @
+     */
+    private void printProfiles() {
+        BotProfilePrinter printer = new BotProfilePrinter(BotProfiles.shared().snapshot());
+        printer.execute();
+    }
 }
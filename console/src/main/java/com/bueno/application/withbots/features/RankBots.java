@@ -1,7 +1,9 @@
 package com.bueno.application.withbots.features;
 
+import com.bueno.application.withbots.commands.BotProfilePrinter;
 import com.bueno.application.withbots.commands.BotRankPrinter;
 import com.bueno.application.withbots.commands.WaitingMessagePrinter;
+import com.bueno.domain.usecases.bot.providers.BotProfiles;
 import com.bueno.domain.usecases.bot.providers.RemoteBotApi;
 import com.bueno.domain.usecases.bot.repository.RemoteBotRepository;
 import com.bueno.domain.usecases.game.usecase.RankBotsUseCase;
@@ -51,11 +53,13 @@ public class RankBots {
         final var useCase = new RankBotsUseCase(repository, api);
 
         showWaitingMessage();
+        BotProfiles.shared().clear();
 
         Map<String, Long> rankInfo = useCase.rankAll();
         rankInfo = sortByValueDescending(rankInfo);
 
-        printRank(rankInfo);
+        printRank(rankInfo, useCase.getAbandonedGames());
+        printProfiles();
     }
 
     /*
@@ -63,12 +67,26 @@ public class RankBots {
      * 
      * @ requires rankInfo != null;
      * 
+     * @ requires abandonedGames >= 0;
+     * 
+     * @ ensures true;
+     * 
+     * @
+     */
+    private void printRank(Map<String, Long> rankInfo, long abandonedGames) {
+        BotRankPrinter printer = new BotRankPrinter(rankInfo, abandonedGames);
+        printer.execute();
+    }
+
+    /*
+     * @ public normal_behavior
+     * 
      * @ ensures true;
      * 
      * @
      */
-    private void printRank(Map<String, Long> rankInfo) {
-        BotRankPrinter printer = new BotRankPrinter(rankInfo);
+    private void printProfiles() {
+        BotProfilePrinter printer = new BotProfilePrinter(BotProfiles.shared().snapshot());
         printer.execute();
     }
 
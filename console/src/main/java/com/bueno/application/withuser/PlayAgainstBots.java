@@ -56,6 +56,7 @@ public class PlayAgainstBots {
      * 
      * @
      */
+    private final BotManagerService providerService;
     private final CreateGameUseCase gameUseCase;
     private final PlayCardUseCase playCardUseCase;
     private final PointsProposalUseCase pointsProposalUseCase;
@@ -81,6 +82,8 @@ public class PlayAgainstBots {
      * 
      * @ requires providerService != null;
      * 
+     * @ ensures this.providerService == providerService;
+     * 
      * @ ensures this.gameUseCase != null;
      * 
      * @ ensures this.playCardUseCase != null;
@@ -94,6 +97,7 @@ public class PlayAgainstBots {
      * @
      */
     public PlayAgainstBots(BotManagerService providerService) {
+        this.providerService = providerService;
         final var gameRepo = new GameRepositoryInMemoryImpl();
         final var remoteBotRepo = new RemoteBotRepositoryImpl();
         final var remoteBotApi = new RemoteBotApiAdapter();
@@ -137,7 +141,7 @@ public class PlayAgainstBots {
     }
 
     private void createGame() {
-        final var gameSettingsReader = new GameSettingsReader();
+        final var gameSettingsReader = new GameSettingsReader(providerService);
         final var settings = gameSettingsReader.execute();
         userUUID = settings.userUuid();
         final var request = new CreateDetachedDto(userUUID, settings.username(), settings.botName());
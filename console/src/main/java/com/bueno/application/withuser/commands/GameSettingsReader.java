@@ -22,13 +22,10 @@ package com.bueno.application.withuser.commands;
 
 import com.bueno.application.utils.Command;
 import com.bueno.domain.usecases.bot.providers.BotManagerService;
-import com.bueno.domain.usecases.bot.repository.RemoteBotRepository;
 import com.bueno.domain.usecases.game.dtos.CreateDetachedDto;
 import com.bueno.domain.usecases.user.UserRepository;
-import com.bueno.persistence.repositories.RemoteBotRepositoryImpl;
 import com.bueno.persistence.repositories.UserRepositoryImpl;
 import com.google.common.primitives.Ints;
-import com.remote.RemoteBotApiAdapter;
 
 import java.util.Scanner;
 import java.util.UUID;
@@ -36,6 +33,22 @@ import java.util.UUID;
 @SuppressWarnings("UnstableApiUsage")
 public class GameSettingsReader implements Command<CreateDetachedDto> {
 
+    /* @ spec_public @ */
+    private final BotManagerService botManagerService;
+
+    /*
+     * @ public normal_behavior
+     * 
+     * @ requires botManagerService != null;
+     * 
+     * @ ensures this.botManagerService == botManagerService;
+     * 
+     * @
+     */
+    public GameSettingsReader(BotManagerService botManagerService) {
+        this.botManagerService = botManagerService;
+    }
+
     /*
      * @ also
      * 
@@ -63,9 +76,6 @@ public class GameSettingsReader implements Command<CreateDetachedDto> {
      * @
      */
     private String readBotName() {
-        final RemoteBotRepository repository = new RemoteBotRepositoryImpl();
-        final RemoteBotApiAdapter botApi = new RemoteBotApiAdapter();
-        final BotManagerService botManagerService = new BotManagerService(repository, botApi);
         final var botNames = botManagerService.providersNames();
         Integer botId;
         while (true) {
@@ -28,13 +28,32 @@ public final class Card {
     // @ public invariant suit != null;
     // @ public invariant cache != null;
 
-    private static final Card[] cache = new Card[41];
+    private static final int CODES = 41;
+    private static final byte CLOSED_MANILHA = Byte.MIN_VALUE;
+
+    private static final Card[] cache = new Card[CODES];
+    // Relative value and manilha flag of every card under every vira, indexed by vira code * 41 + card
+    // code, so that comparing cards in a round is an array lookup.
+    private static final byte[] relativeValues = new byte[CODES * CODES];
+    private static final boolean[] manilhas = new boolean[CODES * CODES];
     private final Suit suit;
     private final Rank rank;
+    private final int code;
+
+    static {
+        for (int viraCode = 0; viraCode < CODES; viraCode++) {
+            for (int cardCode = 0; cardCode < CODES; cardCode++) {
+                final int index = viraCode * CODES + cardCode;
+                manilhas[index] = rankOf(cardCode) == rankOf(viraCode).next();
+                relativeValues[index] = relativeValueOf(rankOf(cardCode), suitOf(cardCode), rankOf(viraCode));
+            }
+        }
+    }
 
     private Card(Rank rank, Suit suit) {
         this.rank = rank;
         this.suit = suit;
+        this.code = codeOf(rank, suit);
     }
 
     /*
@@ -80,16 +99,70 @@ public final class Card {
         return fromCache(Rank.HIDDEN, Suit.HIDDEN);
     }
 
+    /*
+     * @
+     * 
+     * @ public normal_behavior
+     * 
+     * @ requires 0 <= code && code < 41;
+     * 
+     * @ ensures \result != null && \result.code() == code;
+     * 
+     * @ also
+     * 
+     * @ public exceptional_behavior
+     * 
+     * @ requires code < 0 || code >= 41;
+     * 
+     * @ signals (IllegalArgumentException e) true;
+     * 
+     * @
+     */
+    public static Card ofCode(int code) {
+        if (code < 0 || code >= CODES)
+            throw new IllegalArgumentException("Card code must be in the range 0..40: " + code);
+        return fromCache(rankOf(code), suitOf(code));
+    }
+
     private static Card fromCache(Rank rank, Suit suit) {
-        int rankValue = rank.value();
-        int suitValue = suit.value();
-        int cachePosition = rankValue == 0 || suitValue == 0 ? 0 : (rankValue - 1) * 4 + suitValue;
+        int cachePosition = codeOf(rank, suit);
 
         if (cache[cachePosition] == null)
             cache[cachePosition] = new Card(rank, suit);
         return cache[cachePosition];
     }
 
+    private static int codeOf(Rank rank, Suit suit) {
+        int rankValue = rank.value();
+        int suitValue = suit.value();
+        return rankValue == 0 || suitValue == 0 ? 0 : (rankValue - 1) * 4 + suitValue;
+    }
+
+    private static Rank rankOf(int code) {
+        return code == 0 ? Rank.HIDDEN : Rank.values()[(code - 1) / 4 + 1];
+    }
+
+    private static Suit suitOf(int code) {
+        return code == 0 ? Suit.HIDDEN : Suit.values()[(code - 1) % 4 + 1];
+    }
+
+    // A closed card is a manilha of a closed vira, which has no relative value.
+    private static byte relativeValueOf(Rank rank, Suit suit, Rank viraRank) {
+        if (rank == viraRank.next())
+            return switch (suit) {
+                case DIAMONDS -> 10;
+                case SPADES -> 11;
+                case HEARTS -> 12;
+                case CLUBS -> 13;
+                case HIDDEN -> CLOSED_MANILHA;
+            };
+        final boolean manilhaRankWasLowerThanCardRank = rank.value() > viraRank.value();
+        final boolean manilhaIsThree = viraRank == Rank.THREE;
+        if (manilhaRankWasLowerThanCardRank || manilhaIsThree)
+            return (byte) (rank.value() - 1);
+        return (byte) rank.value();
+    }
+
     /*
      * @
      * 
@@ -115,23 +188,10 @@ public final class Card {
      * @
      */
     public int getRelativeValue(Card vira) {
-        if (isManilha(vira))
-            return switch (suit) {
-                case DIAMONDS -> 10;
-                case SPADES -> 11;
-                case HEARTS -> 12;
-                case CLUBS -> 13;
-                case HIDDEN -> throw new IllegalStateException("Closed card can not be manilha!");
-            };
-        if (manilhaPositionInfluencesInCardValue(vira))
-            return rank.value() - 1;
-        return rank.value();
-    }
-
-    private boolean manilhaPositionInfluencesInCardValue(Card vira) {
-        final boolean manilhaRankWasLowerThanCardRank = rank.value() > vira.rank.value();
-        final boolean manilhaIsThree = vira.rank == Rank.THREE;
-        return manilhaRankWasLowerThanCardRank || manilhaIsThree;
+        final byte value = relativeValues[vira.code * CODES + code];
+        if (value == CLOSED_MANILHA)
+            throw new IllegalStateException("Closed card can not be manilha!");
+        return value;
     }
 
     /*
@@ -144,11 +204,25 @@ public final class Card {
      * @
      */
     public boolean isManilha(Card vira) {
-        return getRank() == vira.getRank().next();
+        return manilhas[vira.code * CODES + code];
+    }
+
+    // Compact code of the card in the range 0..40, 0 being the closed card.
+    /*
+     * @
+     * 
+     * @ public normal_behavior
+     * 
+     * @ ensures 0 <= \result && \result < 41;
+     * 
+     * @
+     */
+    public int code() {
+        return code;
     }
 
     public boolean isClosed() {
-        return rank.equals(Rank.HIDDEN) && suit.equals(Suit.HIDDEN);
+        return code == 0;
     }
 
     public Rank getRank() {
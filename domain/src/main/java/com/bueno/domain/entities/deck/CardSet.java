@@ -0,0 +1,98 @@
+package com.bueno.domain.entities.deck;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+// Set of cards packed in a long, one bit per card code. The whole deck fits in a single word, so
+// membership, insertion and removal are branch-free bit operations that neither allocate nor box.
+// The closed card, code 0, is a member like any other card.
+public final class CardSet {
+
+    public static final long EMPTY = 0L;
+
+    private CardSet() {
+    }
+
+    /*
+     * @ public normal_behavior
+     * 
+     * @ requires cards != null;
+     * 
+     * @ ensures (\forall Card card; cards.contains(card); contains(\result, card));
+     * 
+     * @
+     */
+    public static long of(Collection<Card> cards) {
+        long set = EMPTY;
+        for (Card card : cards) set = with(set, card);
+        return set;
+    }
+
+    /*
+     * @ public normal_behavior
+     * 
+     * @ requires card != null;
+     * 
+     * @ ensures contains(\result, card);
+     * 
+     * @
+     */
+    public static long with(long set, Card card) {
+        return set | bitOf(card);
+    }
+
+    /*
+     * @ public normal_behavior
+     * 
+     * @ requires card != null;
+     * 
+     * @ ensures !contains(\result, card);
+     * 
+     * @
+     */
+    public static long without(long set, Card card) {
+        return set & ~bitOf(card);
+    }
+
+    /*
+     * @ public normal_behavior
+     * 
+     * @ requires card != null;
+     * 
+     * @
+     */
+    public static boolean contains(long set, Card card) {
+        return (set & bitOf(card)) != 0;
+    }
+
+    /*
+     * @ public normal_behavior
+     * 
+     * @ ensures \result == Long.bitCount(set);
+     * 
+     * @
+     */
+    public static int size(long set) {
+        return Long.bitCount(set);
+    }
+
+    // Cards in code order.
+    /*
+     * @ public normal_behavior
+     * 
+     * @ ensures \result != null && \result.size() == size(set);
+     * 
+     * @
+     */
+    public static List<Card> toList(long set) {
+        final List<Card> cards = new ArrayList<>(size(set));
+        for (long remaining = set; remaining != 0; remaining &= remaining - 1)
+            cards.add(Card.ofCode(Long.numberOfTrailingZeros(remaining)));
+        return cards;
+    }
+
+    private static long bitOf(Card card) {
+        return 1L << card.code();
+    }
+}
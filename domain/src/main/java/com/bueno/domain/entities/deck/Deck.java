@@ -21,90 +21,149 @@
 package com.bueno.domain.entities.deck;
 
 import java.util.ArrayList;
-import java.util.Collections;
 import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.random.RandomGenerator;
 
 public class Deck {
+    public static final int NUMBER_OF_CARDS = 40;
+    private static final Card[] SORTED_CARDS = sortedCards();
+
+    // Cards in [top, NUMBER_OF_CARDS) are still in the deck. The array is reused across resets, so dealing
+    // a hand does not allocate anything but the lists handed to the players.
     /*
-     * @ public invariant cards != null;
+     * @ public invariant cards != null && cards.length == NUMBER_OF_CARDS;
+     * 
+     * @ public invariant 0 <= top && top <= NUMBER_OF_CARDS;
      * 
      * @
      */
-    private final List<Card> cards = new ArrayList<>();
+    private final Card[] cards = new Card[NUMBER_OF_CARDS];
+    private int top;
+    private boolean shuffled;
+    /* @ spec_public nullable @ */
+    private final RandomGenerator random;
 
     public Deck() {
-        generateSortedDeck();
+        this.random = null;
+        reset();
     }
 
     /*
-     * @ private normal_behavior
+     * @ public normal_behavior
+     * 
+     * @ requires random != null;
+     * 
+     * @ ensures this.random == random;
      * 
-     * @ ensures cards.size() == 40;
+     * @ ensures size() == 40;
      * 
      * @
      */
-    private void generateSortedDeck() {
+    public Deck(RandomGenerator random) {
+        this.random = Objects.requireNonNull(random);
+        reset();
+    }
+
+    private static Card[] sortedCards() {
+        final List<Card> sorted = new ArrayList<>();
         for (Rank rank : Rank.values())
             for (Suit suit : Suit.values())
                 if (rank != Rank.HIDDEN && suit != Suit.HIDDEN)
-                    cards.add(Card.of(rank, suit));
+                    sorted.add(Card.of(rank, suit));
+        return sorted.toArray(Card[]::new);
     }
 
     /*
      * @ public normal_behavior
      * 
-     * @ requires numberOfCards > 0 && numberOfCards <= cards.size();
+     * @ ensures size() == 40;
+     * 
+     * @
+     */
+    public void reset() {
+        System.arraycopy(SORTED_CARDS, 0, cards, 0, NUMBER_OF_CARDS);
+        top = 0;
+        shuffled = false;
+    }
+
+    /*
+     * @ public normal_behavior
+     * 
+     * @ requires numberOfCards > 0 && numberOfCards <= size();
      * 
      * @ ensures \result != null;
      * 
      * @ ensures \result.size() == numberOfCards;
      * 
-     * @ ensures cards.size() == \old(cards.size()) - numberOfCards;
+     * @ ensures size() == \old(size()) - numberOfCards;
      * 
      * @
      */
     public List<Card> take(int numberOfCards) {
-        final List<Card> cardsTaken = new ArrayList<>(cards.subList(0, numberOfCards));
-        cards.removeAll(cardsTaken);
+        if (numberOfCards > size())
+            throw new IndexOutOfBoundsException("Can not take " + numberOfCards + " cards from " + size());
+        final List<Card> cardsTaken = new ArrayList<>(numberOfCards);
+        for (int i = 0; i < numberOfCards; i++)
+            cardsTaken.add(takeOne());
         return cardsTaken;
     }
 
     /*
      * @ public normal_behavior
      * 
-     * @ requires !cards.isEmpty();
+     * @ requires size() > 0;
      * 
      * @ ensures \result != null;
      * 
-     * @ ensures cards.size() == \old(cards.size()) - 1;
+     * @ ensures size() == \old(size()) - 1;
      * 
      * @
      */
     public Card takeOne() {
-        return cards.remove(0);
+        if (top == NUMBER_OF_CARDS)
+            throw new IndexOutOfBoundsException("Deck is empty");
+        if (shuffled)
+            swap(top, top + generator().nextInt(NUMBER_OF_CARDS - top));
+        return cards[top++];
     }
 
+    // The shuffle is a Fisher-Yates done lazily: each card taken is drawn at random from the remaining ones,
+    // so only the cards actually dealt (7 per hand) cost a random number and a swap.
     /*
      * @ public normal_behavior
      * 
-     * @ ensures cards.size() == \old(cards.size());
+     * @ ensures size() == \old(size());
      * 
      * @
      */
     public void shuffle() {
-        Collections.shuffle(cards);
+        shuffled = true;
+    }
+
+    private RandomGenerator generator() {
+        // Without a generator of its own, each thread uses its thread local one instead of contending on a
+        // shared Random.
+        return random != null ? random : ThreadLocalRandom.current();
+    }
+
+    private void swap(int i, int j) {
+        final Card card = cards[i];
+        cards[i] = cards[j];
+        cards[j] = card;
     }
 
     /*
      * @ public normal_behavior
      * 
-     * @ ensures \result == cards.size();
+     * @ ensures \result == NUMBER_OF_CARDS - top;
      * 
      * @ ensures \result >= 0;
      * 
      * @
      */
     public int size() {
-        return cards.size();
+        return NUMBER_OF_CARDS - top;
     }
 }
@@ -24,14 +24,14 @@ import com.bueno.domain.entities.deck.Card;
 import com.bueno.domain.entities.deck.Deck;
 import com.bueno.domain.entities.hand.Hand;
 import com.bueno.domain.entities.hand.HandResult;
+import com.bueno.domain.entities.hand.HistoryPolicy;
 import com.bueno.domain.entities.intel.Intel;
 import com.bueno.domain.entities.player.Player;
 
 import java.time.Instant;
 import java.time.LocalDateTime;
 import java.util.*;
-import java.util.function.Predicate;
-import java.util.stream.Collectors;
+import java.util.random.RandomGenerator;
 
 public class Game {
 
@@ -54,6 +54,7 @@ public class Game {
     private final Player player1;
     private final Player player2;
     private final List<Hand> hands;
+    private final HistoryPolicy historyPolicy;
 
     private Player firstToPlay;
     private Player lastToPlay;
@@ -62,6 +63,15 @@ public class Game {
         this(player1, player2, UUID.randomUUID(), new Deck());
     }
 
+    public Game(Player player1, Player player2, RandomGenerator random) {
+        this(player1, player2, UUID.randomUUID(), new Deck(random));
+    }
+
+    // Games nobody replays, such as bot simulations, can keep less intel than the FULL default.
+    public Game(Player player1, Player player2, RandomGenerator random, HistoryPolicy historyPolicy) {
+        this(player1, player2, UUID.randomUUID(), new Deck(random), historyPolicy);
+    }
+
     public Game(Player player1, Player player2, Deck deck) {
         this(player1, player2, UUID.randomUUID(), deck);
     }
@@ -85,9 +95,41 @@ public class Game {
      * 
      * @ ensures this.uuid == uuid;
      * 
+     * @ ensures this.historyPolicy == HistoryPolicy.FULL;
+     * 
      * @
      */
     public Game(Player player1, Player player2, UUID uuid, Deck deck) {
+        this(player1, player2, uuid, deck, HistoryPolicy.FULL);
+    }
+
+    /*
+     * @ public normal_behavior
+     * 
+     * @ requires player1 != null;
+     * 
+     * @ requires player2 != null;
+     * 
+     * @ requires deck != null;
+     * 
+     * @ requires uuid != null;
+     * 
+     * @ requires historyPolicy != null;
+     * 
+     * @ ensures this.player1 == player1;
+     * 
+     * @ ensures this.player2 == player2;
+     * 
+     * @ ensures this.deck == deck;
+     * 
+     * @ ensures this.uuid == uuid;
+     * 
+     * @ ensures this.historyPolicy == historyPolicy;
+     * 
+     * @
+     */
+    public Game(Player player1, Player player2, UUID uuid, Deck deck, HistoryPolicy historyPolicy) {
+        this.historyPolicy = Objects.requireNonNull(historyPolicy);
         this.deck = deck;
         this.player1 = Objects.requireNonNull(player1);
         this.player2 = Objects.requireNonNull(player2);
@@ -106,6 +148,10 @@ public class Game {
         this.firstToPlay = firstToPlay;
         this.lastToPlay = lastToPlay;
         this.hands = new ArrayList<>(hands);
+        this.historyPolicy = HistoryPolicy.FULL;
+        long nextIntelSequence = 1;
+        for (Hand hand : this.hands)
+            nextIntelSequence = hand.numberIntelFrom(nextIntelSequence);
     }
 
     /*
@@ -122,13 +168,15 @@ public class Game {
 
         if (deck == null)
             deck = new Deck();
+        deck.reset();
         deck.shuffle();
 
         final Card vira = deck.takeOne();
         firstToPlay.setCards(deck.take(3));
         lastToPlay.setCards(deck.take(3));
 
-        final Hand hand = new Hand(firstToPlay, lastToPlay, vira);
+        final long firstIntelSequence = hands.isEmpty() ? 1 : currentHand().nextIntelSequence();
+        final Hand hand = new Hand(firstToPlay, lastToPlay, vira, historyPolicy, firstIntelSequence);
         hands.add(hand);
     }
 
@@ -185,6 +233,9 @@ public class Game {
         return isDone() ? Intel.ofGame(this) : currentHand().getLastIntel();
     }
 
+    // Kept for the clients that poll by timestamp. The intel after the timestamp is the intel after the
+    // newest one not after it, since intel is recorded in timestamp order, and that one is looked for from
+    // the current hand backwards, so a recent timestamp only reads the last hands.
     /*
      * @ public normal_behavior
      * 
@@ -195,14 +246,45 @@ public class Game {
      * @
      */
     public List<Intel> getIntelSince(Instant lastIntelTimestamp) {
-        final List<Intel> wholeHistory = hands.stream()
-                .flatMap(hand -> hand.getIntelHistory().stream()).collect(Collectors.toList());
-        if (isDone())
-            wholeHistory.add(Intel.ofGame(this));
         if (lastIntelTimestamp == null)
-            return wholeHistory;
-        final Predicate<Intel> isAfter = intel -> intel.timestamp().isAfter(lastIntelTimestamp);
-        return wholeHistory.stream().filter(isAfter).collect(Collectors.toList());
+            return getIntelSince(0);
+        for (int i = hands.size() - 1; i >= 0; i--) {
+            final List<Intel> history = hands.get(i).getIntelHistory();
+            for (int j = history.size() - 1; j >= 0; j--)
+                if (!history.get(j).timestamp().isAfter(lastIntelTimestamp))
+                    return getIntelSince(history.get(j).sequence());
+        }
+        return getIntelSince(0);
+    }
+
+    // Each hand numbers its intel after the last one of the hand before it, so only the hands that started
+    // after lastIntelSequence, and the one it is in, have something to return; the cost follows the intel
+    // returned, not the length of the game.
+    /*
+     * @ public normal_behavior
+     * 
+     * @ ensures \result != null;
+     * 
+     * @ ensures (\forall int i; 0 <= i && i < \result.size(); \result.get(i).sequence() > lastIntelSequence);
+     * 
+     * @
+     */
+    public List<Intel> getIntelSince(long lastIntelSequence) {
+        final List<Intel> intelSince = new ArrayList<>();
+        if (hands.isEmpty())
+            return intelSince;
+        int firstHand = hands.size() - 1;
+        while (firstHand > 0 && hands.get(firstHand).firstIntelSequence() > lastIntelSequence)
+            firstHand--;
+        for (int i = firstHand; i < hands.size(); i++)
+            intelSince.addAll(hands.get(i).getIntelHistorySince(lastIntelSequence));
+        if (isDone() && currentHand().nextIntelSequence() > lastIntelSequence)
+            intelSince.add(Intel.ofGame(this));
+        return intelSince;
+    }
+
+    public HistoryPolicy getHistoryPolicy() {
+        return historyPolicy;
     }
 
     public UUID getUuid() {
@@ -21,6 +21,7 @@
 package com.bueno.domain.entities.hand;
 
 import com.bueno.domain.entities.deck.Card;
+import com.bueno.domain.entities.deck.CardSet;
 import com.bueno.domain.entities.game.GameRuleViolationException;
 import com.bueno.domain.entities.hand.states.*;
 import com.bueno.domain.entities.intel.Event;
@@ -59,10 +60,20 @@ public class Hand {
     private final List<Card> dealtCards;
     /* @ spec_public @ */
     private final List<Card> openCards;
+    // Bitset views of the dealt and open cards, so the card rules do not scan the lists.
+    private final long dealtCardSet;
+    private long openCardSet;
     /* @ spec_public @ */
     private final List<Round> roundsPlayed;
     /* @ spec_public @ */
     private final List<Intel> history;
+    private final HistoryPolicy historyPolicy;
+    private Event lastEvent;
+    // Sequence of the first intel of the hand and of the next one to be recorded, which continue those of
+    // the previous hand of the game. Under HistoryPolicy.NONE, the sequence of the unrecorded last event.
+    private long firstIntelSequence;
+    private long nextIntelSequence;
+    private long lastEventSequence;
     /* @ spec_public @ */
     private EnumSet<PossibleAction> possibleActions;
 
@@ -121,8 +132,15 @@ public class Hand {
         this.vira = vira;
         this.dealtCards = new ArrayList<>(dealtCards);
         this.openCards = new ArrayList<>(openCards);
+        this.dealtCardSet = CardSet.of(dealtCards);
+        this.openCardSet = CardSet.without(CardSet.of(openCards), Card.closed());
         this.roundsPlayed = new ArrayList<>(roundsPlayed);
         this.history = new ArrayList<>(history);
+        this.historyPolicy = HistoryPolicy.FULL;
+        if (this.history.isEmpty() || this.history.get(0).sequence() == 0)
+            numberIntelFrom(1);
+        else
+            numberIntelFrom(this.history.get(0).sequence());
         this.possibleActions = EnumSet.copyOf(possibleActions);
         this.firstToPlay = firstToPlay;
         this.lastToPlay = lastToPlay;
@@ -171,9 +189,67 @@ public class Hand {
      * 
      * @ ensures this.vira == vira;
      * 
+     * @ ensures this.historyPolicy == HistoryPolicy.FULL;
+     * 
      * @
      */
     public Hand(Player firstToPlay, Player lastToPlay, Card vira) {
+        this(firstToPlay, lastToPlay, vira, HistoryPolicy.FULL);
+    }
+
+    /*
+     * @ public normal_behavior
+     * 
+     * @ requires firstToPlay != null;
+     * 
+     * @ requires lastToPlay != null;
+     * 
+     * @ requires vira != null;
+     * 
+     * @ requires historyPolicy != null;
+     * 
+     * @ ensures this.firstToPlay == firstToPlay;
+     * 
+     * @ ensures this.lastToPlay == lastToPlay;
+     * 
+     * @ ensures this.vira == vira;
+     * 
+     * @ ensures this.historyPolicy == historyPolicy;
+     * 
+     * @
+     */
+    public Hand(Player firstToPlay, Player lastToPlay, Card vira, HistoryPolicy historyPolicy) {
+        this(firstToPlay, lastToPlay, vira, historyPolicy, 1);
+    }
+
+    /*
+     * @ public normal_behavior
+     * 
+     * @ requires firstToPlay != null;
+     * 
+     * @ requires lastToPlay != null;
+     * 
+     * @ requires vira != null;
+     * 
+     * @ requires historyPolicy != null;
+     * 
+     * @ requires firstIntelSequence > 0;
+     * 
+     * @ ensures this.historyPolicy == historyPolicy;
+     * 
+     * @ ensures this.firstIntelSequence == firstIntelSequence;
+     * 
+     * @ ensures getLastIntel().sequence() == firstIntelSequence;
+     * 
+     * @
+     */
+    public Hand(Player firstToPlay, Player lastToPlay, Card vira, HistoryPolicy historyPolicy,
+            long firstIntelSequence) {
+        if (firstIntelSequence <= 0)
+            throw new IllegalArgumentException("Intel sequence must be positive: " + firstIntelSequence);
+        this.historyPolicy = Objects.requireNonNull(historyPolicy);
+        this.firstIntelSequence = firstIntelSequence;
+        this.nextIntelSequence = firstIntelSequence;
         this.firstToPlay = Objects.requireNonNull(firstToPlay);
         this.lastToPlay = Objects.requireNonNull(lastToPlay);
         this.vira = Objects.requireNonNull(vira);
@@ -182,6 +258,7 @@ public class Hand {
         dealtCards.add(vira);
         dealtCards.addAll(firstToPlay.getCards());
         dealtCards.addAll(lastToPlay.getCards());
+        dealtCardSet = CardSet.of(dealtCards);
 
         points = HandPoints.ONE;
         roundsPlayed = new ArrayList<>();
@@ -384,12 +461,26 @@ public class Hand {
      * 
      * @ requires event != null;
      * 
-     * @ ensures history.size() == \old(history.size()) + 1;
+     * @ ensures historyPolicy == HistoryPolicy.FULL ==> history.size() == \old(history.size()) + 1;
+     * 
+     * @ ensures historyPolicy != HistoryPolicy.FULL ==> history.size() <= 1;
      * 
      * @
      */
     public void updateHistory(Event event) {
-        history.add(Intel.ofHand(this, event));
+        final long sequence = nextIntelSequence++;
+        switch (historyPolicy) {
+            case FULL -> history.add(Intel.ofHand(this, event, sequence));
+            case LAST_ONLY -> {
+                history.clear();
+                history.add(Intel.ofHand(this, event, sequence));
+            }
+            case NONE -> {
+                history.clear();
+                lastEvent = event;
+                lastEventSequence = sequence;
+            }
+        }
     }
 
     /*
@@ -453,10 +544,13 @@ public class Hand {
      * @
      */
     public void addOpenCard(Card card) {
-        if (!dealtCards.contains(card) && !card.equals(Card.closed()))
-            throw new GameRuleViolationException("Card has not been dealt in this hand.");
-        if (openCards.contains(card) && !card.equals(Card.closed()))
-            throw new GameRuleViolationException("Card " + card + " has already been played during hand.");
+        if (!card.isClosed()) {
+            if (!CardSet.contains(dealtCardSet, card))
+                throw new GameRuleViolationException("Card has not been dealt in this hand.");
+            if (CardSet.contains(openCardSet, card))
+                throw new GameRuleViolationException("Card " + card + " has already been played during hand.");
+            openCardSet = CardSet.with(openCardSet, card);
+        }
         openCards.add(card);
     }
 
@@ -597,16 +691,20 @@ public class Hand {
         this.possibleActions = EnumSet.copyOf(actions);
     }
 
+    // With HistoryPolicy.NONE the snapshot reflects the hand when first read after the event, which is the
+    // same as at the event for the engines, since they read it before the next move.
     /*
      * @ public normal_behavior
      * 
-     * @ requires !history.isEmpty();
+     * @ requires !history.isEmpty() || lastEvent != null;
      * 
      * @ ensures \result == history.get(history.size() - 1);
      * 
      * @
      */
-    public /* @ pure @ */ Intel getLastIntel() {
+    public Intel getLastIntel() {
+        if (history.isEmpty() && lastEvent != null)
+            history.add(Intel.ofHand(this, lastEvent, lastEventSequence));
         return history.get(history.size() - 1);
     }
 
@@ -755,6 +853,69 @@ public class Hand {
         return List.copyOf(history);
     }
 
+    // The history is sorted by sequence, so the tail is found by binary search and only it is copied. Under
+    // HistoryPolicy.NONE, the last intel is built first if it is after lastIntelSequence.
+    /*
+     * @ public normal_behavior
+     * 
+     * @ ensures \result != null;
+     * 
+     * @ ensures (\forall int i; 0 <= i && i < \result.size(); \result.get(i).sequence() > lastIntelSequence);
+     * 
+     * @
+     */
+    public List<Intel> getIntelHistorySince(long lastIntelSequence) {
+        if (lastIntelSequence >= nextIntelSequence - 1)
+            return List.of();
+        if (history.isEmpty() && lastEvent != null)
+            getLastIntel();
+        int low = 0;
+        int high = history.size();
+        while (low < high) {
+            final int middle = (low + high) >>> 1;
+            if (history.get(middle).sequence() <= lastIntelSequence)
+                low = middle + 1;
+            else
+                high = middle;
+        }
+        return List.copyOf(history.subList(low, history.size()));
+    }
+
+    // Numbers the recorded history consecutively from firstIntelSequence, for hands restored without
+    // their sequences or restored apart from the hands that came before them in the game.
+    /*
+     * @ public normal_behavior
+     * 
+     * @ requires firstIntelSequence > 0;
+     * 
+     * @ ensures this.firstIntelSequence == firstIntelSequence;
+     * 
+     * @ ensures \result == nextIntelSequence() && \result == firstIntelSequence + history.size();
+     * 
+     * @
+     */
+    public long numberIntelFrom(long firstIntelSequence) {
+        if (firstIntelSequence <= 0)
+            throw new IllegalArgumentException("Intel sequence must be positive: " + firstIntelSequence);
+        for (int i = 0; i < history.size(); i++)
+            history.set(i, history.get(i).withSequence(firstIntelSequence + i));
+        this.firstIntelSequence = firstIntelSequence;
+        this.nextIntelSequence = firstIntelSequence + history.size();
+        return nextIntelSequence;
+    }
+
+    public /* @ pure @ */ long firstIntelSequence() {
+        return firstIntelSequence;
+    }
+
+    public /* @ pure @ */ long nextIntelSequence() {
+        return nextIntelSequence;
+    }
+
+    public /* @ pure @ */ HistoryPolicy getHistoryPolicy() {
+        return historyPolicy;
+    }
+
     /*
      * @ public normal_behavior
      * 
@@ -0,0 +1,12 @@
+package com.bueno.domain.entities.hand;
+
+// How much of its intel timeline a hand keeps. Every policy answers getLastIntel, which is all a bot
+// needs to decide; only FULL keeps the snapshots a human client replays through Game.getIntelSince.
+public enum HistoryPolicy {
+    // A snapshot of every event is kept.
+    FULL,
+    // A snapshot is taken at every event, but only the last one is kept.
+    LAST_ONLY,
+    // Only the last event is kept; its snapshot is built from the hand when it is first read.
+    NONE
+}
@@ -142,9 +142,10 @@ public class Round {
      * @
      */
     public /* @ pure @ */ Optional<Card> getWinnerCard() {
-        if (firstCard.compareValueTo(lastCard, vira) == 0)
+        final int comparison = firstCard.compareValueTo(lastCard, vira);
+        if (comparison == 0)
             return Optional.empty();
-        return firstCard.compareValueTo(lastCard, vira) > 0 ? Optional.of(firstCard) : Optional.of(lastCard);
+        return comparison > 0 ? Optional.of(firstCard) : Optional.of(lastCard);
     }
 
     /*
@@ -29,15 +29,26 @@ import com.bueno.domain.entities.player.Player;
 
 import java.time.Instant;
 import java.util.*;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
+// Snapshot of a hand or game for the clients and bots. A snapshot of a hand keeps the scalars of the
+// moment and shares the open cards of the hand, which are only ever appended, remembering how many it
+// saw. The round winners, open cards, usernames and action names are derived on first read, so building
+// a snapshot nobody reads costs little more than the copies of the player cards and of the three rounds.
+// The hands of a game number their snapshots from 1 in the order they are recorded, so a client can ask
+// for what came after the last one it saw without comparing timestamps; 0 means not numbered.
 public class Intel {
 
     /* @ spec_public @ */
     private final Instant timestamp;
+    /* @ spec_public @ */
+    private long sequence;
 
     /* @ public invariant timestamp != null; @ */
 
+    /* @ public invariant sequence >= 0; @ */
+
     private boolean gameIsDone;
     private UUID gameWinner;
     private boolean maoDeOnze;
@@ -62,6 +73,17 @@ public class Intel {
     private String event;
     private Set<String> possibleActions;
 
+    // Sources of the fields derived on first read; null once derived or when built from its fields.
+    private List<Round> handRounds;
+    private List<Card> handOpenCards;
+    private int openCardsCount;
+    private HandResult handResult;
+    private Player currentPlayer;
+    private Player currentOpponent;
+    private Player eventPlayer;
+    private EnumSet<PossibleAction> handPossibleActions;
+    private volatile boolean derived = true;
+
     private Intel() {
         timestamp = Instant.now();
     }
@@ -114,14 +136,39 @@ public class Intel {
      * @
      */
     static public Intel ofHand(Hand currentHand, Event event) {
+        return ofHand(currentHand, event, 0);
+    }
+
+    /*
+     * @ public normal_behavior
+     * 
+     * @ requires currentHand != null;
+     * 
+     * @ requires event != null;
+     * 
+     * @ requires sequence >= 0;
+     * 
+     * @ ensures \result != null;
+     * 
+     * @ ensures \result.sequence() == sequence;
+     * 
+     * @
+     */
+    static public Intel ofHand(Hand currentHand, Event event, long sequence) {
+        if (sequence < 0)
+            throw new IllegalArgumentException("Intel sequence must not be negative: " + sequence);
         final Hand hand = Objects.requireNonNull(currentHand);
         final Intel result = new Intel();
+        result.sequence = sequence;
+        result.derived = false;
         result.event = event.toString();
         result.setHandIntel(hand);
         result.setPlayersIntel(hand);
         return result;
     }
 
+    // Numbered right after the last snapshot of the current hand, which the game over never changes, so
+    // every call gives the same sequence and a client that saw it once is not sent it again.
     /*
      * @ public normal_behavior
      * 
@@ -129,11 +176,14 @@ public class Intel {
      * 
      * @ ensures \result != null;
      * 
+     * @ ensures \result.sequence() == currentGame.currentHand().nextIntelSequence();
+     * 
      * @
      */
     static public Intel ofGame(Game currentGame) {
         final Game game = Objects.requireNonNull(currentGame);
-        final Intel result = ofHand(game.currentHand(), Event.GAME_OVER);
+        final Hand hand = game.currentHand();
+        final Intel result = ofHand(hand, Event.GAME_OVER, hand.nextIntelSequence());
         result.setGameIntel(game);
         return result;
     }
@@ -143,30 +193,59 @@ public class Intel {
         handPoints = hand.getPoints().get();
         if (hand.getPointsProposal() != null)
             handPointsProposal = hand.getPointsProposal().get();
-        roundWinnersUsernames = getRoundWinnersUsernames(hand);
-        roundWinnersUuid = getRoundWinnersUuid(hand);
-        roundsPlayed = roundWinnersUsernames.size();
+        handRounds = hand.getRoundsPlayed();
+        roundsPlayed = handRounds.size();
         vira = hand.getVira();
-        handWinner = hand.getResult().flatMap(HandResult::getWinner).map(Player::getUsername).orElse(null);
-        openCards = List.copyOf(hand.getOpenCards());
+        handResult = hand.getResult().orElse(null);
+        handOpenCards = hand.getOpenCards();
+        openCardsCount = handOpenCards.size();
         cardToPlayAgainst = hand.getCardToPlayAgainst().orElse(null);
-        possibleActions = hand.getPossibleActions().stream().map(Objects::toString).collect(Collectors.toSet());
+        // The hand replaces its set of possible actions instead of changing it.
+        handPossibleActions = hand.getPossibleActions();
     }
 
     private void setPlayersIntel(Hand hand) {
         players = List.of(new PlayerIntel(hand.getFirstToPlay()), new PlayerIntel(hand.getLastToPlay()));
 
-        final Player eventPlayer = hand.getEventPlayer();
+        eventPlayer = hand.getEventPlayer();
+        currentPlayer = hand.getCurrentPlayer();
+        currentOpponent = currentPlayer != null ? hand.getOpponentOf(currentPlayer) : null;
+        currentPlayerScore = currentPlayer != null ? currentPlayer.getScore() : 0;
+        currentOpponentScore = currentOpponent != null ? currentOpponent.getScore() : 0;
+    }
+
+    // Usernames and uuids never change, rounds are immutable once played and the open cards are read only
+    // up to the count seen at the event.
+    private synchronized void derive() {
+        if (derived)
+            return;
+        roundWinnersUsernames = roundWinners(Player::getUsername);
+        roundWinnersUuid = roundWinners(Player::getUuid);
+        openCards = List.copyOf(handOpenCards.subList(0, openCardsCount));
+        handWinner = Optional.ofNullable(handResult).flatMap(HandResult::getWinner).map(Player::getUsername)
+                .orElse(null);
+        possibleActions = handPossibleActions.stream().map(Objects::toString).collect(Collectors.toSet());
         eventPlayerUsername = eventPlayer != null ? eventPlayer.getUsername() : null;
         eventPlayerUuid = eventPlayer != null ? eventPlayer.getUuid() : null;
-
-        final Player currentPlayer = hand.getCurrentPlayer();
-        currentPlayerScore = currentPlayer != null ? currentPlayer.getScore() : 0;
         currentPlayerUsername = currentPlayer != null ? currentPlayer.getUsername() : null;
         currentPlayerUuid = currentPlayer != null ? currentPlayer.getUuid() : null;
+        currentOpponentUsername = currentOpponent != null ? currentOpponent.getUsername() : null;
 
-        currentOpponentScore = currentPlayer != null ? hand.getOpponentOf(currentPlayer).getScore() : 0;
-        currentOpponentUsername = currentPlayer != null ? hand.getOpponentOf(currentPlayer).getUsername() : null;
+        handRounds = null;
+        handOpenCards = null;
+        handResult = null;
+        currentPlayer = null;
+        currentOpponent = null;
+        eventPlayer = null;
+        handPossibleActions = null;
+        derived = true;
+    }
+
+    private <T> List<Optional<T>> roundWinners(Function<Player, T> attribute) {
+        final List<Optional<T>> winners = new ArrayList<>(roundsPlayed);
+        for (int i = 0; i < roundsPlayed; i++)
+            winners.add(handRounds.get(i).getWinner().map(attribute));
+        return Collections.unmodifiableList(winners);
     }
 
     private void setGameIntel(Game game) {
@@ -276,33 +355,48 @@ public class Intel {
         }
     }
 
-    private List<Optional<String>> getRoundWinnersUsernames(Hand hand) {
-        return hand.getRoundsPlayed().stream()
-                .map(Round::getWinner)
-                .map(maybeWinner -> maybeWinner.orElse(null))
-                .map(player -> player != null ? player.getUsername() : null)
-                .map(Optional::ofNullable)
-                .toList();
+    /*
+     * @ public normal_behavior
+     * 
+     * @ ensures \result != null;
+     * 
+     * @
+     */
+    public /* @ pure @ */ Instant timestamp() {
+        return timestamp;
     }
 
-    private List<Optional<UUID>> getRoundWinnersUuid(Hand hand) {
-        return hand.getRoundsPlayed().stream()
-                .map(Round::getWinner)
-                .map(maybeWinner -> maybeWinner.orElse(null))
-                .map(player -> player != null ? player.getUuid() : null)
-                .map(Optional::ofNullable)
-                .toList();
+    public long sequence() {
+        return sequence;
     }
 
+    // Restored snapshots carry no sequence and are numbered by the hand that owns them.
     /*
      * @ public normal_behavior
      * 
-     * @ ensures \result != null;
+     * @ requires sequence >= 0;
+     * 
+     * @ ensures \result.sequence() == sequence;
+     * 
+     * @ ensures \result.timestamp().equals(timestamp);
+     * 
+     * @ ensures this.sequence == sequence ==> \result == this;
      * 
      * @
      */
-    public /* @ pure @ */ Instant timestamp() {
-        return timestamp;
+    public Intel withSequence(long sequence) {
+        if (sequence < 0)
+            throw new IllegalArgumentException("Intel sequence must not be negative: " + sequence);
+        if (this.sequence == sequence)
+            return this;
+        derive();
+        final Intel copy = new Intel(timestamp, gameIsDone, gameWinner, maoDeOnze, handPoints, handPointsProposal,
+                roundWinnersUsernames, roundWinnersUuid, roundsPlayed, vira, openCards, handWinner,
+                currentPlayerUuid, currentPlayerScore, currentPlayerUsername, currentOpponentScore,
+                currentOpponentUsername, cardToPlayAgainst, players, event, eventPlayerUuid, eventPlayerUsername,
+                possibleActions);
+        copy.sequence = sequence;
+        return copy;
     }
 
     public boolean isGameDone() {
@@ -326,10 +420,12 @@ public class Intel {
     }
 
     public List<Optional<String>> roundWinnersUsernames() {
+        derive();
         return roundWinnersUsernames;
     }
 
     public List<Optional<UUID>> roundWinnersUuid() {
+        derive();
         return roundWinnersUuid;
     }
 
@@ -342,10 +438,12 @@ public class Intel {
     }
 
     public Optional<String> handWinner() {
+        derive();
         return Optional.ofNullable(handWinner);
     }
 
     public List<Card> openCards() {
+        derive();
         return openCards;
     }
 
@@ -354,6 +452,7 @@ public class Intel {
     }
 
     public Set<String> possibleActions() {
+        derive();
         return possibleActions;
     }
 
@@ -362,6 +461,7 @@ public class Intel {
     }
 
     public Optional<UUID> currentPlayerUuid() {
+        derive();
         return Optional.ofNullable(currentPlayerUuid);
     }
 
@@ -370,6 +470,7 @@ public class Intel {
     }
 
     public String currentPlayerUsername() {
+        derive();
         return currentPlayerUsername;
     }
 
@@ -378,6 +479,7 @@ public class Intel {
     }
 
     public String currentOpponentUsername() {
+        derive();
         return currentOpponentUsername;
     }
 
@@ -386,10 +488,12 @@ public class Intel {
     }
 
     public Optional<UUID> eventPlayerUuid() {
+        derive();
         return Optional.ofNullable(eventPlayerUuid);
     }
 
     public Optional<String> eventPlayerUsername() {
+        derive();
         return Optional.ofNullable(eventPlayerUsername);
     }
 
@@ -410,6 +514,7 @@ public class Intel {
 
     @Override
     public String toString() {
+        derive();
         final String userInMaoDeOnze = currentPlayerScore < currentOpponentScore ? currentOpponentUsername
                 : currentPlayerUsername;
 
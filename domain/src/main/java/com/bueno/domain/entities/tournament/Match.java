@@ -3,10 +3,18 @@ package com.bueno.domain.entities.tournament;
 import com.bueno.domain.usecases.bot.providers.BotManagerService;
 import com.bueno.domain.usecases.bot.providers.RemoteBotApi;
 import com.bueno.domain.usecases.bot.repository.RemoteBotRepository;
-import com.bueno.domain.usecases.game.dtos.PlayWithBotsResultsDto;
-import com.bueno.domain.usecases.game.usecase.PlayWithBotsUseCase;
+import com.bueno.domain.usecases.game.service.ConfidenceInterval;
+import com.bueno.domain.usecases.game.service.SequentialTest;
+import com.bueno.domain.usecases.game.service.SimulationExecutor;
+import com.bueno.domain.usecases.game.service.SimulationPlan;
+import com.bueno.domain.usecases.game.service.SimulationPlan.Dealing;
+import com.bueno.domain.usecases.game.service.SimulationPlan.Pairing;
+import com.bueno.domain.usecases.game.service.SimulationService;
+import com.bueno.domain.usecases.game.service.SimulationStats;
 
 import java.security.Timestamp;
+import java.util.List;
+import java.util.SplittableRandom;
 import java.util.UUID;
 
 public class Match implements Comparable {
@@ -29,6 +37,12 @@ public class Match implements Comparable {
     /* @ spec_public @ */
     private long timeToExecute;
     /* @ spec_public nullable @ */
+    private String stopReason;
+    /* @ spec_public @ */
+    private double p1WinRateLower;
+    /* @ spec_public @ */
+    private double p1WinRateUpper;
+    /* @ spec_public nullable @ */
     private Match next;
 
     /* @ public invariant id != null; @ */
@@ -69,6 +83,41 @@ public class Match implements Comparable {
             long p2Score,
             long timeToExecute,
             Match next) {
+        this(id, matchNumber, p1Name, p2Name, isAvailable, winnerName, p1Score, p2Score, timeToExecute,
+                null, 0.0, 1.0, next);
+    }
+
+    /*
+     * @ public normal_behavior
+     * 
+     * @ requires id != null;
+     * 
+     * @ requires p1WinRateLower <= p1WinRateUpper;
+     * 
+     * @ ensures this.id == id;
+     * 
+     * @ ensures this.stopReason == stopReason;
+     * 
+     * @ ensures this.p1WinRateLower == p1WinRateLower;
+     * 
+     * @ ensures this.p1WinRateUpper == p1WinRateUpper;
+     * 
+     * @ ensures this.next == next;
+     * 
+     * @
+     */
+    public Match(UUID id, int matchNumber,
+            String p1Name,
+            String p2Name,
+            boolean isAvailable,
+            String winnerName,
+            long p1Score,
+            long p2Score,
+            long timeToExecute,
+            String stopReason,
+            double p1WinRateLower,
+            double p1WinRateUpper,
+            Match next) {
         this.id = id;
         this.matchNumber = matchNumber;
         this.p1Name = p1Name;
@@ -78,6 +127,9 @@ public class Match implements Comparable {
         this.p1Score = p1Score;
         this.p2Score = p2Score;
         this.timeToExecute = timeToExecute;
+        this.stopReason = stopReason;
+        this.p1WinRateLower = p1WinRateLower;
+        this.p1WinRateUpper = p1WinRateUpper;
         this.next = next;
     }
 
@@ -95,6 +147,7 @@ public class Match implements Comparable {
     public Match(UUID id, int matchNumber) {
         this.id = id;
         this.matchNumber = matchNumber;
+        this.p1WinRateUpper = 1.0;
     }
 
     /*
@@ -114,29 +167,88 @@ public class Match implements Comparable {
             RemoteBotApi botApi,
             BotManagerService botManagerService,
             int times) {
-        final PlayWithBotsUseCase useCase = new PlayWithBotsUseCase(repository, botApi, botManagerService);
-        PlayWithBotsResultsDto results = useCase.playWithBots(UUID.randomUUID(), p1Name, UUID.randomUUID(), p2Name,
-                times / 2);
-        PlayWithBotsResultsDto resultsChangingTheFirstPlayer = useCase.playWithBots(UUID.randomUUID(), p2Name,
-                UUID.randomUUID(), p1Name, times / 2);
-        long p1Wins = results.info()
-                .stream()
-                .filter(info -> info.name().equals(p1Name)).count()
-                +
-                resultsChangingTheFirstPlayer.info()
-                        .stream()
-                        .filter(info -> info.name().equals(p1Name)).count();
-        long p2Wins = times - p1Wins;
-        timeToExecute = results.timeToExecute();
-        p1Score = p1Wins;
-        p2Score = p2Wins;
-        if (p1Wins > times / 2) {
-            winnerName = p1Name;
-        } else
-            winnerName = p2Name;
+        play(repository, botApi, botManagerService, SimulationExecutor.shared(), times);
+    }
+
+    /*
+     * @ public normal_behavior
+     * 
+     * @ requires repository != null;
+     * 
+     * @ requires botApi != null;
+     * 
+     * @ requires botManagerService != null;
+     * 
+     * @ requires executor != null;
+     * 
+     * @ requires times > 0;
+     * 
+     * @
+     */
+    public void play(RemoteBotRepository repository,
+            RemoteBotApi botApi,
+            BotManagerService botManagerService,
+            SimulationExecutor executor,
+            int times) {
+        play(repository, botApi, botManagerService, executor, times, SequentialTest.DEFAULT);
+    }
+
+    // The match is a single duplicate pairing, so both bots hold each seat on the same deals and the
+    // sequential test weighs every game of the match. Without a test, all the games are played, rounding
+    // an odd number of games up to the next whole deal. A tie goes to the bot that won more deals with
+    // both seats and, failing that, to a coin flip drawn from the seed of the match, so no seat is favoured.
+    /*
+     * @ public normal_behavior
+     * 
+     * @ requires repository != null;
+     * 
+     * @ requires botApi != null;
+     * 
+     * @ requires botManagerService != null;
+     * 
+     * @ requires executor != null;
+     * 
+     * @ requires times > 0;
+     * 
+     * @ ensures stopReason != null;
+     * 
+     * @
+     */
+    public void play(RemoteBotRepository repository,
+            RemoteBotApi botApi,
+            BotManagerService botManagerService,
+            SimulationExecutor executor,
+            int times,
+            /* @ nullable @ */ SequentialTest earlyStopping) {
+        final SimulationService simulator = new SimulationService(repository, botApi, botManagerService, executor);
+        final int deals = (times + 1) / 2;
+        SimulationPlan plan = SimulationPlan.of("match " + matchNumber, Pairing.of(p1Name, p2Name, deals))
+                .withDealing(Dealing.DUPLICATE);
+        if (earlyStopping != null) plan = plan.withEarlyStopping(earlyStopping);
+
+        final long start = System.currentTimeMillis();
+        final SimulationStats results = simulator.runPlan(plan).get(0);
+        final long end = System.currentTimeMillis();
+
+        final ConfidenceInterval p1WinRate = results.bot1WinRate();
+        timeToExecute = end - start;
+        p1Score = results.bot1Wins();
+        p2Score = results.bot2Wins();
+        stopReason = results.stopReason().name();
+        p1WinRateLower = p1WinRate.lower();
+        p1WinRateUpper = p1WinRate.upper();
+        winnerName = isWonByP1(results, plan.seed()) ? p1Name : p2Name;
         isAvailable = false;
     }
 
+    private boolean isWonByP1(SimulationStats results, long seed) {
+        if (p1Score != p2Score)
+            return p1Score > p2Score;
+        if (results.bot1DuplicateWins() != results.bot2DuplicateWins())
+            return results.bot1DuplicateWins() > results.bot2DuplicateWins();
+        return new SplittableRandom(seed).nextBoolean();
+    }
+
     /*
      * @ public normal_behavior
      * 
@@ -269,6 +381,18 @@ public class Match implements Comparable {
         return p2Score;
     }
 
+    public String getStopReason() {
+        return stopReason;
+    }
+
+    public double getP1WinRateLower() {
+        return p1WinRateLower;
+    }
+
+    public double getP1WinRateUpper() {
+        return p1WinRateUpper;
+    }
+
     @Override
     public String toString() {
         return "MatchInfo{" +
@@ -280,6 +404,7 @@ public class Match implements Comparable {
                 ", winnerName='" + winnerName + '\'' +
                 ", p1Score=" + p1Score +
                 ", p2Score=" + p2Score +
+                ", stopReason=" + stopReason +
                 ", nextMatch=" + (next == null ? ("null") : (next.id.toString()));
     }
 
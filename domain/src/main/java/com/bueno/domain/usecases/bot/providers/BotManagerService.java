@@ -1,42 +1,89 @@
 package com.bueno.domain.usecases.bot.providers;
 
-import com.bueno.domain.usecases.bot.dtos.RemoteBotDto;
 import com.bueno.domain.usecases.bot.repository.RemoteBotRepository;
 import com.bueno.spi.service.BotServiceProvider;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
-import java.time.Duration;
-import java.time.Instant;
 import java.util.*;
-import java.util.function.Predicate;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
 
+// Name-indexed view of the local and remote bots. Local bots come from the shared LocalBotRegistry and
+// remote bots from the current snapshot of the RemoteBotHealthMonitor, so load and providersNames are
+// map lookups on the simulation hot path and never wait for a health check. Local bots win a name clash.
+// Remote calls go through a ResilientRemoteBotApi, and a bot whose circuit opens leaves the snapshot.
+// Services built on the same repository and API share one ResilientRemoteBotApi and health monitor, the
+// way they share LocalBotRegistry.shared(), so the menus and use cases each building a service probe the
+// remote bots once per period and see the same circuits.
+// Local bots declaring themselves deterministic are wrapped in a decision cache shared by every instance,
+// and every local bot is held to the DecisionBudget of the service. The decisions of local bots are
+// profiled into the shared BotProfiles; remote bots are left bare for the async engine to recognize.
+// Each load of a local bot allocates the bot and its wrappers anew: bots may keep state between the
+// decisions of a game and the budget wrapper keeps the time spent in one game, so nothing is reused
+// across games. That is a handful of small objects per game, next to the hundreds of decisions in it.
 @Service
 public class BotManagerService {
 
-    /* @ spec_public @ */
-    private static final int HEALTH_CHECK_PERIOD = 2;
+    private static final Map<String, DecisionCache> DECISION_CACHES = new ConcurrentHashMap<>();
+    private static final Map<String, LongAdder> DECISION_OVERRUNS = new ConcurrentHashMap<>();
+    private static final Map<RemoteBotSource, SharedRemoteBots> SHARED_REMOTE_BOTS = new ConcurrentHashMap<>();
 
     /* @ spec_public @ */
     private final RemoteBotRepository repository;
     /* @ spec_public @ */
     private final RemoteBotApi api;
     /* @ spec_public @ */
-    private final List<BotServiceProvider> remoteBotsCache = new ArrayList<>();
+    private final LocalBotRegistry localBots;
+    /* @ spec_public @ */
+    private final RemoteBotHealthMonitor remoteBots;
+    /* @ spec_public @ */
+    private final DecisionBudget decisionBudget;
+    // Overruns of each bot during the run of this service, under its own budget only: withDecisionBudget
+    // starts a new run, so neither earlier runs nor measure-only services make a tournament bot forfeit.
+    private final Map<String, LongAdder> runOverruns = new ConcurrentHashMap<>();
     /* @ spec_public nullable @ */
-    private Instant lastCheck;
+    private volatile ProviderNames names;
 
     /*
      * @ public invariant repository != null;
      * 
      * @ public invariant api != null;
      * 
-     * @ public invariant remoteBotsCache != null;
+     * @ public invariant localBots != null;
+     * 
+     * @ public invariant remoteBots != null;
+     * 
+     * @ public invariant decisionBudget != null;
      * 
      * @
      */
 
+    @Autowired
+    /*
+     * @ public normal_behavior
+     * 
+     * @ requires repository != null;
+     * 
+     * @ requires api != null;
+     * 
+     * @ ensures this.repository == repository;
+     * 
+     * @ ensures this.api instanceof ResilientRemoteBotApi;
+     * 
+     * @ ensures this.localBots == LocalBotRegistry.shared();
+     * 
+     * @
+     */
+    public BotManagerService(RemoteBotRepository repository, RemoteBotApi api) {
+        this(repository, sharedRemoteBots(repository, api), LocalBotRegistry.shared());
+    }
+
+    private BotManagerService(RemoteBotRepository repository, SharedRemoteBots remoteBots,
+            LocalBotRegistry localBots) {
+        this(repository, remoteBots.api(), localBots, remoteBots.monitor());
+    }
+
     /*
      * @ public normal_behavior
      * 
@@ -44,19 +91,50 @@ public class BotManagerService {
      * 
      * @ requires api != null;
      * 
+     * @ requires localBots != null;
+     * 
+     * @ requires remoteBots != null;
+     * 
      * @ ensures this.repository == repository;
      * 
      * @ ensures this.api == api;
      * 
-     * @ ensures this.remoteBotsCache.isEmpty();
+     * @ ensures this.localBots == localBots;
      * 
-     * @ ensures this.lastCheck == null;
+     * @ ensures this.remoteBots == remoteBots;
      * 
      * @
      */
-    public BotManagerService(RemoteBotRepository repository, RemoteBotApi api) {
+    public BotManagerService(RemoteBotRepository repository, RemoteBotApi api, LocalBotRegistry localBots,
+            RemoteBotHealthMonitor remoteBots) {
+        this(repository, api, localBots, remoteBots, DecisionBudget.DEFAULT);
+        if (api instanceof ResilientRemoteBotApi resilientApi) resilientApi.onCircuitOpened(remoteBots::markUnhealthy);
+    }
+
+    private BotManagerService(RemoteBotRepository repository, RemoteBotApi api, LocalBotRegistry localBots,
+            RemoteBotHealthMonitor remoteBots, DecisionBudget decisionBudget) {
         this.repository = repository;
         this.api = api;
+        this.localBots = Objects.requireNonNull(localBots);
+        this.remoteBots = Objects.requireNonNull(remoteBots);
+        this.decisionBudget = Objects.requireNonNull(decisionBudget);
+    }
+
+    // Same bots and health snapshot, other budget: e.g. tournaments forfeit overrunning bots. The returned
+    // service starts a new run, so a use case calls it once per ranking or match, not once per instance.
+    /*
+     * @ public normal_behavior
+     * 
+     * @ requires decisionBudget != null;
+     * 
+     * @ ensures \result.decisionBudget == decisionBudget;
+     * 
+     * @ ensures \result.remoteBots == remoteBots;
+     * 
+     * @
+     */
+    public BotManagerService withDecisionBudget(DecisionBudget decisionBudget) {
+        return new BotManagerService(repository, api, localBots, remoteBots, decisionBudget);
     }
 
     /*
@@ -73,10 +151,13 @@ public class BotManagerService {
      * @
      */
     public BotServiceProvider load(String botServiceName) {
-        final Predicate<BotServiceProvider> hasName = botImpl -> botImpl.getName().equals(botServiceName);
-        final Optional<BotServiceProvider> possibleBot = providers().filter(hasName).findAny();
-        return possibleBot.orElseThrow(
-                () -> new NoSuchElementException("Service implementation not available: " + botServiceName));
+        final Optional<BotServiceProvider> localBot = localBots.load(botServiceName);
+        if (localBot.isPresent()) return budgeted(cachedIfDeterministic(profiled(localBot.get())));
+
+        final BotServiceProvider remoteBot = remoteBots.snapshot().bots().get(botServiceName);
+        if (remoteBot == null)
+            throw new NoSuchElementException("Service implementation not available: " + botServiceName);
+        return remoteBot;
     }
 
     /*
@@ -87,39 +168,112 @@ public class BotManagerService {
      * @
      */
     public List<String> providersNames() {
-        return providers().map(BotServiceProvider::getName).filter(Objects::nonNull).collect(Collectors.toList());
+        final RemoteBotHealthMonitor.Snapshot snapshot = remoteBots.snapshot();
+        final ProviderNames current = names;
+        if (current != null && current.source() == snapshot && current.localNames() == localBots.names())
+            return current.names();
+
+        final List<String> allNames = new ArrayList<>(localBots.names());
+        snapshot.bots().keySet().stream().filter(name -> !localBots.contains(name)).forEach(allNames::add);
+        final ProviderNames updated = new ProviderNames(snapshot, localBots.names(), List.copyOf(allNames));
+        names = updated;
+        return updated.names();
+    }
+
+    /*
+     * @ public normal_behavior
+     * 
+     * @ requires botServiceName != null;
+     * 
+     * @ ensures \result == providersNames().contains(botServiceName);
+     * 
+     * @
+     */
+    public boolean hasProvider(String botServiceName) {
+        if (localBots.contains(botServiceName)) return true;
+        return remoteBots.snapshot().bots().containsKey(botServiceName);
+    }
+
+    /*
+     * @ public normal_behavior
+     * 
+     * @ ensures \result != null;
+     * 
+     * @
+     */
+    public Map<String, RemoteBotHealth> remoteBotsHealth() {
+        return remoteBots.snapshot().health();
+    }
+
+    /*
+     * @ public normal_behavior
+     * 
+     * @ ensures \result != null;
+     * 
+     * @
+     */
+    public Map<String, DecisionCache.Stats> decisionCacheStats() {
+        final Map<String, DecisionCache.Stats> stats = new TreeMap<>();
+        DECISION_CACHES.forEach((name, cache) -> stats.put(name, cache.stats()));
+        return stats;
     }
 
     /*
-     * @ private normal_behavior
+     * @ public normal_behavior
      * 
      * @ ensures \result != null;
      * 
      * @
      */
-    private Stream<BotServiceProvider> providers() {
-        Stream<BotServiceProvider> spiProviders = ServiceLoader.load(BotServiceProvider.class).stream()
-                .map(ServiceLoader.Provider::get);
+    public Map<String, Long> decisionOverruns() {
+        final Map<String, Long> overruns = new TreeMap<>();
+        DECISION_OVERRUNS.forEach((name, count) -> overruns.put(name, count.sum()));
+        return overruns;
+    }
 
-        List<BotServiceProvider> bots = new ArrayList<>(spiProviders.toList());
+    private static SharedRemoteBots sharedRemoteBots(RemoteBotRepository repository, RemoteBotApi api) {
+        return SHARED_REMOTE_BOTS.computeIfAbsent(new RemoteBotSource(repository, api), source -> {
+            final ResilientRemoteBotApi resilientApi = new ResilientRemoteBotApi(api);
+            return new SharedRemoteBots(resilientApi, new RemoteBotHealthMonitor(repository, resilientApi));
+        });
+    }
 
-        if (lastCheck == null || Duration.between(lastCheck, Instant.now()).toMinutes() > HEALTH_CHECK_PERIOD) {
-            remoteBotsCache.addAll(repository.findAll().stream()
-                    .filter(this::isHealth)
-                    .map(this::toBotServiceProvider)
-                    .toList());
-            lastCheck = Instant.now();
-        }
-        bots.addAll(remoteBotsCache);
+    private BotServiceProvider budgeted(BotServiceProvider bot) {
+        final LongAdder overruns = DECISION_OVERRUNS.computeIfAbsent(bot.getName(), name -> new LongAdder());
+        final LongAdder overrunsInRun = runOverruns.computeIfAbsent(bot.getName(), name -> new LongAdder());
+        return new BudgetedBotServiceProvider(bot, decisionBudget, overruns, overrunsInRun);
+    }
+
+    private static BotServiceProvider profiled(BotServiceProvider bot) {
+        return new ProfilingBotServiceProvider(bot, BotProfiles.shared().profileOf(bot.getName()));
+    }
+
+    private static BotServiceProvider cachedIfDeterministic(BotServiceProvider bot) {
+        if (!bot.isDeterministic()) return bot;
+        final DecisionCache cache = DECISION_CACHES.computeIfAbsent(bot.getName(), name -> new DecisionCache());
+        return new CachingBotServiceProvider(bot, cache);
+    }
+
+    // Discovers the local bots again and probes the remote bots without waiting for the health check period.
+    /*
+     * @ public normal_behavior
+     * 
+     * @ ensures true;
+     * 
+     * @
+     */
+    public void refresh() {
+        localBots.refresh();
+        remoteBots.refresh();
+    }
 
-        return bots.stream();
+    private record RemoteBotSource(RemoteBotRepository repository, RemoteBotApi api) {
     }
 
-    private boolean isHealth(RemoteBotDto dto) {
-        return api.isHealthy(dto);
+    private record SharedRemoteBots(ResilientRemoteBotApi api, RemoteBotHealthMonitor monitor) {
     }
 
-    private BotServiceProvider toBotServiceProvider(RemoteBotDto dto) {
-        return new RemoteBotServiceProvider(api, dto);
+    // The names are rebuilt only when the remote snapshot or the local bots change.
+    private record ProviderNames(RemoteBotHealthMonitor.Snapshot source, List<String> localNames, List<String> names) {
     }
 }
@@ -0,0 +1,102 @@
+package com.bueno.domain.usecases.bot.providers;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+// Wall time, thread CPU time and allocated bytes of the decisions of one bot, one histogram of each per
+// BotServiceProvider method. Shared by every instance of the bot, so a profile covers all its games.
+public class BotProfile {
+
+    public enum Method {
+        CHOOSE_CARD("chooseCard"),
+        DECIDE_IF_RAISES("decideIfRaises"),
+        GET_RAISE_RESPONSE("getRaiseResponse"),
+        GET_MAO_DE_ONZE_RESPONSE("getMaoDeOnzeResponse");
+
+        private final String methodName;
+
+        Method(String methodName) {
+            this.methodName = methodName;
+        }
+
+        public String methodName() {
+            return methodName;
+        }
+    }
+
+    public record MethodStats(Method method, LogLinearHistogram.Summary wallNanos,
+                              LogLinearHistogram.Summary cpuNanos, LogLinearHistogram.Summary allocatedBytes) {
+    }
+
+    /* @ spec_public @ */
+    private final String botName;
+    private final Map<Method, Histograms> histograms = new EnumMap<>(Method.class);
+
+    /*
+     * @ public invariant botName != null;
+     *
+     * @
+     */
+
+    /*
+     * @ public normal_behavior
+     *
+     * @ requires botName != null;
+     *
+     * @ ensures this.botName == botName;
+     *
+     * @ ensures stats().isEmpty();
+     *
+     * @
+     */
+    public BotProfile(String botName) {
+        this.botName = Objects.requireNonNull(botName);
+        for (Method method : Method.values()) histograms.put(method, new Histograms());
+    }
+
+    // A negative cpuNanos or allocatedBytes means the JVM could not measure it and is left out.
+    /*
+     * @ public normal_behavior
+     *
+     * @ requires method != null && wallNanos >= 0;
+     *
+     * @
+     */
+    public void record(Method method, long wallNanos, long cpuNanos, long allocatedBytes) {
+        final Histograms methodHistograms = histograms.get(method);
+        methodHistograms.wallNanos.record(wallNanos);
+        methodHistograms.cpuNanos.record(cpuNanos);
+        methodHistograms.allocatedBytes.record(allocatedBytes);
+    }
+
+    public String botName() {
+        return botName;
+    }
+
+    // Only the methods the bot was asked at least once.
+    /*
+     * @ public normal_behavior
+     *
+     * @ ensures \result != null;
+     *
+     * @
+     */
+    public List<MethodStats> stats() {
+        final List<MethodStats> stats = new ArrayList<>();
+        histograms.forEach((method, methodHistograms) -> {
+            if (methodHistograms.wallNanos.count() == 0) return;
+            stats.add(new MethodStats(method, methodHistograms.wallNanos.summary(),
+                    methodHistograms.cpuNanos.summary(), methodHistograms.allocatedBytes.summary()));
+        });
+        return stats;
+    }
+
+    private static final class Histograms {
+        private final LogLinearHistogram wallNanos = new LogLinearHistogram();
+        private final LogLinearHistogram cpuNanos = new LogLinearHistogram();
+        private final LogLinearHistogram allocatedBytes = new LogLinearHistogram();
+    }
+}
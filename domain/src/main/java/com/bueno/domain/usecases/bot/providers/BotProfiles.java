@@ -0,0 +1,70 @@
+package com.bueno.domain.usecases.bot.providers;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+// The BotProfile of every bot loaded by a BotManagerService. The profiles are process-wide, like the
+// decision caches, so a run can be profiled whichever use case created the service that loaded the bots.
+// Clearing them before a run makes the next snapshot cover that run alone.
+public class BotProfiles {
+
+    private static final BotProfiles SHARED = new BotProfiles();
+
+    private final Map<String, BotProfile> profiles = new ConcurrentHashMap<>();
+
+    /*
+     * @ public normal_behavior
+     *
+     * @ ensures \result != null;
+     *
+     * @
+     */
+    public static BotProfiles shared() {
+        return SHARED;
+    }
+
+    /*
+     * @ public normal_behavior
+     *
+     * @ requires botName != null;
+     *
+     * @ ensures \result != null && \result.botName().equals(botName);
+     *
+     * @
+     */
+    public BotProfile profileOf(String botName) {
+        return profiles.computeIfAbsent(Objects.requireNonNull(botName), BotProfile::new);
+    }
+
+    // Bots sorted by name, with the methods they were asked.
+    /*
+     * @ public normal_behavior
+     *
+     * @ ensures \result != null;
+     *
+     * @
+     */
+    public Map<String, List<BotProfile.MethodStats>> snapshot() {
+        final Map<String, List<BotProfile.MethodStats>> snapshot = new TreeMap<>();
+        profiles.forEach((name, profile) -> {
+            final List<BotProfile.MethodStats> stats = profile.stats();
+            if (!stats.isEmpty()) snapshot.put(name, stats);
+        });
+        return snapshot;
+    }
+
+    // Decisions still running keep recording into the discarded profiles.
+    /*
+     * @ public normal_behavior
+     *
+     * @ ensures snapshot().isEmpty();
+     *
+     * @
+     */
+    public void clear() {
+        profiles.clear();
+    }
+}
@@ -0,0 +1,166 @@
+package com.bueno.domain.usecases.bot.providers;
+
+import com.bueno.domain.usecases.bot.providers.DecisionBudget.Overrun;
+import com.bueno.domain.usecases.utils.exceptions.BotForfeit;
+import com.bueno.spi.model.CardToPlay;
+import com.bueno.spi.model.GameIntel;
+import com.bueno.spi.service.BotServiceProvider;
+
+import java.util.Objects;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+// Enforces a DecisionBudget on a bot. An instance keeps the time the bot spent in one game, so a new one
+// must be loaded for each game. Overruns are only counted, forfeit the game or are answered with a fallback
+// move: no mao de onze, no raise, quitting raises and playing the first card. Once the game budget is spent
+// with the fallback policy, the bot is no longer asked at all. With the forfeit policy, a bot that overran
+// once in the run, as told by the overrun counter of the run, forfeits every later game of the run without
+// being asked, so a looping bot costs at most one abandoned watchdog thread per run. Overruns are also
+// added to a counter kept for reporting, which never forfeits anything.
+public class BudgetedBotServiceProvider implements BotServiceProvider {
+
+    private static final int WATCHDOG_THREADS = Runtime.getRuntime().availableProcessors() * 4;
+    private static final ExecutorService WATCHDOG = watchdogPool();
+
+    /* @ spec_public @ */
+    private final BotServiceProvider bot;
+    /* @ spec_public @ */
+    private final DecisionBudget budget;
+    /* @ spec_public @ */
+    private final LongAdder overruns;
+    /* @ spec_public @ */
+    private final LongAdder runOverruns;
+    private long spentNanos;
+    private boolean budgetSpent;
+
+    /*
+     * @ public invariant bot != null && budget != null && overruns != null && runOverruns != null;
+     *
+     * @
+     */
+
+    /*
+     * @ public normal_behavior
+     *
+     * @ requires bot != null && budget != null && overruns != null;
+     *
+     * @ ensures this.bot == bot && this.budget == budget && this.overruns == overruns;
+     *
+     * @
+     */
+    public BudgetedBotServiceProvider(BotServiceProvider bot, DecisionBudget budget, LongAdder overruns) {
+        this(bot, budget, overruns, overruns);
+    }
+
+    // The run counter is shared by the games of one run only, so an overrun never forfeits a later run.
+    /*
+     * @ public normal_behavior
+     *
+     * @ requires bot != null && budget != null && overruns != null && runOverruns != null;
+     *
+     * @ ensures this.bot == bot && this.budget == budget;
+     *
+     * @ ensures this.overruns == overruns && this.runOverruns == runOverruns;
+     *
+     * @
+     */
+    public BudgetedBotServiceProvider(BotServiceProvider bot, DecisionBudget budget, LongAdder overruns,
+                                      LongAdder runOverruns) {
+        this.bot = Objects.requireNonNull(bot);
+        this.budget = Objects.requireNonNull(budget);
+        this.overruns = Objects.requireNonNull(overruns);
+        this.runOverruns = Objects.requireNonNull(runOverruns);
+    }
+
+    @Override
+    public boolean getMaoDeOnzeResponse(GameIntel intel) {
+        return decide(() -> bot.getMaoDeOnzeResponse(intel), () -> false);
+    }
+
+    @Override
+    public boolean decideIfRaises(GameIntel intel) {
+        return decide(() -> bot.decideIfRaises(intel), () -> false);
+    }
+
+    @Override
+    public CardToPlay chooseCard(GameIntel intel) {
+        return decide(() -> bot.chooseCard(intel), () -> CardToPlay.of(intel.getCards().get(0)));
+    }
+
+    @Override
+    public int getRaiseResponse(GameIntel intel) {
+        return decide(() -> bot.getRaiseResponse(intel), () -> -1);
+    }
+
+    @Override
+    public String getName() {
+        return bot.getName();
+    }
+
+    @Override
+    public boolean isDeterministic() {
+        return bot.isDeterministic();
+    }
+
+    private <T> T decide(Supplier<T> decision, Supplier<T> fallback) {
+        if (budgetSpent) return fallback.get();
+        if (budget.onOverrun() == Overrun.FORFEIT && runOverruns.sum() > 0)
+            throw new BotForfeit(getName(), "Bot " + getName() + " already exceeded its decision budget in this run");
+
+        final long decisionBudget = Math.min(budget.perDecision().toNanos(), budget.perGame().toNanos() - spentNanos);
+        final long start = System.nanoTime();
+        T answer = null;
+        boolean overrun;
+        try {
+            answer = budget.isolated() ? decideIsolated(decision, decisionBudget) : decision.get();
+            overrun = System.nanoTime() - start > decisionBudget;
+        } catch (TimeoutException e) {
+            overrun = true;
+        }
+        spentNanos += System.nanoTime() - start;
+        if (!overrun) return answer;
+
+        overruns.increment();
+        if (runOverruns != overruns) runOverruns.increment();
+        if (budget.onOverrun() == Overrun.MEASURE) return answer;
+        final boolean gameBudgetSpent = spentNanos >= budget.perGame().toNanos();
+        if (budget.onOverrun() == Overrun.FORFEIT)
+            throw new BotForfeit(getName(), "Bot " + getName() + " exceeded its "
+                    + (gameBudgetSpent ? "game budget of " + budget.perGame() : "decision budget of " + budget.perDecision()));
+        budgetSpent = gameBudgetSpent;
+        return fallback.get();
+    }
+
+    // The overrunning decision is interrupted and its thread left behind; the pool replaces it once the
+    // thread returns. Time a decision waits for a free watchdog thread counts against its budget.
+    private static <T> T decideIsolated(Supplier<T> decision, long budgetNanos) throws TimeoutException {
+        final Future<T> answer = WATCHDOG.submit(decision::get);
+        try {
+            return answer.get(budgetNanos, TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            answer.cancel(true);
+            throw e;
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) throw runtimeException;
+            throw new CompletionException(e.getCause());
+        } catch (InterruptedException e) {
+            answer.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new CompletionException(e);
+        }
+    }
+
+    private static ExecutorService watchdogPool() {
+        final AtomicInteger counter = new AtomicInteger();
+        final ThreadPoolExecutor pool = new ThreadPoolExecutor(WATCHDOG_THREADS, WATCHDOG_THREADS,
+                60, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), runnable -> {
+            final Thread thread = new Thread(runnable, "bot-decision-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        pool.allowCoreThreadTimeOut(true);
+        return pool;
+    }
+}
@@ -0,0 +1,70 @@
+package com.bueno.domain.usecases.bot.providers;
+
+import com.bueno.domain.usecases.bot.providers.DecisionCache.Decision;
+import com.bueno.spi.model.CardToPlay;
+import com.bueno.spi.model.GameIntel;
+import com.bueno.spi.service.BotServiceProvider;
+
+import java.util.Objects;
+
+// Answers the decisions of a deterministic bot from a DecisionCache shared by all its instances, asking
+// the bot only for intel it has not seen yet.
+public class CachingBotServiceProvider implements BotServiceProvider {
+
+    /* @ spec_public @ */
+    private final BotServiceProvider bot;
+    /* @ spec_public @ */
+    private final DecisionCache cache;
+
+    /*
+     * @ public invariant bot != null && cache != null;
+     *
+     * @
+     */
+
+    /*
+     * @ public normal_behavior
+     *
+     * @ requires bot != null && bot.isDeterministic();
+     *
+     * @ requires cache != null;
+     *
+     * @ ensures this.bot == bot && this.cache == cache;
+     *
+     * @
+     */
+    public CachingBotServiceProvider(BotServiceProvider bot, DecisionCache cache) {
+        this.bot = Objects.requireNonNull(bot);
+        this.cache = Objects.requireNonNull(cache);
+    }
+
+    @Override
+    public boolean getMaoDeOnzeResponse(GameIntel intel) {
+        return cache.get(Decision.MAO_DE_ONZE_RESPONSE, intel, () -> bot.getMaoDeOnzeResponse(intel));
+    }
+
+    @Override
+    public boolean decideIfRaises(GameIntel intel) {
+        return cache.get(Decision.RAISE_REQUEST, intel, () -> bot.decideIfRaises(intel));
+    }
+
+    @Override
+    public CardToPlay chooseCard(GameIntel intel) {
+        return cache.get(Decision.CARD_TO_PLAY, intel, () -> bot.chooseCard(intel));
+    }
+
+    @Override
+    public int getRaiseResponse(GameIntel intel) {
+        return cache.get(Decision.RAISE_RESPONSE, intel, () -> bot.getRaiseResponse(intel));
+    }
+
+    @Override
+    public String getName() {
+        return bot.getName();
+    }
+
+    @Override
+    public boolean isDeterministic() {
+        return true;
+    }
+}
@@ -0,0 +1,38 @@
+package com.bueno.domain.usecases.bot.providers;
+
+import java.time.Duration;
+import java.util.Objects;
+
+// Time a bot may spend deciding: per decision and in total during one game. Inline budgets time the bot
+// on the caller's thread and act once it answers, which costs nothing on the simulation hot path but can
+// not stop a bot that never returns. Isolated budgets run every decision on a watchdog thread that is
+// abandoned, and interrupted, when the decision overruns, so the worst case of a game is bounded.
+// The default budget only measures: human games keep the answers of slow bots, whatever the machine load.
+public record DecisionBudget(Duration perDecision, Duration perGame, Overrun onOverrun, boolean isolated) {
+
+    public enum Overrun {
+        // The overrun is counted and the late answer kept.
+        MEASURE,
+        // The bot loses the game.
+        FORFEIT,
+        // The overrunning answer is replaced by a fallback move, as are all answers once the game budget is spent.
+        FALLBACK
+    }
+
+    public static final DecisionBudget DEFAULT =
+            new DecisionBudget(Duration.ofSeconds(1), Duration.ofSeconds(30), Overrun.MEASURE, false);
+    public static final DecisionBudget TOURNAMENT =
+            new DecisionBudget(Duration.ofSeconds(1), Duration.ofSeconds(30), Overrun.FORFEIT, true);
+
+    public DecisionBudget {
+        Objects.requireNonNull(perDecision);
+        Objects.requireNonNull(perGame);
+        Objects.requireNonNull(onOverrun);
+        if (perDecision.isNegative() || perDecision.isZero())
+            throw new IllegalArgumentException("Decision budget must be positive: " + perDecision);
+        if (perGame.compareTo(perDecision) < 0)
+            throw new IllegalArgumentException("Game budget must not be shorter than the decision budget: " + perGame);
+        if (onOverrun == Overrun.MEASURE && isolated)
+            throw new IllegalArgumentException("An isolated budget has no late answer to keep");
+    }
+}
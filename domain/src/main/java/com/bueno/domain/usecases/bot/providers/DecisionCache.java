@@ -0,0 +1,132 @@
+package com.bueno.domain.usecases.bot.providers;
+
+import com.bueno.spi.model.GameIntel;
+import com.bueno.spi.model.GameIntelCodec;
+
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+// Bounded LRU cache of the decisions of one deterministic bot. The key is the decision kind followed by
+// the GameIntelCodec encoding of the intel, a string of about twenty characters whose equality matches
+// GameIntel equality. The entries are spread over independently locked segments, each one an access
+// ordered LinkedHashMap evicting its eldest entry, so simulation threads rarely wait for each other.
+public class DecisionCache {
+
+    public static final int DEFAULT_CAPACITY = 1 << 15;
+    private static final int SEGMENTS = 16;
+
+    public enum Decision {
+        MAO_DE_ONZE_RESPONSE,
+        RAISE_REQUEST,
+        CARD_TO_PLAY,
+        RAISE_RESPONSE
+    }
+
+    public record Stats(long hits, long misses, long evictions, int size) {
+
+        public double hitRate() {
+            final long lookups = hits + misses;
+            return lookups == 0 ? 0.0 : (double) hits / lookups;
+        }
+    }
+
+    /* @ spec_public @ */
+    private final Segment[] segments = new Segment[SEGMENTS];
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    /* @ public invariant segments != null; @ */
+
+    public DecisionCache() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /*
+     * @ public normal_behavior
+     *
+     * @ requires capacity > 0;
+     *
+     * @ ensures stats().size() == 0;
+     *
+     * @
+     */
+    public DecisionCache(int capacity) {
+        if (capacity <= 0) throw new IllegalArgumentException("Capacity must be positive: " + capacity);
+        final int segmentCapacity = Math.max(1, capacity / SEGMENTS);
+        for (int i = 0; i < SEGMENTS; i++) segments[i] = new Segment(segmentCapacity);
+    }
+
+    // The decision is computed outside the segment lock, so two threads missing the same key at the same
+    // time may both ask the bot; being deterministic, the bot gives both the same answer.
+    /*
+     * @ public normal_behavior
+     *
+     * @ requires decision != null && intel != null && decide != null;
+     *
+     * @
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T get(Decision decision, GameIntel intel, Supplier<T> decide) {
+        final String key = keyOf(decision, intel);
+        final Segment segment = segments[(key.hashCode() & Integer.MAX_VALUE) % SEGMENTS];
+        final Object cached = segment.get(key);
+        if (cached != null) {
+            hits.increment();
+            return (T) cached;
+        }
+        misses.increment();
+        final T answer = decide.get();
+        if (answer != null) segment.put(key, answer);
+        return answer;
+    }
+
+    /*
+     * @ public normal_behavior
+     *
+     * @ ensures \result != null;
+     *
+     * @
+     */
+    public Stats stats() {
+        int size = 0;
+        for (Segment segment : segments) size += segment.size();
+        return new Stats(hits.sum(), misses.sum(), evictions.sum(), size);
+    }
+
+    private static String keyOf(Decision decision, GameIntel intel) {
+        final byte[] encoded = GameIntelCodec.encode(intel);
+        return (char) decision.ordinal() + new String(encoded, StandardCharsets.ISO_8859_1);
+    }
+
+    private final class Segment {
+        private final Map<String, Object> entries;
+
+        private Segment(int capacity) {
+            this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, Object> eldest) {
+                    final boolean full = size() > capacity;
+                    if (full) evictions.increment();
+                    return full;
+                }
+            };
+        }
+
+        private synchronized Object get(String key) {
+            return entries.get(key);
+        }
+
+        private synchronized void put(String key, Object answer) {
+            entries.put(key, Objects.requireNonNull(answer));
+        }
+
+        private synchronized int size() {
+            return entries.size();
+        }
+    }
+}
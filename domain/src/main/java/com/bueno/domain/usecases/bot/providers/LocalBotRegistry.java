@@ -0,0 +1,118 @@
+package com.bueno.domain.usecases.bot.providers;
+
+import com.bueno.spi.service.BotServiceProvider;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+// Index of the bots found by the ServiceLoader, built once per class loader instead of once per lookup.
+// The index keeps the provider factories rather than bot instances: some bots hold per-decision state in
+// their fields, so every load still gets its own instance, but without scanning the service files or
+// instantiating every other bot to find it by name. A registry can also be given its bots up front, e.g.
+// to embed bots that are not on the class path; such a registry is never rescanned.
+public class LocalBotRegistry {
+
+    private static final LocalBotRegistry SHARED = new LocalBotRegistry();
+
+    /* @ spec_public @ */
+    private final Map<String, Supplier<BotServiceProvider>> factories = new ConcurrentHashMap<>();
+    /* @ spec_public @ */
+    private volatile List<String> names = List.of();
+    private volatile boolean discovered;
+    private final boolean fixed;
+
+    /*
+     * @ public invariant factories != null;
+     *
+     * @ public invariant names != null && names.size() == factories.size();
+     *
+     * @
+     */
+
+    private LocalBotRegistry() {
+        this.fixed = false;
+    }
+
+    /*
+     * @ public normal_behavior
+     *
+     * @ requires factories != null;
+     *
+     * @ ensures names().equals(List.copyOf(factories.keySet()));
+     *
+     * @
+     */
+    public LocalBotRegistry(Map<String, Supplier<BotServiceProvider>> factories) {
+        this.factories.putAll(factories);
+        this.names = List.copyOf(factories.keySet());
+        this.discovered = true;
+        this.fixed = true;
+    }
+
+    public static LocalBotRegistry shared() {
+        return SHARED;
+    }
+
+    /*
+     * @ public normal_behavior
+     *
+     * @ requires botName != null;
+     *
+     * @ ensures \result.isPresent() ==> \result.get().getName().equals(botName);
+     *
+     * @
+     */
+    public Optional<BotServiceProvider> load(String botName) {
+        discoverOnce();
+        final Supplier<BotServiceProvider> factory = factories.get(botName);
+        return factory == null ? Optional.empty() : Optional.of(factory.get());
+    }
+
+    /*
+     * @ public normal_behavior
+     *
+     * @ ensures \result != null;
+     *
+     * @ ensures \result.size() == factories.size();
+     *
+     * @
+     */
+    public List<String> names() {
+        discoverOnce();
+        return names;
+    }
+
+    public boolean contains(String botName) {
+        discoverOnce();
+        return factories.containsKey(botName);
+    }
+
+    // Scans the service files again, e.g. after new bot jars were added to the class path.
+    /*
+     * @ public normal_behavior
+     *
+     * @ ensures discovered;
+     *
+     * @
+     */
+    public synchronized void refresh() {
+        if (fixed) return;
+        final Map<String, Supplier<BotServiceProvider>> discoveredFactories = new LinkedHashMap<>();
+        ServiceLoader.load(BotServiceProvider.class).stream().forEach(factory -> {
+            final String name = factory.get().getName();
+            if (name != null) discoveredFactories.putIfAbsent(name, factory);
+        });
+        factories.putAll(discoveredFactories);
+        factories.keySet().retainAll(discoveredFactories.keySet());
+        names = List.copyOf(discoveredFactories.keySet());
+        discovered = true;
+    }
+
+    private void discoverOnce() {
+        if (discovered) return;
+        synchronized (this) {
+            if (!discovered) refresh();
+        }
+    }
+}
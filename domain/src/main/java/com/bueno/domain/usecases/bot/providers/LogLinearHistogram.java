@@ -0,0 +1,105 @@
+package com.bueno.domain.usecases.bot.providers;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+// Fixed-size, lock-free histogram of non-negative longs in the style of HdrHistogram. Values below 32
+// have a bucket each; above that every power of two is split into 32 linear buckets, so any recorded
+// value is reported within about 3% of itself, from nanoseconds to hours and from bytes to terabytes.
+// Recording is one atomic increment, cheap enough to run around every bot decision.
+public class LogLinearHistogram {
+
+    private static final int SUB_BITS = 5;
+    private static final int SUB_BUCKETS = 1 << SUB_BITS;
+    private static final int BUCKETS = (Long.SIZE - SUB_BITS) * SUB_BUCKETS;
+
+    public record Summary(long count, long p50, long p99, long max) {
+    }
+
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+    private final AtomicLong max = new AtomicLong();
+
+    /*
+     * @ public normal_behavior
+     *
+     * @ requires value >= 0;
+     *
+     * @ ensures count() == \old(count()) + 1;
+     *
+     * @ also
+     *
+     * @ public normal_behavior
+     *
+     * @ requires value < 0;
+     *
+     * @ ensures count() == \old(count());
+     *
+     * @
+     */
+    public void record(long value) {
+        if (value < 0) return;
+        buckets.incrementAndGet(indexOf(value));
+        max.accumulateAndGet(value, Math::max);
+    }
+
+    public long count() {
+        long count = 0;
+        for (int i = 0; i < BUCKETS; i++) count += buckets.get(i);
+        return count;
+    }
+
+    public long max() {
+        return max.get();
+    }
+
+    // The highest value of the bucket holding the value at the quantile, never above the recorded maximum.
+    /*
+     * @ public normal_behavior
+     *
+     * @ requires quantile > 0.0 && quantile <= 1.0;
+     *
+     * @ ensures count() == 0 ==> \result == 0;
+     *
+     * @ ensures \result <= max();
+     *
+     * @
+     */
+    public long percentile(double quantile) {
+        if (quantile <= 0.0 || quantile > 1.0) throw new IllegalArgumentException("Quantile out of (0, 1]: " + quantile);
+        final long count = count();
+        if (count == 0) return 0;
+        final long rank = Math.max(1, (long) Math.ceil(quantile * count));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += buckets.get(i);
+            if (seen >= rank) return Math.min(highestValueOf(i), max());
+        }
+        return max();
+    }
+
+    /*
+     * @ public normal_behavior
+     *
+     * @ ensures \result != null;
+     *
+     * @
+     */
+    public Summary summary() {
+        return new Summary(count(), percentile(0.5), percentile(0.99), max());
+    }
+
+    private static int indexOf(long value) {
+        if (value < SUB_BUCKETS) return (int) value;
+        final int exponent = Long.SIZE - 1 - Long.numberOfLeadingZeros(value);
+        final int shift = exponent - SUB_BITS;
+        return (shift + 1) * SUB_BUCKETS + (int) ((value >>> shift) - SUB_BUCKETS);
+    }
+
+    private static long highestValueOf(int index) {
+        if (index < SUB_BUCKETS) return index;
+        final int shift = index / SUB_BUCKETS - 1;
+        final long subBucket = SUB_BUCKETS + index % SUB_BUCKETS;
+        final long next = (subBucket + 1) << shift;
+        return next <= 0 ? Long.MAX_VALUE : next - 1;
+    }
+}
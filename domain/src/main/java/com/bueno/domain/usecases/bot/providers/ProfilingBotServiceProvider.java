@@ -0,0 +1,106 @@
+package com.bueno.domain.usecases.bot.providers;
+
+import com.bueno.domain.usecases.bot.providers.BotProfile.Method;
+import com.bueno.spi.model.CardToPlay;
+import com.bueno.spi.model.GameIntel;
+import com.bueno.spi.service.BotServiceProvider;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.Objects;
+import java.util.function.Supplier;
+
+// Records the wall time, CPU time and allocated bytes of each decision of a bot in its BotProfile. CPU
+// time and allocation are read from the ThreadMXBean of the thread running the decision, so this must be
+// the innermost wrapper: a watchdog thread of an isolated budget is then the one measured, and the hits
+// of a decision cache, which cost the bot nothing, are not.
+public class ProfilingBotServiceProvider implements BotServiceProvider {
+
+    private static final ThreadMXBean THREADS = ManagementFactory.getThreadMXBean();
+    private static final boolean MEASURES_CPU = THREADS.isCurrentThreadCpuTimeSupported() && THREADS.isThreadCpuTimeEnabled();
+    private static final com.sun.management.ThreadMXBean ALLOCATIONS = allocationsBean();
+
+    /* @ spec_public @ */
+    private final BotServiceProvider bot;
+    /* @ spec_public @ */
+    private final BotProfile profile;
+
+    /*
+     * @ public invariant bot != null && profile != null;
+     *
+     * @
+     */
+
+    /*
+     * @ public normal_behavior
+     *
+     * @ requires bot != null && profile != null;
+     *
+     * @ ensures this.bot == bot && this.profile == profile;
+     *
+     * @
+     */
+    public ProfilingBotServiceProvider(BotServiceProvider bot, BotProfile profile) {
+        this.bot = Objects.requireNonNull(bot);
+        this.profile = Objects.requireNonNull(profile);
+    }
+
+    @Override
+    public boolean getMaoDeOnzeResponse(GameIntel intel) {
+        return profiled(Method.GET_MAO_DE_ONZE_RESPONSE, () -> bot.getMaoDeOnzeResponse(intel));
+    }
+
+    @Override
+    public boolean decideIfRaises(GameIntel intel) {
+        return profiled(Method.DECIDE_IF_RAISES, () -> bot.decideIfRaises(intel));
+    }
+
+    @Override
+    public CardToPlay chooseCard(GameIntel intel) {
+        return profiled(Method.CHOOSE_CARD, () -> bot.chooseCard(intel));
+    }
+
+    @Override
+    public int getRaiseResponse(GameIntel intel) {
+        return profiled(Method.GET_RAISE_RESPONSE, () -> bot.getRaiseResponse(intel));
+    }
+
+    @Override
+    public String getName() {
+        return bot.getName();
+    }
+
+    @Override
+    public boolean isDeterministic() {
+        return bot.isDeterministic();
+    }
+
+    // Decisions that throw are recorded too: a bot that fails slowly is still slow.
+    private <T> T profiled(Method method, Supplier<T> decision) {
+        final long cpuStart = cpuTime();
+        final long allocatedStart = allocatedBytes();
+        final long wallStart = System.nanoTime();
+        try {
+            return decision.get();
+        } finally {
+            final long wallNanos = System.nanoTime() - wallStart;
+            final long cpuNanos = cpuStart < 0 ? -1 : cpuTime() - cpuStart;
+            final long allocated = allocatedStart < 0 ? -1 : allocatedBytes() - allocatedStart;
+            profile.record(method, wallNanos, cpuNanos, allocated);
+        }
+    }
+
+    private static long cpuTime() {
+        return MEASURES_CPU ? THREADS.getCurrentThreadCpuTime() : -1;
+    }
+
+    private static long allocatedBytes() {
+        return ALLOCATIONS == null ? -1 : ALLOCATIONS.getCurrentThreadAllocatedBytes();
+    }
+
+    private static com.sun.management.ThreadMXBean allocationsBean() {
+        if (!(THREADS instanceof com.sun.management.ThreadMXBean bean)) return null;
+        if (!bean.isThreadAllocatedMemorySupported() || !bean.isThreadAllocatedMemoryEnabled()) return null;
+        return bean;
+    }
+}
@@ -4,6 +4,10 @@ import com.bueno.domain.usecases.bot.dtos.RemoteBotDto;
 import com.bueno.spi.model.CardToPlay;
 import com.bueno.spi.model.GameIntel;
 
+import java.util.concurrent.CompletableFuture;
+
+// The asynchronous fetch methods fall back to the blocking ones; implementations that can wait for the
+// network without holding a thread override them and report it through supportsAsync.
 public interface RemoteBotApi {
 
     boolean fetchMaoDeOnzeResponse(GameIntel intel, RemoteBotDto botData);
@@ -15,4 +19,24 @@ public interface RemoteBotApi {
     int fetchRaiseResponse(GameIntel intel, RemoteBotDto botData);
 
     boolean isHealthy(RemoteBotDto botData);
+
+    default boolean supportsAsync() {
+        return false;
+    }
+
+    default CompletableFuture<Boolean> fetchMaoDeOnzeResponseAsync(GameIntel intel, RemoteBotDto botData) {
+        return CompletableFuture.completedFuture(fetchMaoDeOnzeResponse(intel, botData));
+    }
+
+    default CompletableFuture<Boolean> fetchRaiseRequestDecisionAsync(GameIntel intel, RemoteBotDto botData) {
+        return CompletableFuture.completedFuture(fetchRaiseRequestDecision(intel, botData));
+    }
+
+    default CompletableFuture<CardToPlay> fetchCardToPlayAsync(GameIntel intel, RemoteBotDto botData) {
+        return CompletableFuture.completedFuture(fetchCardToPlay(intel, botData));
+    }
+
+    default CompletableFuture<Integer> fetchRaiseResponseAsync(GameIntel intel, RemoteBotDto botData) {
+        return CompletableFuture.completedFuture(fetchRaiseResponse(intel, botData));
+    }
 }
@@ -0,0 +1,231 @@
+package com.bueno.domain.usecases.bot.providers;
+
+import com.bueno.domain.usecases.utils.exceptions.RemoteBotForfeit;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+// Protects the simulations from one remote bot. At most maxConcurrentCalls decisions are in flight, the
+// others wait in a queue without holding a thread; every call has a deadline; and after failureThreshold
+// consecutive failures the circuit opens, failing every call at once for openDuration. Then a single
+// trial call is let through: its success closes the circuit again and its failure keeps it open.
+// A finished call hands its slot to the next waiting call, which is started on the executor rather than
+// on the thread that finished the call, usually an I/O or timer thread; while the circuit is open, the
+// waiting calls are failed in a loop, so a long queue neither deepens the stack nor runs any bot call there.
+public class RemoteBotGuard {
+
+    public enum State {
+        CLOSED,
+        OPEN,
+        HALF_OPEN
+    }
+
+    public record Settings(int maxConcurrentCalls, Duration callTimeout, int failureThreshold, Duration openDuration) {
+
+        public static final Settings DEFAULT = new Settings(16, Duration.ofSeconds(3), 5, Duration.ofSeconds(30));
+
+        public Settings {
+            Objects.requireNonNull(callTimeout);
+            Objects.requireNonNull(openDuration);
+            if (maxConcurrentCalls <= 0)
+                throw new IllegalArgumentException("Concurrent calls must be positive: " + maxConcurrentCalls);
+            if (failureThreshold <= 0)
+                throw new IllegalArgumentException("Failure threshold must be positive: " + failureThreshold);
+        }
+    }
+
+    /* @ spec_public @ */
+    private final String botName;
+    /* @ spec_public @ */
+    private final Settings settings;
+    /* @ spec_public @ */
+    private final Executor executor;
+    private final Deque<WaitingCall<?>> waitingCalls = new ArrayDeque<>();
+    private State state = State.CLOSED;
+    private int activeCalls;
+    private int consecutiveFailures;
+    private long openedAt;
+    private boolean trialInFlight;
+
+    /*
+     * @ public invariant botName != null && settings != null && executor != null;
+     *
+     * @
+     */
+
+    /*
+     * @ public normal_behavior
+     *
+     * @ requires botName != null && settings != null;
+     *
+     * @ ensures state() == State.CLOSED;
+     *
+     * @
+     */
+    public RemoteBotGuard(String botName, Settings settings) {
+        this(botName, settings, ForkJoinPool.commonPool());
+    }
+
+    /*
+     * @ public normal_behavior
+     *
+     * @ requires botName != null && settings != null && executor != null;
+     *
+     * @ ensures state() == State.CLOSED;
+     *
+     * @ ensures this.executor == executor;
+     *
+     * @
+     */
+    public RemoteBotGuard(String botName, Settings settings, Executor executor) {
+        this.botName = Objects.requireNonNull(botName);
+        this.settings = Objects.requireNonNull(settings);
+        this.executor = Objects.requireNonNull(executor);
+    }
+
+    // A call that fails, times out or answers null completes with a RemoteBotForfeit. onCircuitOpened runs
+    // when the failure of this call is the one that opens the circuit.
+    /*
+     * @ public normal_behavior
+     *
+     * @ requires call != null && onCircuitOpened != null;
+     *
+     * @ ensures \result != null;
+     *
+     * @
+     */
+    public <T> CompletableFuture<T> call(Supplier<CompletableFuture<T>> call, Runnable onCircuitOpened) {
+        final WaitingCall<T> waitingCall = new WaitingCall<>(call, new CompletableFuture<>(), onCircuitOpened);
+        synchronized (this) {
+            if (activeCalls >= settings.maxConcurrentCalls()) {
+                waitingCalls.addLast(waitingCall);
+                return waitingCall.result();
+            }
+            activeCalls++;
+        }
+        start(waitingCall);
+        return waitingCall.result();
+    }
+
+    public synchronized State state() {
+        if (state == State.OPEN && System.nanoTime() - openedAt >= settings.openDuration().toNanos())
+            return State.HALF_OPEN;
+        return state;
+    }
+
+    public String botName() {
+        return botName;
+    }
+
+    private <T> void start(WaitingCall<T> waitingCall) {
+        if (!admit()) {
+            release();
+            reject(waitingCall);
+            return;
+        }
+        run(waitingCall);
+    }
+
+    // Runs a call already admitted and holding a slot.
+    private <T> void run(WaitingCall<T> waitingCall) {
+        final CompletableFuture<T> result = waitingCall.result();
+        CompletableFuture<T> attempt;
+        try {
+            attempt = waitingCall.call().get();
+        } catch (RuntimeException e) {
+            attempt = CompletableFuture.failedFuture(e);
+        }
+        // The outcome is recorded before the slot is released, so the waiting calls see the circuit it leaves.
+        attempt.orTimeout(settings.callTimeout().toMillis(), TimeUnit.MILLISECONDS).whenComplete((answer, error) -> {
+            if (error == null && answer != null) {
+                onSuccess();
+                release();
+                result.complete(answer);
+            } else {
+                final boolean openedCircuit = onFailure();
+                release();
+                if (openedCircuit) waitingCall.onCircuitOpened().run();
+                result.completeExceptionally(forfeit(error));
+            }
+        });
+    }
+
+    private void reject(WaitingCall<?> waitingCall) {
+        waitingCall.result().completeExceptionally(
+                new RemoteBotForfeit(botName, "Circuit of remote bot " + botName + " is open"));
+    }
+
+    private synchronized boolean admit() {
+        final State current = state();
+        if (current == State.CLOSED) return true;
+        if (current == State.OPEN || trialInFlight) return false;
+        state = State.HALF_OPEN;
+        trialInFlight = true;
+        return true;
+    }
+
+    // Hands the slot of a finished call to the first waiting call the circuit admits; the calls it rejects on
+    // the way are failed outside the lock, and the slot is freed if none is admitted.
+    private void release() {
+        final List<WaitingCall<?>> rejectedCalls = new ArrayList<>();
+        WaitingCall<?> admittedCall = null;
+        synchronized (this) {
+            WaitingCall<?> next;
+            while (admittedCall == null && (next = waitingCalls.pollFirst()) != null) {
+                if (admit()) admittedCall = next;
+                else rejectedCalls.add(next);
+            }
+            if (admittedCall == null) activeCalls--;
+        }
+        rejectedCalls.forEach(this::reject);
+        if (admittedCall != null) {
+            final WaitingCall<?> call = admittedCall;
+            executor.execute(() -> run(call));
+        }
+    }
+
+    private synchronized void onSuccess() {
+        consecutiveFailures = 0;
+        trialInFlight = false;
+        state = State.CLOSED;
+    }
+
+    // Returns whether this failure opened the circuit.
+    private synchronized boolean onFailure() {
+        consecutiveFailures++;
+        final boolean wasOpen = state == State.OPEN;
+        if (state == State.HALF_OPEN || consecutiveFailures >= settings.failureThreshold()) {
+            state = State.OPEN;
+            openedAt = System.nanoTime();
+        }
+        trialInFlight = false;
+        return !wasOpen && state == State.OPEN;
+    }
+
+    private record WaitingCall<T>(Supplier<CompletableFuture<T>> call, CompletableFuture<T> result,
+            Runnable onCircuitOpened) {
+    }
+
+    private RemoteBotForfeit forfeit(Throwable error) {
+        final Throwable cause = error instanceof CompletionException && error.getCause() != null
+                ? error.getCause() : error;
+        if (cause instanceof RemoteBotForfeit forfeit) return forfeit;
+        final String reason = cause == null ? "gave no decision"
+                : cause instanceof TimeoutException ? "timed out after " + settings.callTimeout().toMillis() + " ms"
+                : "failed: " + cause.getMessage();
+        final RemoteBotForfeit forfeit = new RemoteBotForfeit(botName, "Remote bot " + botName + " " + reason);
+        if (cause != null) forfeit.initCause(cause);
+        return forfeit;
+    }
+}
@@ -0,0 +1,23 @@
+package com.bueno.domain.usecases.bot.providers;
+
+import java.util.List;
+
+// Health of one remote bot as seen by the last probes of the RemoteBotHealthMonitor. The recent probes
+// are ordered from the oldest to the newest; a probe that timed out counts as a failure.
+public record RemoteBotHealth(String name,
+                              boolean healthy,
+                              long lastLatencyMillis,
+                              double averageLatencyMillis,
+                              int probes,
+                              int failures,
+                              int consecutiveFailures,
+                              List<Boolean> recentProbes) {
+
+    public RemoteBotHealth {
+        recentProbes = List.copyOf(recentProbes);
+    }
+
+    public double availability() {
+        return probes == 0 ? 0.0 : (double) (probes - failures) / probes;
+    }
+}
@@ -0,0 +1,269 @@
+package com.bueno.domain.usecases.bot.providers;
+
+import com.bueno.domain.usecases.bot.dtos.RemoteBotDto;
+import com.bueno.domain.usecases.bot.repository.RemoteBotRepository;
+import com.bueno.spi.service.BotServiceProvider;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+// Keeps an immutable snapshot of the healthy remote bots. All the bots are probed concurrently, each
+// probe bounded by a timeout, and the new snapshot replaces the old one atomically. Only the very first
+// snapshot is taken on the caller's thread; after that, an expired snapshot is still served while a
+// refresh runs in the background, so simulation threads never wait for a health check.
+public class RemoteBotHealthMonitor {
+
+    public static final Duration DEFAULT_PERIOD = Duration.ofMinutes(2);
+    public static final Duration DEFAULT_PROBE_TIMEOUT = Duration.ofSeconds(3);
+    private static final int HISTORY_SIZE = 10;
+    private static final int MAX_CONCURRENT_PROBES = 32;
+    private static final int PROBE_THREAD_KEEP_ALIVE_SECONDS = 30;
+    private static final ExecutorService SHARED_PROBES = probePool();
+    private static final Logger LOGGER = Logger.getLogger(RemoteBotHealthMonitor.class.getName());
+
+    /* @ spec_public @ */
+    private final RemoteBotRepository repository;
+    /* @ spec_public @ */
+    private final RemoteBotApi api;
+    /* @ spec_public @ */
+    private final Duration period;
+    /* @ spec_public @ */
+    private final Duration probeTimeout;
+    /* @ spec_public @ */
+    private final Executor probeExecutor;
+    /* @ spec_public @ */
+    private final AtomicReference<Snapshot> snapshot = new AtomicReference<>();
+    private final AtomicBoolean refreshing = new AtomicBoolean();
+    private final Map<String, HealthHistory> histories = new ConcurrentHashMap<>();
+
+    /*
+     * @ public invariant repository != null;
+     *
+     * @ public invariant api != null;
+     *
+     * @ public invariant probeExecutor != null;
+     *
+     * @
+     */
+
+    /*
+     * @ public normal_behavior
+     *
+     * @ requires repository != null;
+     *
+     * @ requires api != null;
+     *
+     * @ ensures this.period.equals(DEFAULT_PERIOD);
+     *
+     * @ ensures this.probeTimeout.equals(DEFAULT_PROBE_TIMEOUT);
+     *
+     * @
+     */
+    public RemoteBotHealthMonitor(RemoteBotRepository repository, RemoteBotApi api) {
+        this(repository, api, DEFAULT_PERIOD, DEFAULT_PROBE_TIMEOUT, SHARED_PROBES);
+    }
+
+    /*
+     * @ public normal_behavior
+     *
+     * @ requires repository != null;
+     *
+     * @ requires api != null;
+     *
+     * @ requires period != null && !period.isNegative();
+     *
+     * @ requires probeTimeout != null && !probeTimeout.isNegative();
+     *
+     * @ requires probeExecutor != null;
+     *
+     * @
+     */
+    public RemoteBotHealthMonitor(RemoteBotRepository repository, RemoteBotApi api, Duration period,
+                                  Duration probeTimeout, Executor probeExecutor) {
+        this.repository = repository;
+        this.api = api;
+        this.period = Objects.requireNonNull(period);
+        this.probeTimeout = Objects.requireNonNull(probeTimeout);
+        this.probeExecutor = Objects.requireNonNull(probeExecutor);
+    }
+
+    /*
+     * @ public normal_behavior
+     *
+     * @ ensures \result != null;
+     *
+     * @
+     */
+    public Snapshot snapshot() {
+        final Snapshot current = snapshot.get();
+        if (current == null) return refresh();
+        if (current.isOlderThan(period)) refreshInBackground();
+        return current;
+    }
+
+    // Probes all the bots now and waits for the new snapshot.
+    /*
+     * @ public normal_behavior
+     *
+     * @ ensures \result != null && \result == snapshot();
+     *
+     * @
+     */
+    public Snapshot refresh() {
+        return refreshAsync().join();
+    }
+
+    /*
+     * @ public normal_behavior
+     *
+     * @ ensures \result != null;
+     *
+     * @
+     */
+    public CompletableFuture<Snapshot> refreshAsync() {
+        final long startedAt = System.nanoTime();
+        return CompletableFuture.supplyAsync(repository::findAll, probeExecutor)
+                .thenCompose(bots -> {
+                    final List<CompletableFuture<Probe>> probes = bots.stream().map(this::probe).toList();
+                    return CompletableFuture.allOf(probes.toArray(CompletableFuture[]::new))
+                            .thenApply(ignored -> probes.stream().map(CompletableFuture::join).toList());
+                })
+                .thenApply(probes -> publish(probes, startedAt));
+    }
+
+    // Takes a bot out of the current snapshot at once, e.g. when its circuit opens, instead of waiting for
+    // the next probe. The snapshot keeps its age, so the next refresh decides whether the bot is back.
+    /*
+     * @ public normal_behavior
+     *
+     * @ requires botName != null;
+     *
+     * @ ensures !snapshot().bots().containsKey(botName);
+     *
+     * @
+     */
+    public void markUnhealthy(String botName) {
+        final Snapshot current = snapshot.get();
+        if (current == null || !current.bots().containsKey(botName)) return;
+        final RemoteBotHealth health = histories.computeIfAbsent(botName, HealthHistory::new).record(false, 0);
+        snapshot.updateAndGet(latest -> latest.without(botName, health));
+    }
+
+    // Probes never fail, so only listing the bots can: the previous snapshot is then kept until the next
+    // refresh, as no probe says anything new about the health of the bots.
+    private void refreshInBackground() {
+        if (!refreshing.compareAndSet(false, true)) return;
+        refreshAsync().whenComplete((ignored, error) -> {
+            if (error != null) LOGGER.log(Level.WARNING, "Could not refresh the remote bot health", error);
+            refreshing.set(false);
+        });
+    }
+
+    // The timeout starts when a probe thread takes the probe, not when the probe is queued: with more bots
+    // than probe threads, the last ones would otherwise time out while still waiting for a thread.
+    private CompletableFuture<Probe> probe(RemoteBotDto bot) {
+        final CompletableFuture<Probe> probe = new CompletableFuture<>();
+        probeExecutor.execute(() -> {
+            final long start = System.nanoTime();
+            probe.completeOnTimeout(new Probe(bot, false, probeTimeout.toNanos()), probeTimeout.toMillis(),
+                    TimeUnit.MILLISECONDS);
+            boolean healthy;
+            try {
+                healthy = api.isHealthy(bot);
+            } catch (RuntimeException e) {
+                healthy = false;
+            }
+            probe.complete(new Probe(bot, healthy, System.nanoTime() - start));
+        });
+        return probe;
+    }
+
+    // A bot registered twice with the same name is only published once, and the histories of bots that
+    // left the repository are dropped. A slow refresh never overwrites a snapshot started after it.
+    private Snapshot publish(List<Probe> probes, long startedAt) {
+        final Map<String, BotServiceProvider> healthyBots = new LinkedHashMap<>();
+        final Map<String, RemoteBotHealth> health = new LinkedHashMap<>();
+        for (Probe probe : probes) {
+            final String name = probe.bot().name();
+            if (health.containsKey(name)) continue;
+            final HealthHistory history = histories.computeIfAbsent(name, HealthHistory::new);
+            health.put(name, history.record(probe.healthy(), probe.latencyNanos()));
+            if (probe.healthy()) healthyBots.put(name, new RemoteBotServiceProvider(api, probe.bot()));
+        }
+        histories.keySet().retainAll(health.keySet());
+
+        final Snapshot published = new Snapshot(Collections.unmodifiableMap(healthyBots),
+                Collections.unmodifiableMap(health), startedAt);
+        return snapshot.accumulateAndGet(published,
+                (current, next) -> current == null || next.takenAt() - current.takenAt() >= 0 ? next : current);
+    }
+
+    private static ExecutorService probePool() {
+        final AtomicInteger counter = new AtomicInteger();
+        final ThreadPoolExecutor pool = new ThreadPoolExecutor(MAX_CONCURRENT_PROBES, MAX_CONCURRENT_PROBES,
+                PROBE_THREAD_KEEP_ALIVE_SECONDS, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), runnable -> {
+            final Thread thread = new Thread(runnable, "remote-bot-health-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        pool.allowCoreThreadTimeOut(true);
+        return pool;
+    }
+
+    // Healthy bots by name plus the health of every registered bot, both in repository order. takenAt
+    // is the System.nanoTime() at which the refresh that produced the snapshot started.
+    public record Snapshot(Map<String, BotServiceProvider> bots, Map<String, RemoteBotHealth> health, long takenAt) {
+
+        public boolean isOlderThan(Duration age) {
+            return System.nanoTime() - takenAt >= age.toNanos();
+        }
+
+        private Snapshot without(String botName, RemoteBotHealth unhealthy) {
+            final Map<String, BotServiceProvider> healthyBots = new LinkedHashMap<>(bots);
+            healthyBots.remove(botName);
+            final Map<String, RemoteBotHealth> updatedHealth = new LinkedHashMap<>(health);
+            updatedHealth.put(botName, unhealthy);
+            return new Snapshot(Collections.unmodifiableMap(healthyBots), Collections.unmodifiableMap(updatedHealth),
+                    takenAt);
+        }
+    }
+
+    private record Probe(RemoteBotDto bot, boolean healthy, long latencyNanos) {
+    }
+
+    private static final class HealthHistory {
+        private final String name;
+        private final Deque<Boolean> recentProbes = new ArrayDeque<>(HISTORY_SIZE);
+        private long lastLatencyNanos;
+        private long totalLatencyNanos;
+        private int probes;
+        private int failures;
+        private int consecutiveFailures;
+
+        private HealthHistory(String name) {
+            this.name = name;
+        }
+
+        private synchronized RemoteBotHealth record(boolean healthy, long latencyNanos) {
+            if (recentProbes.size() == HISTORY_SIZE) recentProbes.removeFirst();
+            recentProbes.addLast(healthy);
+            lastLatencyNanos = latencyNanos;
+            totalLatencyNanos += latencyNanos;
+            probes++;
+            if (healthy) consecutiveFailures = 0;
+            else {
+                failures++;
+                consecutiveFailures++;
+            }
+            return new RemoteBotHealth(name, healthy, TimeUnit.NANOSECONDS.toMillis(lastLatencyNanos),
+                    totalLatencyNanos / 1e6 / probes, probes, failures, consecutiveFailures,
+                    new ArrayList<>(recentProbes));
+        }
+    }
+}
@@ -5,6 +5,8 @@ import com.bueno.spi.model.CardToPlay;
 import com.bueno.spi.model.GameIntel;
 import com.bueno.spi.service.BotServiceProvider;
 
+import java.util.concurrent.CompletableFuture;
+
 public class RemoteBotServiceProvider implements BotServiceProvider {
 
     private final RemoteBotApi api;
@@ -40,4 +42,24 @@ public class RemoteBotServiceProvider implements BotServiceProvider {
         return botData.name();
     }
 
+    public boolean supportsAsync() {
+        return api.supportsAsync();
+    }
+
+    public CompletableFuture<Boolean> getMaoDeOnzeResponseAsync(GameIntel intel) {
+        return api.fetchMaoDeOnzeResponseAsync(intel, botData);
+    }
+
+    public CompletableFuture<Boolean> decideIfRaisesAsync(GameIntel intel) {
+        return api.fetchRaiseRequestDecisionAsync(intel, botData);
+    }
+
+    public CompletableFuture<CardToPlay> chooseCardAsync(GameIntel intel) {
+        return api.fetchCardToPlayAsync(intel, botData);
+    }
+
+    public CompletableFuture<Integer> getRaiseResponseAsync(GameIntel intel) {
+        return api.fetchRaiseResponseAsync(intel, botData);
+    }
+
 }
@@ -0,0 +1,179 @@
+package com.bueno.domain.usecases.bot.providers;
+
+import com.bueno.domain.usecases.bot.dtos.RemoteBotDto;
+import com.bueno.domain.usecases.utils.exceptions.RemoteBotForfeit;
+import com.bueno.spi.model.CardToPlay;
+import com.bueno.spi.model.GameIntel;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+// Decorates a RemoteBotApi with one RemoteBotGuard per bot. The guards are shared by default, so every
+// simulation running in the process sees the same concurrency cap and circuit of a bot. Blocking calls
+// of an API without async support run on a separate pool, so the deadline still holds when the
+// delegate hangs. Decisions that fail throw, or complete with, a RemoteBotForfeit instead of null.
+public class ResilientRemoteBotApi implements RemoteBotApi {
+
+    private static final Map<String, RemoteBotGuard> SHARED_GUARDS = new ConcurrentHashMap<>();
+    private static final ExecutorService BLOCKING_CALLS = blockingCallsPool();
+
+    /* @ spec_public @ */
+    private final RemoteBotApi delegate;
+    /* @ spec_public @ */
+    private final RemoteBotGuard.Settings settings;
+    /* @ spec_public @ */
+    private final Map<String, RemoteBotGuard> guards;
+    private volatile Consumer<String> circuitOpenedListener = botName -> {
+    };
+
+    /*
+     * @ public invariant delegate != null && settings != null && guards != null;
+     *
+     * @
+     */
+
+    /*
+     * @ public normal_behavior
+     *
+     * @ requires delegate != null;
+     *
+     * @ ensures this.delegate == delegate;
+     *
+     * @ ensures this.settings == RemoteBotGuard.Settings.DEFAULT;
+     *
+     * @
+     */
+    public ResilientRemoteBotApi(RemoteBotApi delegate) {
+        this(delegate, RemoteBotGuard.Settings.DEFAULT, SHARED_GUARDS);
+    }
+
+    /*
+     * @ public normal_behavior
+     *
+     * @ requires delegate != null && settings != null && guards != null;
+     *
+     * @ ensures this.delegate == delegate;
+     *
+     * @ ensures this.settings == settings;
+     *
+     * @ ensures this.guards == guards;
+     *
+     * @
+     */
+    public ResilientRemoteBotApi(RemoteBotApi delegate, RemoteBotGuard.Settings settings,
+                                 Map<String, RemoteBotGuard> guards) {
+        this.delegate = Objects.requireNonNull(delegate);
+        this.settings = Objects.requireNonNull(settings);
+        this.guards = Objects.requireNonNull(guards);
+    }
+
+    // Called with the bot name each time one of the calls made through this API opens the bot circuit.
+    /*
+     * @ public normal_behavior
+     *
+     * @ requires listener != null;
+     *
+     * @
+     */
+    public void onCircuitOpened(Consumer<String> listener) {
+        this.circuitOpenedListener = Objects.requireNonNull(listener);
+    }
+
+    /*
+     * @ public normal_behavior
+     *
+     * @ requires botName != null;
+     *
+     * @ ensures \result != null;
+     *
+     * @
+     */
+    public RemoteBotGuard guardOf(String botName) {
+        return guards.computeIfAbsent(botName, name -> new RemoteBotGuard(name, settings));
+    }
+
+    @Override
+    public boolean fetchMaoDeOnzeResponse(GameIntel intel, RemoteBotDto botData) {
+        return await(fetchMaoDeOnzeResponseAsync(intel, botData));
+    }
+
+    @Override
+    public boolean fetchRaiseRequestDecision(GameIntel intel, RemoteBotDto botData) {
+        return await(fetchRaiseRequestDecisionAsync(intel, botData));
+    }
+
+    @Override
+    public CardToPlay fetchCardToPlay(GameIntel intel, RemoteBotDto botData) {
+        return await(fetchCardToPlayAsync(intel, botData));
+    }
+
+    @Override
+    public int fetchRaiseResponse(GameIntel intel, RemoteBotDto botData) {
+        return await(fetchRaiseResponseAsync(intel, botData));
+    }
+
+    @Override
+    public boolean isHealthy(RemoteBotDto botData) {
+        return delegate.isHealthy(botData);
+    }
+
+    @Override
+    public boolean supportsAsync() {
+        return delegate.supportsAsync();
+    }
+
+    @Override
+    public CompletableFuture<Boolean> fetchMaoDeOnzeResponseAsync(GameIntel intel, RemoteBotDto botData) {
+        return guarded(botData, () -> delegate.fetchMaoDeOnzeResponseAsync(intel, botData),
+                () -> delegate.fetchMaoDeOnzeResponse(intel, botData));
+    }
+
+    @Override
+    public CompletableFuture<Boolean> fetchRaiseRequestDecisionAsync(GameIntel intel, RemoteBotDto botData) {
+        return guarded(botData, () -> delegate.fetchRaiseRequestDecisionAsync(intel, botData),
+                () -> delegate.fetchRaiseRequestDecision(intel, botData));
+    }
+
+    @Override
+    public CompletableFuture<CardToPlay> fetchCardToPlayAsync(GameIntel intel, RemoteBotDto botData) {
+        return guarded(botData, () -> delegate.fetchCardToPlayAsync(intel, botData),
+                () -> delegate.fetchCardToPlay(intel, botData));
+    }
+
+    @Override
+    public CompletableFuture<Integer> fetchRaiseResponseAsync(GameIntel intel, RemoteBotDto botData) {
+        return guarded(botData, () -> delegate.fetchRaiseResponseAsync(intel, botData),
+                () -> delegate.fetchRaiseResponse(intel, botData));
+    }
+
+    private <T> CompletableFuture<T> guarded(RemoteBotDto botData, Supplier<CompletableFuture<T>> asyncCall,
+                                             Supplier<T> blockingCall) {
+        final Supplier<CompletableFuture<T>> call = delegate.supportsAsync()
+                ? asyncCall
+                : () -> CompletableFuture.supplyAsync(blockingCall, BLOCKING_CALLS);
+        final String botName = botData.name();
+        return guardOf(botName).call(call, () -> circuitOpenedListener.accept(botName));
+    }
+
+    private static <T> T await(CompletableFuture<T> decision) {
+        try {
+            return decision.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RemoteBotForfeit forfeit) throw forfeit;
+            throw e;
+        }
+    }
+
+    private static ExecutorService blockingCallsPool() {
+        final AtomicInteger counter = new AtomicInteger();
+        return Executors.newCachedThreadPool(runnable -> {
+            final Thread thread = new Thread(runnable, "remote-bot-call-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+}
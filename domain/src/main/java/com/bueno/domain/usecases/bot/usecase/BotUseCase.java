@@ -30,19 +30,31 @@ import com.bueno.domain.usecases.bot.handlers.RaiseRequestHandler;
 import com.bueno.domain.usecases.bot.providers.BotManagerService;
 import com.bueno.domain.usecases.bot.providers.RemoteBotApi;
 import com.bueno.domain.usecases.bot.repository.RemoteBotRepository;
+import com.bueno.domain.usecases.game.converter.GameConverter;
 import com.bueno.domain.usecases.game.repos.GameRepository;
 import com.bueno.domain.usecases.game.repos.GameResultRepository;
+import com.bueno.domain.usecases.game.service.GameReferee;
 import com.bueno.domain.usecases.hand.HandResultRepository;
 import com.bueno.domain.usecases.hand.PlayCardUseCase;
 import com.bueno.domain.usecases.hand.PointsProposalUseCase;
+import com.bueno.domain.usecases.hand.converter.HandResultConverter;
 import com.bueno.domain.usecases.intel.dtos.IntelDto;
 import com.bueno.spi.service.BotServiceProvider;
 
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
+import java.util.UUID;
 
 import static com.bueno.domain.usecases.intel.converters.IntelConverter.fromDto;
 
 public class BotUseCase {
+
+    private static final int MAX_TRACKED_GAME_BOTS = 1024;
+
     /* @ spec_public @ */
     private final GameRepository gameRepo;
     /* @ spec_public @ */
@@ -65,10 +77,17 @@ public class BotUseCase {
      * 
      * @
      */
-    private MaoDeOnzeHandler maoDeOnzeHandler;
-    private RaiseHandler raiseHandler;
-    private CardPlayingHandler cardHandler;
-    private RaiseRequestHandler requestHandler;
+    private final Handlers injectedHandlers;
+    // The bot loaded for each game and bot name, so its game budget covers every turn it plays in the game
+    // although the turns come from separate requests. A finished game forgets its bots, and the least
+    // recently played games are forgotten once too many are tracked.
+    private final Map<GameBot, BotServiceProvider> gameBots = Collections.synchronizedMap(
+            new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<GameBot, BotServiceProvider> eldest) {
+                    return size() > MAX_TRACKED_GAME_BOTS;
+                }
+            });
     private BotServiceProvider bot1;
     private BotServiceProvider bot2;
 
@@ -137,10 +156,8 @@ public class BotUseCase {
         this.remoteBotApi = remoteBotApi;
         this.handResultRepo = handResultRepo;
         this.botManagerService = botManagerService;
-        this.maoDeOnzeHandler = maoDeOnze;
-        this.raiseHandler = raise;
-        this.cardHandler = card;
-        this.requestHandler = request;
+        final boolean hasInjectedHandlers = maoDeOnze != null && raise != null && card != null && request != null;
+        this.injectedHandlers = hasInjectedHandlers ? new Handlers(maoDeOnze, raise, card, request) : null;
     }
 
     /*
@@ -159,38 +176,83 @@ public class BotUseCase {
      * @
      */
     public Intel playWhenNecessary(Game game, BotManagerService botManagerService) {
-        final Player currentPlayer = game.currentHand().getCurrentPlayer();
-        final Intel intel = game.getIntel();
+        if (isBotVsBot() && isBotTurn(game.currentHand().getCurrentPlayer(), game.getIntel()))
+            return playInMemory(game);
 
-        if (!isBotTurn(currentPlayer, intel))
-            return intel;
+        // The use case is shared by concurrent requests, so the handlers live as long as this call.
+        final UUID gameUuid = game.getUuid();
+        final Map<String, Handlers> handlersOfBots = new HashMap<>();
+        Game currentGame = game;
+        Intel intel = game.getIntel();
 
-        if (isBotVsBot()) {
-            if (shouldBot1Play(currentPlayer)) {
-                initializeNullHandlers(bot1);
-            } else
-                initializeNullHandlers(bot2);
-        } else
-            initializeNullHandlers(botManagerService.load(currentPlayer.getUsername()));
+        while (isBotTurn(currentGame.currentHand().getCurrentPlayer(), intel)) {
+            final Player currentPlayer = currentGame.currentHand().getCurrentPlayer();
+            final Handlers handlers = injectedHandlers != null ? injectedHandlers : handlersOfBots
+                    .computeIfAbsent(currentPlayer.getUsername(),
+                            name -> newHandlers(botOf(gameUuid, name, botManagerService)));
+            final IntelDto dto = playTurn(handlers, currentPlayer, intel);
+            if (dto == null)
+                return null;
 
-        if (maoDeOnzeHandler.shouldHandle(intel))
-            return fromDto(maoDeOnzeHandler.handle(intel, currentPlayer));
+            final Optional<Game> updatedGame = gameRepo.findByPlayerUuid(currentPlayer.getUuid())
+                    .map(GameConverter::fromDto);
+            if (updatedGame.isEmpty()) {
+                forgetBotsOf(gameUuid);
+                return fromDto(dto);
+            }
+            currentGame = updatedGame.get();
+            intel = currentGame.getIntel();
+        }
+        if (!handlersOfBots.isEmpty() && intel.isGameDone())
+            forgetBotsOf(gameUuid);
+        return intel;
+    }
+
+    private BotServiceProvider botOf(UUID gameUuid, String botName, BotManagerService botManagerService) {
+        return gameBots.computeIfAbsent(new GameBot(gameUuid, botName), key -> botManagerService.load(botName));
+    }
 
-        if (raiseHandler.shouldHandle(intel)) {
-            final IntelDto dto = raiseHandler.handle(intel, currentPlayer);
+    private void forgetBotsOf(UUID gameUuid) {
+        synchronized (gameBots) {
+            gameBots.keySet().removeIf(key -> Objects.equals(key.gameUuid(), gameUuid));
+        }
+    }
+
+    private IntelDto playTurn(Handlers handlers, Player currentPlayer, Intel intel) {
+        if (handlers.maoDeOnze().shouldHandle(intel))
+            return handlers.maoDeOnze().handle(intel, currentPlayer);
+
+        if (handlers.raise().shouldHandle(intel)) {
+            final IntelDto dto = handlers.raise().handle(intel, currentPlayer);
             if (dto != null)
-                return fromDto(dto);
+                return dto;
         }
 
-        if (cardHandler.shouldHandle(intel))
-            return fromDto(cardHandler.handle(intel, currentPlayer));
+        if (handlers.card().shouldHandle(intel))
+            return handlers.card().handle(intel, currentPlayer);
 
-        if (requestHandler.shouldHandle(intel))
-            return fromDto(requestHandler.handle(intel, currentPlayer));
+        if (handlers.request().shouldHandle(intel))
+            return handlers.request().handle(intel, currentPlayer);
 
         return null;
     }
 
+    private Intel playInMemory(Game game) {
+        final GameReferee referee = new GameReferee(this::botOf, this::saveHandResult);
+        referee.playWhileBotsTurn(game);
+        gameRepo.update(GameConverter.toDto(game));
+        return game.getIntel();
+    }
+
+    private BotServiceProvider botOf(Player player) {
+        return shouldBot1Play(player) ? bot1 : bot2;
+    }
+
+    private void saveHandResult(Game game) {
+        if (handResultRepo != null)
+            handResultRepo.save(HandResultConverter.of(game));
+    }
+
     private boolean shouldBot1Play(Player currentPlayer) {
         return bot1.getName().equals(currentPlayer.getUsername());
     }
@@ -206,26 +268,26 @@ public class BotUseCase {
         return handPlayer.getUuid().equals(currentPlayerUUID.get());
     }
 
-    private void initializeNullHandlers(BotServiceProvider botService) {
-        if (maoDeOnzeHandler == null)
-            maoDeOnzeHandler = new MaoDeOnzeHandler(
-                    new PointsProposalUseCase(gameRepo, remoteBotRepo, remoteBotApi, gameResultRepo, handResultRepo,
-                            botManagerService),
-                    botService);
-        if (raiseHandler == null)
-            raiseHandler = new RaiseHandler(
-                    new PointsProposalUseCase(gameRepo, remoteBotRepo, remoteBotApi, gameResultRepo, handResultRepo,
-                            botManagerService),
-                    botService);
-        if (cardHandler == null)
-            cardHandler = new CardPlayingHandler(
-                    new PlayCardUseCase(gameRepo, remoteBotRepo, remoteBotApi, gameResultRepo, handResultRepo,
-                            botManagerService),
-                    botService);
-        if (requestHandler == null)
-            requestHandler = new RaiseRequestHandler(
-                    new PointsProposalUseCase(gameRepo, remoteBotRepo, remoteBotApi, gameResultRepo, handResultRepo,
-                            botManagerService),
-                    botService);
+    private Handlers newHandlers(BotServiceProvider botService) {
+        return new Handlers(
+                new MaoDeOnzeHandler(newPointsProposalUseCase(), botService),
+                new RaiseHandler(newPointsProposalUseCase(), botService),
+                new CardPlayingHandler(
+                        new PlayCardUseCase(gameRepo, remoteBotRepo, remoteBotApi, gameResultRepo, handResultRepo,
+                                botManagerService, null),
+                        botService),
+                new RaiseRequestHandler(newPointsProposalUseCase(), botService));
+    }
+
+    private PointsProposalUseCase newPointsProposalUseCase() {
+        return new PointsProposalUseCase(gameRepo, remoteBotRepo, remoteBotApi, gameResultRepo, handResultRepo,
+                botManagerService, null);
+    }
+
+    private record GameBot(UUID gameUuid, String botName) {
+    }
+
+    private record Handlers(MaoDeOnzeHandler maoDeOnze, RaiseHandler raise, CardPlayingHandler card,
+            RaiseRequestHandler request) {
     }
 }
@@ -1,5 +1,9 @@
 package com.bueno.domain.usecases.game.dtos;
 
+import com.bueno.domain.usecases.game.service.StopReason;
+
+import java.util.Map;
+
 public record EvaluateResultsDto(
         String botName,
         long computingTime,
@@ -8,5 +12,10 @@ public record EvaluateResultsDto(
         double winRate,
         double percentile,
         long defeatedOpponents,
-        long numberOfOpponents) {
+        long numberOfOpponents,
+        long maxNumberOfGames,
+        double winRateLower,
+        double winRateUpper,
+        Map<String, StopReason> stopReasons,
+        long abandonedGames) {
 }
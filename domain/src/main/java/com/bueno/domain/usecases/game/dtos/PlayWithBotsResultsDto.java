@@ -2,5 +2,6 @@ package com.bueno.domain.usecases.game.dtos;
 
 import java.util.List;
 
-public record PlayWithBotsResultsDto(List<PlayWithBotsDto> info, long timeToExecute, int times) {
+public record PlayWithBotsResultsDto(List<PlayWithBotsDto> info, long timeToExecute, int times, long seed,
+        long abandonedGames) {
 }
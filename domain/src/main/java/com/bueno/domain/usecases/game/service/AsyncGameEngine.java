@@ -0,0 +1,218 @@
+package com.bueno.domain.usecases.game.service;
+
+import com.bueno.domain.entities.game.Game;
+import com.bueno.domain.entities.hand.Hand;
+import com.bueno.domain.entities.hand.HistoryPolicy;
+import com.bueno.domain.entities.player.Player;
+import com.bueno.domain.usecases.bot.providers.RemoteBotServiceProvider;
+import com.bueno.domain.usecases.game.service.GameReferee.Turn;
+import com.bueno.spi.model.CardToPlay;
+import com.bueno.spi.model.GameIntel;
+import com.bueno.spi.service.BotServiceProvider;
+
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.random.RandomGenerator;
+
+import static com.bueno.domain.usecases.bot.converter.SpiModelAdapter.toGameIntel;
+
+// Plays a bot vs bot game without holding a thread while a remote bot decides. Each turn asks the bot
+// for a future decision: local bots answer at once and the game goes on in the same loop, while a
+// pending remote decision suspends the game until the answer arrives, then resumes it on the
+// continuation executor. A few threads can then drive thousands of games against remote bots.
+public class AsyncGameEngine {
+    /* @ spec_public @ */
+    private final Seat bot1;
+    /* @ spec_public @ */
+    private final Seat bot2;
+    /* @ spec_public @ */
+    private final Executor continuations;
+    /* @ spec_public @ */
+    private final HistoryPolicy historyPolicy;
+
+    /*
+     * @ public invariant bot1 != null;
+     *
+     * @ public invariant bot2 != null;
+     *
+     * @ public invariant continuations != null;
+     *
+     * @ public invariant historyPolicy != null;
+     *
+     * @
+     */
+
+    /*
+     * @ public normal_behavior
+     *
+     * @ requires bot1 != null;
+     *
+     * @ requires bot2 != null;
+     *
+     * @ requires continuations != null;
+     *
+     * @ ensures this.historyPolicy == HistoryPolicy.FULL;
+     *
+     * @
+     */
+    public AsyncGameEngine(BotServiceProvider bot1, BotServiceProvider bot2, Executor continuations) {
+        this(bot1, bot2, continuations, HistoryPolicy.FULL);
+    }
+
+    /*
+     * @ public normal_behavior
+     *
+     * @ requires bot1 != null;
+     *
+     * @ requires bot2 != null;
+     *
+     * @ requires continuations != null;
+     *
+     * @ requires historyPolicy != null;
+     *
+     * @ ensures this.historyPolicy == historyPolicy;
+     *
+     * @
+     */
+    public AsyncGameEngine(BotServiceProvider bot1, BotServiceProvider bot2, Executor continuations,
+                           HistoryPolicy historyPolicy) {
+        this.bot1 = new Seat(Objects.requireNonNull(bot1));
+        this.bot2 = new Seat(Objects.requireNonNull(bot2));
+        this.continuations = Objects.requireNonNull(continuations);
+        this.historyPolicy = Objects.requireNonNull(historyPolicy);
+    }
+
+    /*
+     * @ public normal_behavior
+     *
+     * @ requires bot1Uuid != null;
+     *
+     * @ requires bot2Uuid != null;
+     *
+     * @ requires random != null;
+     *
+     * @ requires handResultListener != null;
+     *
+     * @ ensures \result != null;
+     *
+     * @
+     */
+    public CompletableFuture<Game> play(UUID bot1Uuid, UUID bot2Uuid, RandomGenerator random,
+                                        Consumer<Game> handResultListener) {
+        final Player player1 = Player.ofBot(bot1Uuid, bot1.bot.getName());
+        final Player player2 = Player.ofBot(bot2Uuid, bot2.bot.getName());
+        return play(new Game(player1, player2, random, historyPolicy), handResultListener);
+    }
+
+    /*
+     * @ public normal_behavior
+     *
+     * @ requires game != null;
+     *
+     * @ requires handResultListener != null;
+     *
+     * @ ensures \result != null;
+     *
+     * @
+     */
+    public CompletableFuture<Game> play(Game game, Consumer<Game> handResultListener) {
+        Objects.requireNonNull(game);
+        final GameReferee referee = new GameReferee(player -> seatOf(game, player).bot, handResultListener);
+        return resume(game, referee);
+    }
+
+    // Decisions that are already available are applied in this loop, so a game between local bots does
+    // not grow the chain of futures; only a pending decision schedules the rest of the game.
+    private CompletableFuture<Game> resume(Game game, GameReferee referee) {
+        try {
+            while (!game.isDone()) {
+                final CompletableFuture<Void> turn = playTurn(game, referee);
+                if (!turn.isDone())
+                    return turn.thenComposeAsync(ignored -> resume(game, referee), continuations);
+                turn.join();
+            }
+            return CompletableFuture.completedFuture(game);
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    private CompletableFuture<Void> playTurn(Game game, GameReferee referee) {
+        final Hand hand = game.currentHand();
+        final Turn turn = GameReferee.turnOf(hand);
+        if (turn == Turn.NONE)
+            throw new IllegalStateException("Hand is not waiting for any player, but game is not done: " + game);
+
+        final Player player = hand.getCurrentPlayer();
+        final Seat seat = seatOf(game, player);
+        final GameIntel intel = toGameIntel(player, hand.getLastIntel());
+
+        final CompletableFuture<Void> decision = switch (turn) {
+            case MAO_DE_ONZE_RESPONSE -> apply(seat.getMaoDeOnzeResponse(intel),
+                    accepts -> GameReferee.answerMaoDeOnze(hand, player, accepts));
+            case RAISE_OR_PLAY -> applyThen(seat.decideIfRaises(intel), raises -> {
+                if (raises) {
+                    hand.raise(player);
+                    return CompletableFuture.completedFuture(null);
+                }
+                return apply(seat.chooseCard(intel), card -> GameReferee.playCard(hand, player, card));
+            });
+            case PLAY -> apply(seat.chooseCard(intel), card -> GameReferee.playCard(hand, player, card));
+            default -> apply(seat.getRaiseResponse(intel),
+                    response -> GameReferee.answerRaise(hand, player, response));
+        };
+        return decision.thenRun(() -> referee.finishHandIfDecided(game));
+    }
+
+    // A pending decision completes on the thread of the remote call, an I/O or timer thread, so it is applied
+    // to the game on the continuation executor; a decision already available is applied right away. The
+    // stages after it then run on a game thread too.
+    private <T> CompletableFuture<Void> apply(CompletableFuture<T> decision, Consumer<T> move) {
+        return decision.isDone() ? decision.thenAccept(move) : decision.thenAcceptAsync(move, continuations);
+    }
+
+    private <T> CompletableFuture<Void> applyThen(CompletableFuture<T> decision,
+            Function<T, CompletableFuture<Void>> move) {
+        return decision.isDone() ? decision.thenCompose(move) : decision.thenComposeAsync(move, continuations);
+    }
+
+    private Seat seatOf(Game game, Player player) {
+        return player.equals(game.getPlayer1()) ? bot1 : bot2;
+    }
+
+    // Remote bots with an asynchronous API return their pending requests; any other bot is asked on the
+    // calling thread and its answer is wrapped in a completed future.
+    private static final class Seat {
+        private final BotServiceProvider bot;
+        private final RemoteBotServiceProvider asyncBot;
+
+        private Seat(BotServiceProvider bot) {
+            this.bot = bot;
+            this.asyncBot = bot instanceof RemoteBotServiceProvider remote && remote.supportsAsync() ? remote : null;
+        }
+
+        private CompletableFuture<Boolean> getMaoDeOnzeResponse(GameIntel intel) {
+            if (asyncBot != null) return asyncBot.getMaoDeOnzeResponseAsync(intel);
+            return CompletableFuture.completedFuture(bot.getMaoDeOnzeResponse(intel));
+        }
+
+        private CompletableFuture<Boolean> decideIfRaises(GameIntel intel) {
+            if (asyncBot != null) return asyncBot.decideIfRaisesAsync(intel);
+            return CompletableFuture.completedFuture(bot.decideIfRaises(intel));
+        }
+
+        private CompletableFuture<CardToPlay> chooseCard(GameIntel intel) {
+            if (asyncBot != null) return asyncBot.chooseCardAsync(intel);
+            return CompletableFuture.completedFuture(bot.chooseCard(intel));
+        }
+
+        private CompletableFuture<Integer> getRaiseResponse(GameIntel intel) {
+            if (asyncBot != null) return asyncBot.getRaiseResponseAsync(intel);
+            return CompletableFuture.completedFuture(bot.getRaiseResponse(intel));
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.bueno.domain.usecases.game.service;
+
+// Interval estimate of a win rate. The Wilson score interval is used instead of the normal
+// approximation because it stays inside [0, 1] and behaves well for the small or lopsided samples an
+// early stopped pairing produces.
+public record ConfidenceInterval(double lower, double upper) {
+
+    public static final double Z_95 = 1.959964;
+
+    public ConfidenceInterval {
+        if (lower > upper) throw new IllegalArgumentException("Lower bound is above upper bound: " + lower + " > " + upper);
+    }
+
+    /*
+     * @ public normal_behavior
+     *
+     * @ requires 0 <= successes && successes <= trials;
+     *
+     * @ ensures 0.0 <= \result.lower() && \result.upper() <= 1.0;
+     *
+     * @ ensures trials == 0 ==> \result.lower() == 0.0 && \result.upper() == 1.0;
+     *
+     * @
+     */
+    public static ConfidenceInterval wilson(long successes, long trials) {
+        if (trials == 0) return new ConfidenceInterval(0.0, 1.0);
+        final double rate = (double) successes / trials;
+        final double zSquared = Z_95 * Z_95;
+        final double denominator = 1 + zSquared / trials;
+        final double center = (rate + zSquared / (2.0 * trials)) / denominator;
+        final double halfWidth = Z_95 * Math.sqrt(rate * (1 - rate) / trials + zSquared / (4.0 * trials * trials))
+                / denominator;
+        return new ConfidenceInterval(Math.max(0.0, center - halfWidth), Math.min(1.0, center + halfWidth));
+    }
+
+    public boolean contains(double rate) {
+        return lower <= rate && rate <= upper;
+    }
+}
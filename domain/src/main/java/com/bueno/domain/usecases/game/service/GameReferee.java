@@ -0,0 +1,205 @@
+package com.bueno.domain.usecases.game.service;
+
+import com.bueno.domain.entities.deck.Card;
+import com.bueno.domain.entities.game.Game;
+import com.bueno.domain.entities.hand.Hand;
+import com.bueno.domain.entities.hand.states.WaitingMaoDeOnze;
+import com.bueno.domain.entities.intel.Intel;
+import com.bueno.domain.entities.intel.PossibleAction;
+import com.bueno.domain.entities.player.Player;
+import com.bueno.spi.model.CardToPlay;
+import com.bueno.spi.service.BotServiceProvider;
+
+import java.util.EnumSet;
+import java.util.Objects;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import static com.bueno.domain.usecases.bot.converter.SpiModelAdapter.toCard;
+import static com.bueno.domain.usecases.bot.converter.SpiModelAdapter.toGameIntel;
+
+// Drives bot turns of a live Game in a plain loop. Each iteration reads the kind of decision the
+// current hand state is waiting for, asks the bot seated in the current player position and applies
+// the answer to the hand. The stack depth does not depend on how many moves are played.
+public class GameReferee {
+
+    public enum Turn {
+        NONE,
+        MAO_DE_ONZE_RESPONSE,
+        RAISE_OR_PLAY,
+        PLAY,
+        RAISE_RESPONSE
+    }
+
+    /* @ spec_public @ */
+    private final Function<Player, BotServiceProvider> seats;
+    /* @ spec_public @ */
+    private final Consumer<Game> handResultListener;
+
+    /*
+     * @ public invariant seats != null;
+     *
+     * @ public invariant handResultListener != null;
+     *
+     * @
+     */
+
+    /*
+     * @ public normal_behavior
+     *
+     * @ requires seats != null;
+     *
+     * @
+     */
+    public GameReferee(Function<Player, BotServiceProvider> seats) {
+        this(seats, game -> {
+        });
+    }
+
+    /*
+     * @ public normal_behavior
+     *
+     * @ requires seats != null;
+     *
+     * @ requires handResultListener != null;
+     *
+     * @ ensures this.seats == seats;
+     *
+     * @ ensures this.handResultListener == handResultListener;
+     *
+     * @
+     */
+    public GameReferee(Function<Player, BotServiceProvider> seats, Consumer<Game> handResultListener) {
+        this.seats = Objects.requireNonNull(seats);
+        this.handResultListener = Objects.requireNonNull(handResultListener);
+    }
+
+    /*
+     * @ public normal_behavior
+     *
+     * @ requires hand != null;
+     *
+     * @ ensures \result != null;
+     *
+     * @
+     */
+    public static Turn turnOf(Hand hand) {
+        final EnumSet<PossibleAction> actions = hand.getPossibleActions();
+        if (hand.getCurrentPlayer() == null || actions.isEmpty())
+            return Turn.NONE;
+        if (hand.getState() instanceof WaitingMaoDeOnze)
+            return Turn.MAO_DE_ONZE_RESPONSE;
+        if (actions.contains(PossibleAction.PLAY))
+            return actions.contains(PossibleAction.RAISE) ? Turn.RAISE_OR_PLAY : Turn.PLAY;
+        return Turn.RAISE_RESPONSE;
+    }
+
+    /*
+     * @ public normal_behavior
+     *
+     * @ requires game != null;
+     *
+     * @ ensures \result == game;
+     *
+     * @
+     */
+    public Game playWhileBotsTurn(Game game) {
+        while (isBotTurn(game))
+            playTurn(game);
+        return game;
+    }
+
+    /*
+     * @ public normal_behavior
+     *
+     * @ requires game != null;
+     *
+     * @ ensures \result ==> !game.isDone();
+     *
+     * @
+     */
+    public static boolean isBotTurn(Game game) {
+        if (game.isDone())
+            return false;
+        final Player currentPlayer = game.currentHand().getCurrentPlayer();
+        return currentPlayer != null && currentPlayer.isBot();
+    }
+
+    /*
+     * @ public normal_behavior
+     *
+     * @ requires game != null;
+     *
+     * @ requires !game.isDone();
+     *
+     * @
+     */
+    public void playTurn(Game game) {
+        final Hand hand = game.currentHand();
+        final Turn turn = turnOf(hand);
+        if (turn == Turn.NONE)
+            throw new IllegalStateException("Hand is not waiting for any player, but game is not done: " + game);
+
+        final Player player = hand.getCurrentPlayer();
+        final BotServiceProvider bot = Objects.requireNonNull(seats.apply(player), "No bot seated for " + player);
+        final Intel intel = hand.getLastIntel();
+
+        switch (turn) {
+            case MAO_DE_ONZE_RESPONSE ->
+                    answerMaoDeOnze(hand, player, bot.getMaoDeOnzeResponse(toGameIntel(player, intel)));
+            case RAISE_OR_PLAY -> raiseOrPlayCard(hand, player, bot, intel);
+            case PLAY -> playCard(hand, player, bot.chooseCard(toGameIntel(player, intel)));
+            default -> answerRaise(hand, player, bot.getRaiseResponse(toGameIntel(player, intel)));
+        }
+
+        finishHandIfDecided(game);
+    }
+
+    private void raiseOrPlayCard(Hand hand, Player player, BotServiceProvider bot, Intel intel) {
+        if (bot.decideIfRaises(toGameIntel(player, intel)))
+            hand.raise(player);
+        else
+            playCard(hand, player, bot.chooseCard(toGameIntel(player, intel)));
+    }
+
+    // The decisions are applied by static methods so that the AsyncGameEngine applies the answers of
+    // suspended bots exactly as the loop above does.
+    static void answerMaoDeOnze(Hand hand, Player player, boolean accepts) {
+        if (accepts)
+            hand.accept(player);
+        else
+            hand.quit(player);
+    }
+
+    static void playCard(Hand hand, Player player, CardToPlay chosenCard) {
+        final Card card = toCard(chosenCard.content());
+        final Card playedCard = chosenCard.isDiscard() ? player.discard(card) : player.play(card);
+
+        if (hand.getCardToPlayAgainst().isEmpty())
+            hand.playFirstCard(player, playedCard);
+        else
+            hand.playSecondCard(player, playedCard);
+    }
+
+    static void answerRaise(Hand hand, Player player, int response) {
+        if (response < -1 || response > 1)
+            throw new IllegalStateException("response must be -1, 0, 1 but was: " + response);
+        if (response == 1 && !hand.getPossibleActions().contains(PossibleAction.RAISE))
+            response = 0;
+
+        switch (response) {
+            case -1 -> hand.quit(player);
+            case 0 -> hand.accept(player);
+            default -> hand.raise(player);
+        }
+    }
+
+    void finishHandIfDecided(Game game) {
+        if (game.currentHand().getResult().isEmpty())
+            return;
+        handResultListener.accept(game);
+        game.updateScores();
+        if (!game.isDone())
+            game.prepareNewHand();
+    }
+}
@@ -0,0 +1,154 @@
+package com.bueno.domain.usecases.game.service;
+
+import com.bueno.domain.entities.game.Game;
+import com.bueno.domain.entities.hand.HistoryPolicy;
+import com.bueno.domain.entities.player.Player;
+import com.bueno.spi.service.BotServiceProvider;
+
+import java.util.Objects;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.random.RandomGenerator;
+
+// Plays a whole bot vs bot game over a live Game object. Unlike the use case path, there is no
+// repository and no DTO conversion between moves: the GameReferee applies every decision to the Hand.
+public class InMemoryGameEngine {
+    /* @ spec_public @ */
+    private final BotServiceProvider bot1;
+    /* @ spec_public @ */
+    private final BotServiceProvider bot2;
+    /* @ spec_public @ */
+    private final HistoryPolicy historyPolicy;
+
+    /*
+     * @ public invariant bot1 != null;
+     *
+     * @ public invariant bot2 != null;
+     *
+     * @ public invariant historyPolicy != null;
+     *
+     * @
+     */
+
+    /*
+     * @ public normal_behavior
+     *
+     * @ requires bot1 != null;
+     *
+     * @ requires bot2 != null;
+     *
+     * @ ensures this.bot1 == bot1;
+     *
+     * @ ensures this.bot2 == bot2;
+     *
+     * @ ensures this.historyPolicy == HistoryPolicy.FULL;
+     *
+     * @
+     */
+    public InMemoryGameEngine(BotServiceProvider bot1, BotServiceProvider bot2) {
+        this(bot1, bot2, HistoryPolicy.FULL);
+    }
+
+    /*
+     * @ public normal_behavior
+     *
+     * @ requires bot1 != null;
+     *
+     * @ requires bot2 != null;
+     *
+     * @ requires historyPolicy != null;
+     *
+     * @ ensures this.bot1 == bot1;
+     *
+     * @ ensures this.bot2 == bot2;
+     *
+     * @ ensures this.historyPolicy == historyPolicy;
+     *
+     * @
+     */
+    public InMemoryGameEngine(BotServiceProvider bot1, BotServiceProvider bot2, HistoryPolicy historyPolicy) {
+        this.bot1 = Objects.requireNonNull(bot1);
+        this.bot2 = Objects.requireNonNull(bot2);
+        this.historyPolicy = Objects.requireNonNull(historyPolicy);
+    }
+
+    /*
+     * @ public normal_behavior
+     *
+     * @ requires bot1Uuid != null;
+     *
+     * @ requires bot2Uuid != null;
+     *
+     * @ ensures \result != null;
+     *
+     * @ ensures \result.isDone();
+     *
+     * @
+     */
+    public Game play(UUID bot1Uuid, UUID bot2Uuid) {
+        final Player player1 = Player.ofBot(bot1Uuid, bot1.getName());
+        final Player player2 = Player.ofBot(bot2Uuid, bot2.getName());
+        return play(new Game(player1, player2));
+    }
+
+    /*
+     * @ public normal_behavior
+     * 
+     * @ requires bot1Uuid != null;
+     * 
+     * @ requires bot2Uuid != null;
+     * 
+     * @ requires random != null;
+     * 
+     * @ requires handResultListener != null;
+     * 
+     * @ ensures \result != null;
+     * 
+     * @ ensures \result.isDone();
+     * 
+     * @
+     */
+    public Game play(UUID bot1Uuid, UUID bot2Uuid, RandomGenerator random, Consumer<Game> handResultListener) {
+        final Player player1 = Player.ofBot(bot1Uuid, bot1.getName());
+        final Player player2 = Player.ofBot(bot2Uuid, bot2.getName());
+        return play(new Game(player1, player2, random, historyPolicy), handResultListener);
+    }
+
+    /*
+     * @ public normal_behavior
+     *
+     * @ requires game != null;
+     *
+     * @ ensures \result == game;
+     *
+     * @ ensures \result.isDone();
+     *
+     * @
+     */
+    public Game play(Game game) {
+        return play(game, g -> {
+        });
+    }
+
+    /*
+     * @ public normal_behavior
+     * 
+     * @ requires game != null;
+     * 
+     * @ requires handResultListener != null;
+     * 
+     * @ ensures \result == game;
+     * 
+     * @ ensures \result.isDone();
+     * 
+     * @
+     */
+    public Game play(Game game, Consumer<Game> handResultListener) {
+        Objects.requireNonNull(game);
+        final GameReferee referee = new GameReferee(player -> player.equals(game.getPlayer1()) ? bot1 : bot2,
+                handResultListener);
+        while (!game.isDone())
+            referee.playTurn(game);
+        return game;
+    }
+}
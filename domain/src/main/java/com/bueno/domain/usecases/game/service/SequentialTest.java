@@ -0,0 +1,41 @@
+package com.bueno.domain.usecases.game.service;
+
+import java.util.Optional;
+
+// Wald's sequential probability ratio test on the win rate of the pairing bot1. After every game it
+// weighs the hypothesis that bot1 wins with probability 1/2 + delta against 1/2 - delta, and decides as
+// soon as the log-likelihood ratio crosses one of the bounds given by the error rates alpha and beta.
+// A lopsided pairing is then decided after a handful of games instead of the fixed maximum, while an
+// even pairing keeps playing until the plan runs out of games.
+public record SequentialTest(double alpha, double beta, double delta, int minGames) {
+
+    public static final SequentialTest DEFAULT = new SequentialTest(0.05, 0.05, 0.1, 10);
+
+    public SequentialTest {
+        if (alpha <= 0 || alpha >= 1) throw new IllegalArgumentException("Alpha must be in (0, 1): " + alpha);
+        if (beta <= 0 || beta >= 1) throw new IllegalArgumentException("Beta must be in (0, 1): " + beta);
+        if (delta <= 0 || delta >= 0.5) throw new IllegalArgumentException("Delta must be in (0, 0.5): " + delta);
+        if (minGames < 0) throw new IllegalArgumentException("Minimum number of games must not be negative: " + minGames);
+    }
+
+    // Both hypotheses are symmetric around 1/2, so a win and a loss move the ratio by the same amount
+    // and only the difference of wins matters.
+    /*
+     * @ public normal_behavior
+     *
+     * @ requires bot1Wins >= 0 && bot2Wins >= 0;
+     *
+     * @ ensures bot1Wins + bot2Wins < minGames ==> \result.isEmpty();
+     *
+     * @ ensures \result.isEmpty() || \result.get() != StopReason.MAX_GAMES;
+     *
+     * @
+     */
+    public Optional<StopReason> decide(long bot1Wins, long bot2Wins) {
+        if (bot1Wins + bot2Wins < minGames) return Optional.empty();
+        final double logLikelihoodRatio = (bot1Wins - bot2Wins) * Math.log((0.5 + delta) / (0.5 - delta));
+        if (logLikelihoodRatio >= Math.log((1 - beta) / alpha)) return Optional.of(StopReason.BOT1_STRONGER);
+        if (logLikelihoodRatio <= Math.log(beta / (1 - alpha))) return Optional.of(StopReason.BOT2_STRONGER);
+        return Optional.empty();
+    }
+}
@@ -0,0 +1,179 @@
+package com.bueno.domain.usecases.game.service;
+
+import java.util.Objects;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Runs the games of a simulation batch in pools owned by the simulation code instead of the JVM-wide
+// common ForkJoinPool. Local bots are CPU-bound and use a work-stealing pool sized to the processors. Games
+// involving remote bots mostly wait for HTTP responses, so they use a separate elastic pool allowing
+// many more games in flight, whose idle threads are released after a while. Games against remote bots
+// with an asynchronous API do not hold any thread while waiting: they are suspended between decisions and
+// resumed on the CPU pool, so the number of such games in flight is bounded by memory, not by threads.
+public class SimulationExecutor implements AutoCloseable {
+
+    public enum Mode {
+        CPU_BOUND,
+        IO_BOUND,
+        ASYNC_IO
+    }
+
+    public static final int DEFAULT_MAX_IO_CONCURRENCY = 256;
+    public static final int DEFAULT_MAX_ASYNC_GAMES = 4096;
+    private static final long IO_THREAD_KEEP_ALIVE_SECONDS = 30;
+
+    private static final class DefaultHolder {
+        private static final SimulationExecutor INSTANCE = new SimulationExecutor(
+                Runtime.getRuntime().availableProcessors(), DEFAULT_MAX_IO_CONCURRENCY);
+    }
+
+    /* @ spec_public @ */
+    private final ExecutorService cpuPool;
+    /* @ spec_public @ */
+    private final ExecutorService ioPool;
+    /* @ spec_public @ */
+    private final int cpuThreads;
+    /* @ spec_public @ */
+    private final int maxIoConcurrency;
+    /* @ spec_public @ */
+    private final SimulationScheduler scheduler;
+
+    /*
+     * @ public invariant cpuPool != null;
+     *
+     * @ public invariant ioPool != null;
+     *
+     * @ public invariant scheduler != null;
+     *
+     * @
+     */
+
+    /*
+     * @ public normal_behavior
+     *
+     * @ requires cpuThreads > 0;
+     *
+     * @ requires maxIoConcurrency > 0;
+     *
+     * @ signals (IllegalArgumentException e) cpuThreads <= 0 || maxIoConcurrency <= 0;
+     *
+     * @
+     */
+    public SimulationExecutor(int cpuThreads, int maxIoConcurrency) {
+        if (cpuThreads <= 0)
+            throw new IllegalArgumentException("Number of CPU threads must be positive: " + cpuThreads);
+        if (maxIoConcurrency <= 0)
+            throw new IllegalArgumentException("Max IO concurrency must be positive: " + maxIoConcurrency);
+
+        this.cpuThreads = cpuThreads;
+        this.maxIoConcurrency = maxIoConcurrency;
+        this.cpuPool = new ForkJoinPool(cpuThreads, workStealingThreads("simulation-cpu-"), null, true);
+        final ThreadPoolExecutor elastic = new ThreadPoolExecutor(maxIoConcurrency, maxIoConcurrency,
+                IO_THREAD_KEEP_ALIVE_SECONDS, TimeUnit.SECONDS, new LinkedBlockingQueue<>(),
+                daemonThreads("simulation-io-"));
+        elastic.allowCoreThreadTimeOut(true);
+        this.ioPool = elastic;
+        this.scheduler = new SimulationScheduler(this);
+    }
+
+    /*
+     * @ public normal_behavior
+     *
+     * @ ensures \result != null;
+     *
+     * @
+     */
+    public static SimulationExecutor shared() {
+        return DefaultHolder.INSTANCE;
+    }
+
+    /*
+     * @ public normal_behavior
+     *
+     * @ ensures \result == scheduler;
+     *
+     * @
+     */
+    public SimulationScheduler scheduler() {
+        return scheduler;
+    }
+
+    /*
+     * @ public normal_behavior
+     *
+     * @ requires mode != null;
+     *
+     * @ ensures \result > 0;
+     *
+     * @
+     */
+    public int parallelism(Mode mode) {
+        return switch (mode) {
+            case CPU_BOUND -> cpuThreads;
+            case IO_BOUND -> maxIoConcurrency;
+            case ASYNC_IO -> DEFAULT_MAX_ASYNC_GAMES;
+        };
+    }
+
+    /*
+     * @ public normal_behavior
+     *
+     * @ requires mode != null;
+     *
+     * @ requires game != null;
+     *
+     * @ ensures \result != null;
+     *
+     * @
+     */
+    public <T> CompletableFuture<T> submit(Mode mode, Callable<T> game) {
+        Objects.requireNonNull(game);
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return game.call();
+            } catch (Exception e) {
+                throw new CompletionException(e);
+            }
+        }, poolOf(mode));
+    }
+
+    // Pool where suspended asynchronous games are resumed once a remote decision arrives.
+    /*
+     * @ public normal_behavior
+     *
+     * @ ensures \result != null;
+     *
+     * @
+     */
+    public Executor continuations() {
+        return cpuPool;
+    }
+
+    private ExecutorService poolOf(Mode mode) {
+        return Objects.requireNonNull(mode) == Mode.IO_BOUND ? ioPool : cpuPool;
+    }
+
+    @Override
+    public void close() {
+        cpuPool.shutdown();
+        ioPool.shutdown();
+    }
+
+    private static ForkJoinPool.ForkJoinWorkerThreadFactory workStealingThreads(String prefix) {
+        final AtomicInteger counter = new AtomicInteger();
+        return pool -> {
+            final ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+            thread.setName(prefix + counter.incrementAndGet());
+            return thread;
+        };
+    }
+
+    private static ThreadFactory daemonThreads(String prefix) {
+        final AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            final Thread thread = new Thread(runnable, prefix + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
@@ -0,0 +1,201 @@
+package com.bueno.domain.usecases.game.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+// A whole simulation job: every pairing of the plan is played the given number of games. Plans are
+// handed to the SimulationScheduler, which interleaves their games with those of other running plans.
+// The master seed determines every deal of the plan, so a plan can be replayed by reusing its seed.
+// With DUPLICATE dealing, each game of a pairing is a deal played twice, once with each bot in each
+// seat, which cancels most of the card luck between the two bots. With an early stopping test, the games
+// of a pairing become a maximum: the pairing stops as soon as the test decides which bot is stronger.
+public record SimulationPlan(String name, int priority, List<Pairing> pairings, long seed, Dealing dealing,
+                             /* @ nullable @ */ SequentialTest earlyStopping) {
+
+    public static final int DEFAULT_PRIORITY = 0;
+    public static final int BACKGROUND_PRIORITY = -1;
+
+    public enum Dealing {
+        INDEPENDENT,
+        DUPLICATE
+    }
+
+    public record Pairing(UUID bot1Uuid, String bot1Name, UUID bot2Uuid, String bot2Name, int games) {
+        public Pairing {
+            Objects.requireNonNull(bot1Uuid);
+            Objects.requireNonNull(bot1Name);
+            Objects.requireNonNull(bot2Uuid);
+            Objects.requireNonNull(bot2Name);
+            if (games < 0) throw new IllegalArgumentException("Number of games must not be negative: " + games);
+        }
+
+        /*
+         * @ public normal_behavior
+         *
+         * @ requires bot1Name != null && bot2Name != null;
+         *
+         * @ requires games >= 0;
+         *
+         * @ ensures \result != null;
+         *
+         * @
+         */
+        public static Pairing of(String bot1Name, String bot2Name, int games) {
+            return new Pairing(UUID.randomUUID(), bot1Name, UUID.randomUUID(), bot2Name, games);
+        }
+    }
+
+    public SimulationPlan {
+        Objects.requireNonNull(name);
+        Objects.requireNonNull(dealing);
+        pairings = List.copyOf(pairings);
+    }
+
+    public SimulationPlan(String name, int priority, List<Pairing> pairings, long seed, Dealing dealing) {
+        this(name, priority, pairings, seed, dealing, null);
+    }
+
+    public SimulationPlan(String name, int priority, List<Pairing> pairings) {
+        this(name, priority, pairings, ThreadLocalRandom.current().nextLong(), Dealing.INDEPENDENT);
+    }
+
+    /*
+     * @ public normal_behavior
+     *
+     * @ ensures \result.seed() == seed;
+     *
+     * @ ensures \result.pairings().equals(pairings);
+     *
+     * @
+     */
+    public SimulationPlan withSeed(long seed) {
+        return new SimulationPlan(name, priority, pairings, seed, dealing, earlyStopping);
+    }
+
+    /*
+     * @ public normal_behavior
+     *
+     * @ requires dealing != null;
+     *
+     * @ ensures \result.dealing() == dealing;
+     *
+     * @ ensures \result.seed() == seed;
+     *
+     * @
+     */
+    public SimulationPlan withDealing(Dealing dealing) {
+        return new SimulationPlan(name, priority, pairings, seed, dealing, earlyStopping);
+    }
+
+    /*
+     * @ public normal_behavior
+     *
+     * @ requires earlyStopping != null;
+     *
+     * @ ensures \result.earlyStopping() == earlyStopping;
+     *
+     * @ ensures \result.seed() == seed;
+     *
+     * @
+     */
+    public SimulationPlan withEarlyStopping(SequentialTest earlyStopping) {
+        return new SimulationPlan(name, priority, pairings, seed, dealing, Objects.requireNonNull(earlyStopping));
+    }
+
+    /*
+     * @ public normal_behavior
+     *
+     * @ requires name != null && pairing != null;
+     *
+     * @ ensures \result.pairings().size() == 1;
+     *
+     * @
+     */
+    public static SimulationPlan of(String name, Pairing pairing) {
+        return new SimulationPlan(name, DEFAULT_PRIORITY, List.of(pairing));
+    }
+
+    // Each unordered pair is played once: the games are split between both seat orders. When the number
+    // is odd, the seat order taking the extra game alternates from pair to pair, so across the round-robin
+    // every bot starts about as many games as it plays second, however the bots are listed.
+    /*
+     * @ public normal_behavior
+     *
+     * @ requires name != null && botNames != null;
+     *
+     * @ requires gamesPerPair >= 0;
+     *
+     * @ ensures \result.totalGames() == gamesPerPair * botNames.size() * (botNames.size() - 1) / 2;
+     *
+     * @
+     */
+    public static SimulationPlan roundRobin(String name, int priority, List<String> botNames, int gamesPerPair) {
+        final List<Pairing> pairings = new ArrayList<>();
+        for (int i = 0; i < botNames.size(); i++) {
+            for (int j = i + 1; j < botNames.size(); j++) {
+                final int extraGameFirst = (i + j) % 2 == 1 ? gamesPerPair % 2 : 0;
+                pairings.add(Pairing.of(botNames.get(i), botNames.get(j), gamesPerPair / 2 + extraGameFirst));
+                pairings.add(Pairing.of(botNames.get(j), botNames.get(i), (gamesPerPair + 1) / 2 - extraGameFirst));
+            }
+        }
+        return new SimulationPlan(name, priority, pairings);
+    }
+
+    // Duplicate dealing already seats both bots on every deal, so each unordered pair needs one pairing.
+    /*
+     * @ public normal_behavior
+     *
+     * @ requires name != null && botNames != null;
+     *
+     * @ requires dealsPerPair >= 0;
+     *
+     * @ ensures \result.dealing() == Dealing.DUPLICATE;
+     *
+     * @ ensures \result.pairings().size() == botNames.size() * (botNames.size() - 1) / 2;
+     *
+     * @
+     */
+    public static SimulationPlan duplicateRoundRobin(String name, int priority, List<String> botNames,
+                                                     int dealsPerPair) {
+        final List<Pairing> pairings = new ArrayList<>();
+        for (int i = 0; i < botNames.size(); i++)
+            for (int j = i + 1; j < botNames.size(); j++)
+                pairings.add(Pairing.of(botNames.get(i), botNames.get(j), dealsPerPair));
+        return new SimulationPlan(name, priority, pairings).withDealing(Dealing.DUPLICATE);
+    }
+
+    /*
+     * @ public normal_behavior
+     *
+     * @ requires name != null && botName != null && opponentNames != null;
+     *
+     * @ requires games >= 0;
+     *
+     * @ ensures \result != null;
+     *
+     * @
+     */
+    public static SimulationPlan oneAgainstAll(String name, int priority, String botName,
+                                               List<String> opponentNames, int games) {
+        final UUID botUuid = UUID.randomUUID();
+        final List<Pairing> pairings = opponentNames.stream()
+                .filter(opponent -> !opponent.equals(botName))
+                .map(opponent -> new Pairing(botUuid, botName, UUID.randomUUID(), opponent, games))
+                .toList();
+        return new SimulationPlan(name, priority, pairings);
+    }
+
+    /*
+     * @ public normal_behavior
+     *
+     * @ ensures \result == (\sum int i; 0 <= i && i < pairings.size(); pairings.get(i).games());
+     *
+     * @
+     */
+    public int totalGames() {
+        return pairings.stream().mapToInt(Pairing::games).sum();
+    }
+}
@@ -0,0 +1,254 @@
+package com.bueno.domain.usecases.game.service;
+
+import com.bueno.domain.usecases.game.service.SimulationExecutor.Mode;
+import com.bueno.domain.usecases.game.service.SimulationPlan.Dealing;
+
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.random.RandomGenerator;
+
+// Streams the single games of every submitted plan into the executor pools. Instead of running one
+// pairing after the other, the scheduler keeps each pool saturated with games from all running plans:
+// higher priority plans go first and plans of the same priority take turns game by game, so a long
+// round-robin does not starve a quick evaluation submitted after it. When the plan has an early stopping
+// test, each finished game may decide its pairing, and the undispatched games of that pairing are dropped.
+// Such plans keep only a few games of each pairing in flight, so the test sees results early enough to
+// drop any.
+public class SimulationScheduler {
+
+    private static final int CPU_QUEUED_GAMES_PER_THREAD = 2;
+    private static final Logger LOGGER = Logger.getLogger(SimulationScheduler.class.getName());
+
+    /* @ spec_public @ */
+    private final SimulationExecutor executor;
+    /* @ spec_public @ */
+    private final Map<Mode, Integer> maxInFlight = new EnumMap<>(Mode.class);
+    /* @ spec_public @ */
+    private final Map<Mode, Integer> inFlight = new EnumMap<>(Mode.class);
+    /* @ spec_public @ */
+    private final List<Job> pendingJobs = new ArrayList<>();
+    private long dispatchedGames;
+
+    /*
+     * @ public invariant executor != null;
+     *
+     * @ public invariant pendingJobs != null;
+     *
+     * @
+     */
+
+    /*
+     * @ public normal_behavior
+     *
+     * @ requires executor != null;
+     *
+     * @ ensures this.executor == executor;
+     *
+     * @ ensures this.pendingJobs.isEmpty();
+     *
+     * @
+     */
+    public SimulationScheduler(SimulationExecutor executor) {
+        this.executor = Objects.requireNonNull(executor);
+        for (Mode mode : Mode.values()) {
+            maxInFlight.put(mode, executor.parallelism(mode));
+            inFlight.put(mode, 0);
+        }
+        maxInFlight.put(Mode.CPU_BOUND, executor.parallelism(Mode.CPU_BOUND) * CPU_QUEUED_GAMES_PER_THREAD);
+    }
+
+    /*
+     * @ public normal_behavior
+     *
+     * @ ensures \result != null;
+     *
+     * @
+     */
+    public static SimulationScheduler shared() {
+        return SimulationExecutor.shared().scheduler();
+    }
+
+    /*
+     * @ public normal_behavior
+     *
+     * @ requires plan != null;
+     *
+     * @ requires simulator != null;
+     *
+     * @ ensures \result != null;
+     *
+     * @
+     */
+    public CompletableFuture<List<SimulationStats>> submit(SimulationPlan plan, SimulationService simulator) {
+        final Job job = new Job(plan, simulator);
+        if (job.isDone()) {
+            job.complete();
+            return job.future;
+        }
+        synchronized (this) {
+            pendingJobs.add(job);
+            dispatch();
+        }
+        return job.future;
+    }
+
+    private synchronized void dispatch() {
+        Dispatch next;
+        while ((next = nextDispatch()) != null) {
+            final Job job = next.job();
+            final int pairingIndex = next.pairingIndex();
+            final SimulationStats stats = job.stats.get(pairingIndex);
+            final Mode mode = job.modes.get(pairingIndex);
+            final RandomGenerator random = job.pairingSeeds.get(pairingIndex).split();
+
+            job.dispatch(pairingIndex);
+            job.lastDispatch = ++dispatchedGames;
+            if (!job.hasGamesToDispatch()) pendingJobs.remove(job);
+            inFlight.merge(mode, 1, Integer::sum);
+
+            final Dealing dealing = job.plan.dealing();
+            final CompletableFuture<Void> game = mode == Mode.ASYNC_IO
+                    ? executor.submit(mode, () -> job.simulator.playAsync(stats, random, dealing))
+                            .thenCompose(Function.identity())
+                    : executor.<Void>submit(mode, () -> {
+                        job.simulator.play(stats, random, dealing);
+                        return null;
+                    });
+            game.whenComplete((ignored, error) -> onGameFinished(job, pairingIndex, mode, error));
+        }
+    }
+
+    // Highest priority first; among equal priorities, the plan that waited longest since its last game.
+    private Dispatch nextDispatch() {
+        Dispatch chosen = null;
+        for (Job job : pendingJobs) {
+            if (chosen != null && (job.plan.priority() < chosen.job().plan.priority()
+                    || job.plan.priority() == chosen.job().plan.priority()
+                    && job.lastDispatch >= chosen.job().lastDispatch))
+                continue;
+            final int pairingIndex = job.dispatchablePairing(mode -> inFlight.get(mode) < maxInFlight.get(mode));
+            if (pairingIndex >= 0) chosen = new Dispatch(job, pairingIndex);
+        }
+        return chosen;
+    }
+
+    private void onGameFinished(Job job, int pairingIndex, Mode mode, Throwable error) {
+        final SimulationStats stats = job.stats.get(pairingIndex);
+        // Forfeits are recorded by the simulator as lost games; whatever still fails here is a fault of the
+        // game itself, which leaves the game without a winner but must not go unnoticed.
+        if (error != null) {
+            stats.recordAbandoned();
+            LOGGER.log(Level.WARNING, "Abandoned a game of " + stats.pairing().bot1Name() + " x "
+                    + stats.pairing().bot2Name() + " in plan " + job.plan.name(), error);
+        }
+
+        synchronized (this) {
+            inFlight.merge(mode, -1, Integer::sum);
+            job.pairingInFlight[pairingIndex]--;
+            if (error == null) stopIfDecided(job, pairingIndex, stats);
+        }
+        if (job.onGameFinished()) job.complete();
+        dispatch();
+    }
+
+    // Games already in flight still finish and are counted; only the games not dispatched yet are dropped.
+    private void stopIfDecided(Job job, int pairingIndex, SimulationStats stats) {
+        final SequentialTest test = job.plan.earlyStopping();
+        if (test == null || stats.stoppedEarly()) return;
+        test.decide(stats.bot1Wins(), stats.bot2Wins()).ifPresent(reason -> {
+            stats.stop(reason);
+            job.skipRemainingGamesOf(pairingIndex);
+            if (!job.hasGamesToDispatch()) pendingJobs.remove(job);
+        });
+    }
+
+    private record Dispatch(Job job, int pairingIndex) {
+    }
+
+    // The dispatch state of a job is guarded by the scheduler lock; only the count of unfinished games,
+    // which completes the job, is guarded by the job itself.
+    private static final class Job {
+        private final SimulationPlan plan;
+        private final SimulationService simulator;
+        private final List<Mode> modes;
+        private final List<SimulationStats> stats;
+        private final CompletableFuture<List<SimulationStats>> future = new CompletableFuture<>();
+        // One generator per pairing, split from the master seed up front, so the n-th game of a pairing
+        // always gets the n-th split of it: the deals of a pairing depend only on the seed and its index,
+        // not on how the plans are interleaved, which thread plays them or when other pairings stop early.
+        private final List<SplittableRandom> pairingSeeds;
+        private final int[] dispatched;
+        private final int[] pairingInFlight;
+        // With an early stopping test, a pairing keeps only about the games the test needs before deciding
+        // in flight, so results come back while undispatched games remain to be dropped; meanwhile the
+        // next pairings of the plan take the free threads.
+        private final int maxInFlightPerPairing;
+        private int firstOpenPairing;
+        private int unfinishedGames;
+        private long lastDispatch;
+
+        private Job(SimulationPlan plan, SimulationService simulator) {
+            this.plan = Objects.requireNonNull(plan);
+            this.simulator = Objects.requireNonNull(simulator);
+            this.modes = plan.pairings().stream().map(simulator::modeOf).toList();
+            this.stats = plan.pairings().stream().map(SimulationStats::new).toList();
+            this.unfinishedGames = plan.totalGames();
+            final SplittableRandom seeds = new SplittableRandom(plan.seed());
+            this.pairingSeeds = plan.pairings().stream().map(pairing -> seeds.split()).toList();
+            this.dispatched = new int[plan.pairings().size()];
+            this.pairingInFlight = new int[plan.pairings().size()];
+            this.maxInFlightPerPairing = maxInFlightPerPairing(plan);
+        }
+
+        private static int maxInFlightPerPairing(SimulationPlan plan) {
+            if (plan.earlyStopping() == null) return Integer.MAX_VALUE;
+            final int gamesPerDispatch = plan.dealing() == Dealing.DUPLICATE ? 2 : 1;
+            return Math.max(1, plan.earlyStopping().minGames() / gamesPerDispatch);
+        }
+
+        private boolean hasGamesToDispatch() {
+            while (firstOpenPairing < dispatched.length && !isOpen(firstOpenPairing)) firstOpenPairing++;
+            return firstOpenPairing < dispatched.length;
+        }
+
+        private boolean isOpen(int pairingIndex) {
+            return dispatched[pairingIndex] < plan.pairings().get(pairingIndex).games();
+        }
+
+        private int dispatchablePairing(Predicate<Mode> hasRoom) {
+            for (int i = firstOpenPairing; i < dispatched.length; i++)
+                if (isOpen(i) && pairingInFlight[i] < maxInFlightPerPairing && hasRoom.test(modes.get(i))) return i;
+            return -1;
+        }
+
+        private void dispatch(int pairingIndex) {
+            dispatched[pairingIndex]++;
+            pairingInFlight[pairingIndex]++;
+        }
+
+        private void skipRemainingGamesOf(int pairingIndex) {
+            final int games = plan.pairings().get(pairingIndex).games();
+            final int skippedGames = games - dispatched[pairingIndex];
+            dispatched[pairingIndex] = games;
+            synchronized (this) {
+                unfinishedGames -= skippedGames;
+            }
+        }
+
+        private synchronized boolean onGameFinished() {
+            return --unfinishedGames == 0;
+        }
+
+        private synchronized boolean isDone() {
+            return unfinishedGames == 0;
+        }
+
+        private void complete() {
+            future.complete(stats);
+        }
+    }
+}
@@ -1,22 +1,27 @@
 package com.bueno.domain.usecases.game.service;
 
+import com.bueno.domain.entities.game.Game;
+import com.bueno.domain.entities.hand.HistoryPolicy;
 import com.bueno.domain.usecases.bot.providers.BotManagerService;
 import com.bueno.domain.usecases.bot.providers.RemoteBotApi;
+import com.bueno.domain.usecases.bot.providers.RemoteBotServiceProvider;
 import com.bueno.domain.usecases.bot.repository.RemoteBotRepository;
-import com.bueno.domain.usecases.bot.usecase.BotUseCase;
-import com.bueno.domain.usecases.game.converter.GameConverter;
-import com.bueno.domain.usecases.game.dtos.CreateForBotsDto;
 import com.bueno.domain.usecases.game.dtos.PlayWithBotsDto;
-import com.bueno.domain.usecases.game.repos.GameRepoDisposableImpl;
-import com.bueno.domain.usecases.game.repos.GameRepository;
-import com.bueno.domain.usecases.game.usecase.CreateGameUseCase;
+import com.bueno.domain.usecases.game.service.SimulationExecutor.Mode;
+import com.bueno.domain.usecases.game.service.SimulationPlan.Dealing;
+import com.bueno.domain.usecases.game.service.SimulationPlan.Pairing;
+import com.bueno.domain.usecases.utils.exceptions.BotForfeit;
+import com.bueno.domain.usecases.utils.exceptions.RemoteBotForfeit;
+import com.bueno.spi.service.BotServiceProvider;
 
 import java.util.List;
+import java.util.NoSuchElementException;
 import java.util.Objects;
+import java.util.SplittableRandom;
 import java.util.UUID;
-import java.util.concurrent.Callable;
-import java.util.function.Function;
-import java.util.stream.Stream;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.random.RandomGenerator;
 
 public class SimulationService {
     /* @ spec_public @ */
@@ -25,6 +30,10 @@ public class SimulationService {
     private final RemoteBotApi remoteBotApi;
     /* @ spec_public @ */
     private final BotManagerService botManagerService;
+    /* @ spec_public @ */
+    private final SimulationExecutor executor;
+    /* @ spec_public @ */
+    private final HistoryPolicy historyPolicy;
 
     /*
      * @ public invariant remoteBotRepository != null;
@@ -33,6 +42,10 @@ public class SimulationService {
      * 
      * @ public invariant botManagerService != null;
      * 
+     * @ public invariant executor != null;
+     * 
+     * @ public invariant historyPolicy != null;
+     * 
      * @
      */
 
@@ -51,13 +64,66 @@ public class SimulationService {
      * 
      * @ ensures this.botManagerService == providerService;
      * 
+     * @ ensures this.executor == SimulationExecutor.shared();
+     * 
      * @
      */
     public SimulationService(RemoteBotRepository remoteBotRepository, RemoteBotApi botApi,
             BotManagerService providerService) {
+        this(remoteBotRepository, botApi, providerService, SimulationExecutor.shared());
+    }
+
+    /*
+     * @ public normal_behavior
+     * 
+     * @ requires remoteBotRepository != null;
+     * 
+     * @ requires botApi != null;
+     * 
+     * @ requires providerService != null;
+     * 
+     * @ requires executor != null;
+     * 
+     * @ ensures this.remoteBotRepository == remoteBotRepository;
+     * 
+     * @ ensures this.remoteBotApi == botApi;
+     * 
+     * @ ensures this.botManagerService == providerService;
+     * 
+     * @ ensures this.executor == executor;
+     * 
+     * @ ensures this.historyPolicy == HistoryPolicy.NONE;
+     * 
+     * @
+     */
+    public SimulationService(RemoteBotRepository remoteBotRepository, RemoteBotApi botApi,
+            BotManagerService providerService, SimulationExecutor executor) {
+        this(remoteBotRepository, botApi, providerService, executor, HistoryPolicy.NONE);
+    }
+
+    private SimulationService(RemoteBotRepository remoteBotRepository, RemoteBotApi botApi,
+            BotManagerService providerService, SimulationExecutor executor, HistoryPolicy historyPolicy) {
         this.remoteBotRepository = remoteBotRepository;
         this.remoteBotApi = botApi;
         this.botManagerService = providerService;
+        this.executor = Objects.requireNonNull(executor);
+        this.historyPolicy = Objects.requireNonNull(historyPolicy);
+    }
+
+    // Simulated games only record their results, so by default they keep no intel timeline at all.
+    /*
+     * @ public normal_behavior
+     * 
+     * @ requires historyPolicy != null;
+     * 
+     * @ ensures \result.historyPolicy == historyPolicy;
+     * 
+     * @ ensures \result.executor == executor;
+     * 
+     * @
+     */
+    public SimulationService withHistoryPolicy(HistoryPolicy historyPolicy) {
+        return new SimulationService(remoteBotRepository, remoteBotApi, botManagerService, executor, historyPolicy);
     }
 
     /*
@@ -84,62 +150,184 @@ public class SimulationService {
             UUID challengedBotuuid,
             String challengedBotName,
             int times) {
-        final Callable<PlayWithBotsDto> gameWaitingForBeCreatedAndPlayed = () -> simulate(uuidBotToEvaluate,
-                botToEvaluateName, challengedBotuuid, challengedBotName);
+        final Pairing pairing = new Pairing(uuidBotToEvaluate, botToEvaluateName, challengedBotuuid,
+                challengedBotName, times);
+        return runPlan(SimulationPlan.of(botToEvaluateName + " x " + challengedBotName, pairing)).get(0).toResults();
+    }
+
+    /*
+     * @ public normal_behavior
+     * 
+     * @ requires plan != null;
+     * 
+     * @ ensures \result != null;
+     * 
+     * @ ensures \result.size() == plan.pairings().size();
+     * 
+     * @
+     */
+    public List<SimulationStats> runPlan(SimulationPlan plan) {
+        return executor.scheduler().submit(plan, this).join();
+    }
 
-        return Stream.generate(() -> gameWaitingForBeCreatedAndPlayed)
-                .limit(times)
-                .map(executeGameCall())
-                .parallel()
-                .filter(Objects::nonNull)
-                .toList();
+    /*
+     * @ public normal_behavior
+     * 
+     * @ requires pairing != null;
+     * 
+     * @ ensures \result != null;
+     * 
+     * @
+     */
+    public Mode modeOf(Pairing pairing) {
+        final BotServiceProvider bot1 = botManagerService.load(pairing.bot1Name());
+        final BotServiceProvider bot2 = botManagerService.load(pairing.bot2Name());
+        if (!isRemote(bot1) && !isRemote(bot2)) return Mode.CPU_BOUND;
+        return waitsAsynchronously(bot1) && waitsAsynchronously(bot2) ? Mode.ASYNC_IO : Mode.IO_BOUND;
+    }
 
+    private boolean isRemote(BotServiceProvider bot) {
+        return bot instanceof RemoteBotServiceProvider;
     }
 
-    private PlayWithBotsDto simulate(UUID evaluatedUuid,
-                                     String evaluateName,
-                                     UUID challengedUuid,
-                                     String challengedName) {
-        GameRepository gameRepository = new GameRepoDisposableImpl();
+    private boolean waitsAsynchronously(BotServiceProvider bot) {
+        return !(bot instanceof RemoteBotServiceProvider remote) || remote.supportsAsync();
+    }
 
-        final var requestModel = new CreateForBotsDto(evaluatedUuid, evaluateName, challengedUuid, challengedName);
-        final CreateGameUseCase createGameUseCase = new CreateGameUseCase(gameRepository,
-                remoteBotRepository,
-                remoteBotApi,
-                botManagerService);
-        createGameUseCase.createForBots(requestModel);
-        final var game = gameRepository.findByPlayerUuid(requestModel.bot1Uuid()).map(GameConverter::fromDto)
-                .orElseThrow();
-        final var botUseCase = new BotUseCase(gameRepository, remoteBotRepository, remoteBotApi, botManagerService,
-                evaluateName, challengedName);
+    // A bot that fails to decide within its budget loses the game by forfeit instead of leaving it unfinished.
+    /*
+     * @ public normal_behavior
+     * 
+     * @ requires stats != null;
+     * 
+     * @ requires random != null;
+     * 
+     * @ requires dealing != null;
+     * 
+     * @ ensures dealing == Dealing.INDEPENDENT ==> stats.finishedGames() == \old(stats.finishedGames()) + 1;
+     * 
+     * @ ensures dealing == Dealing.DUPLICATE ==> stats.finishedGames() == \old(stats.finishedGames()) + 2;
+     * 
+     * @
+     */
+    public void play(SimulationStats stats, RandomGenerator random, Dealing dealing) {
+        try {
+            playGames(stats, random, dealing);
+        } catch (BotForfeit forfeit) {
+            recordForfeit(stats, dealing, forfeit);
+        }
+    }
+
+    private void playGames(SimulationStats stats, RandomGenerator random, Dealing dealing) {
+        final Pairing pairing = stats.pairing();
+        final BotServiceProvider bot1 = loadBot(pairing.bot1Name());
+        final BotServiceProvider bot2 = loadBot(pairing.bot2Name());
 
-        // Plays the game
-        final var intel = botUseCase.playWhenNecessary(game, botManagerService);
+        if (dealing == Dealing.INDEPENDENT) {
+            final InMemoryGameEngine engine = new InMemoryGameEngine(bot1, bot2, historyPolicy);
+            stats.recordGame(engine.play(pairing.bot1Uuid(), pairing.bot2Uuid(), random, stats::recordHand));
+            return;
+        }
 
-        final var winnerUUID = intel.gameWinner().orElseThrow();
-        final var winnerName = winnerUUID.equals(requestModel.bot1Uuid()) ? requestModel.bot1Name()
-                : requestModel.bot2Name();
-        System.out.println("Winner: " + winnerName);
-        return new PlayWithBotsDto(winnerUUID, winnerName);
+        // Both games get generators with the same seed, so the n-th hand of each is dealt the same cards, and
+        // the cards the first seat gets in one game go to the other bot in the mirrored one. Each game gets
+        // its own bots, so the game budget of a bot covers one game.
+        final long dealSeed = random.nextLong();
+        final Game game = new InMemoryGameEngine(bot1, bot2, historyPolicy)
+                .play(pairing.bot1Uuid(), pairing.bot2Uuid(), new SplittableRandom(dealSeed), stats::recordHand);
+        final BotServiceProvider mirroredBot1 = loadBot(pairing.bot1Name());
+        final BotServiceProvider mirroredBot2 = loadBot(pairing.bot2Name());
+        final Game mirroredGame = new InMemoryGameEngine(mirroredBot2, mirroredBot1, historyPolicy)
+                .play(pairing.bot2Uuid(), pairing.bot1Uuid(), new SplittableRandom(dealSeed), stats::recordHand);
+        stats.recordGame(game);
+        stats.recordGame(mirroredGame);
+        stats.recordDuplicate(game, mirroredGame);
     }
 
+    // Same games as play, but a game waiting for a remote decision is suspended instead of blocking a
+    // thread. The two games of a duplicate deal run side by side, each with its own bots.
     /*
-     * @ private normal_behavior
+     * @ public normal_behavior
+     * 
+     * @ requires stats != null;
+     * 
+     * @ requires random != null;
+     * 
+     * @ requires dealing != null;
      * 
      * @ ensures \result != null;
      * 
      * @
      */
-    private Function<Callable<PlayWithBotsDto>, PlayWithBotsDto> executeGameCall() {
-        return gameCall -> {
-            try {
-                PlayWithBotsDto gameResult = gameCall.call();
-                System.out.println("Winner: " + gameResult.name());
-                return gameResult;
-            } catch (Exception e) {
-                e.printStackTrace();
-                return null;
-            }
-        };
+    public CompletableFuture<Void> playAsync(SimulationStats stats, RandomGenerator random, Dealing dealing) {
+        try {
+            return playGamesAsync(stats, random, dealing);
+        } catch (BotForfeit forfeit) {
+            recordForfeit(stats, dealing, forfeit);
+            return CompletableFuture.completedFuture(null);
+        }
+    }
+
+    // All bots are loaded before the first game starts, so a bot that can no longer be loaded forfeits the
+    // deal without leaving a game of it running.
+    private CompletableFuture<Void> playGamesAsync(SimulationStats stats, RandomGenerator random, Dealing dealing) {
+        final Pairing pairing = stats.pairing();
+        final BotServiceProvider bot1 = loadBot(pairing.bot1Name());
+        final BotServiceProvider bot2 = loadBot(pairing.bot2Name());
+        final AsyncGameEngine engine = new AsyncGameEngine(bot1, bot2, executor.continuations(), historyPolicy);
+
+        if (dealing == Dealing.INDEPENDENT)
+            return forfeitOnFailure(stats, dealing, engine
+                    .play(pairing.bot1Uuid(), pairing.bot2Uuid(), random, stats::recordHand)
+                    .thenAccept(stats::recordGame));
+
+        final BotServiceProvider mirroredBot1 = loadBot(pairing.bot1Name());
+        final BotServiceProvider mirroredBot2 = loadBot(pairing.bot2Name());
+        final long dealSeed = random.nextLong();
+        final CompletableFuture<Game> game = engine
+                .play(pairing.bot1Uuid(), pairing.bot2Uuid(), new SplittableRandom(dealSeed), stats::recordHand);
+        final CompletableFuture<Game> mirroredGame = new AsyncGameEngine(mirroredBot2, mirroredBot1,
+                executor.continuations(), historyPolicy)
+                .play(pairing.bot2Uuid(), pairing.bot1Uuid(), new SplittableRandom(dealSeed), stats::recordHand);
+        return forfeitOnFailure(stats, dealing, game.thenAcceptBoth(mirroredGame, (played, mirrored) -> {
+            stats.recordGame(played);
+            stats.recordGame(mirrored);
+            stats.recordDuplicate(played, mirrored);
+        }));
+    }
+
+    // Every bot of a plan was loaded when the plan was submitted, and local bots never go away, so a bot
+    // that can not be loaded anymore is a remote bot dropped from the healthy ones while the plan runs,
+    // usually because its circuit opened. It loses the game like any other remote bot that stops answering.
+    private BotServiceProvider loadBot(String botName) {
+        try {
+            return botManagerService.load(botName);
+        } catch (NoSuchElementException e) {
+            throw new RemoteBotForfeit(botName, "Remote bot " + botName + " is no longer available");
+        }
+    }
+
+    private CompletableFuture<Void> forfeitOnFailure(SimulationStats stats, Dealing dealing,
+            CompletableFuture<Void> games) {
+        return games.handle((ignored, error) -> {
+            if (error == null) return null;
+            final BotForfeit forfeit = forfeitOf(error);
+            if (forfeit == null) throw error instanceof CompletionException completion
+                    ? completion : new CompletionException(error);
+            recordForfeit(stats, dealing, forfeit);
+            return null;
+        });
+    }
+
+    private static BotForfeit forfeitOf(Throwable error) {
+        for (Throwable cause = error; cause != null; cause = cause.getCause())
+            if (cause instanceof BotForfeit forfeit) return forfeit;
+        return null;
+    }
+
+    // A forfeit in any game of a duplicate deal forfeits the whole deal.
+    private static void recordForfeit(SimulationStats stats, Dealing dealing, BotForfeit forfeit) {
+        if (dealing == Dealing.DUPLICATE) stats.recordDuplicateForfeit(forfeit.getBotName());
+        else stats.recordForfeit(forfeit.getBotName());
     }
 }
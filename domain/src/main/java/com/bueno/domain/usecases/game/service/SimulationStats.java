@@ -0,0 +1,301 @@
+package com.bueno.domain.usecases.game.service;
+
+import com.bueno.domain.entities.game.Game;
+import com.bueno.domain.entities.hand.Hand;
+import com.bueno.domain.entities.hand.HandResult;
+import com.bueno.domain.entities.player.Player;
+import com.bueno.domain.usecases.game.dtos.PlayWithBotsDto;
+import com.bueno.domain.usecases.game.service.SimulationPlan.Pairing;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.atomic.LongAdder;
+
+// Aggregated outcome of all games of one pairing. Workers update the striped counters in place while
+// the games are running, so the memory used by a run does not depend on its number of games and the
+// use cases read the totals without regrouping per game results. Seat 1 is the pairing bot1.
+public class SimulationStats {
+    /* @ spec_public @ */
+    private final Pairing pairing;
+    private final LongAdder bot1Wins = new LongAdder();
+    private final LongAdder bot2Wins = new LongAdder();
+    private final LongAdder abandonedGames = new LongAdder();
+    private final LongAdder forfeits = new LongAdder();
+    private final LongAdder pointsMargin = new LongAdder();
+    private final LongAdder hands = new LongAdder();
+    private final LongAdder maoDeOnzeHands = new LongAdder();
+    private final LongAdder maoDeOnzeWins = new LongAdder();
+    private final LongAdder bot1DuplicateWins = new LongAdder();
+    private final LongAdder bot2DuplicateWins = new LongAdder();
+    private final LongAdder duplicateSplits = new LongAdder();
+    /* @ spec_public @ */
+    private volatile StopReason stopReason = StopReason.MAX_GAMES;
+
+    /* @ public invariant pairing != null; @ */
+
+    /*
+     * @ public normal_behavior
+     *
+     * @ requires pairing != null;
+     *
+     * @ ensures this.pairing == pairing;
+     *
+     * @ ensures finishedGames() == 0 && abandonedGames() == 0;
+     *
+     * @
+     */
+    public SimulationStats(Pairing pairing) {
+        this.pairing = Objects.requireNonNull(pairing);
+    }
+
+    // Must be called when the hand has a result but before the scores are updated, so the player that
+    // was holding eleven points can still be told apart.
+    /*
+     * @ public normal_behavior
+     *
+     * @ requires game != null && game.currentHand().getResult().isPresent();
+     *
+     * @
+     */
+    public void recordHand(Game game) {
+        hands.increment();
+        final Hand hand = game.currentHand();
+        if (!hand.isMaoDeOnze()) return;
+
+        maoDeOnzeHands.increment();
+        final boolean wonByElevenPointPlayer = hand.getResult()
+                .flatMap(HandResult::getWinner)
+                .map(winner -> winner.getScore() == 11)
+                .orElse(false);
+        if (wonByElevenPointPlayer) maoDeOnzeWins.increment();
+    }
+
+    /*
+     * @ public normal_behavior
+     *
+     * @ requires game != null && game.isDone();
+     *
+     * @ ensures finishedGames() == \old(finishedGames()) + 1;
+     *
+     * @
+     */
+    public void recordGame(Game game) {
+        final Player winner = game.getWinner().orElseThrow();
+        final Player loser = winner.equals(game.getPlayer1()) ? game.getPlayer2() : game.getPlayer1();
+        if (winner.getUuid().equals(pairing.bot1Uuid())) bot1Wins.increment();
+        else bot2Wins.increment();
+        pointsMargin.add(winner.getScore() - loser.getScore());
+    }
+
+    // Scores the two games of a duplicate deal as a unit: a bot wins the deal only if it won with both seats.
+    /*
+     * @ public normal_behavior
+     *
+     * @ requires game != null && game.isDone();
+     *
+     * @ requires mirroredGame != null && mirroredGame.isDone();
+     *
+     * @ ensures duplicateDeals() == \old(duplicateDeals()) + 1;
+     *
+     * @
+     */
+    public void recordDuplicate(Game game, Game mirroredGame) {
+        final boolean bot1WonGame = isWonByBot1(game);
+        final boolean bot1WonMirroredGame = isWonByBot1(mirroredGame);
+        if (bot1WonGame && bot1WonMirroredGame) bot1DuplicateWins.increment();
+        else if (!bot1WonGame && !bot1WonMirroredGame) bot2DuplicateWins.increment();
+        else duplicateSplits.increment();
+    }
+
+    private boolean isWonByBot1(Game game) {
+        return game.getWinner().orElseThrow().getUuid().equals(pairing.bot1Uuid());
+    }
+
+    // A game lost because a bot did not decide within its budget counts as a win of its opponent.
+    /*
+     * @ public normal_behavior
+     *
+     * @ requires botName != null;
+     *
+     * @ ensures finishedGames() == \old(finishedGames()) + 1;
+     *
+     * @ ensures forfeits() == \old(forfeits()) + 1;
+     *
+     * @
+     */
+    public void recordForfeit(String botName) {
+        if (botName.equals(pairing.bot1Name())) bot2Wins.increment();
+        else bot1Wins.increment();
+        forfeits.increment();
+    }
+
+    // Both games of the deal go to the opponent, which also wins the deal.
+    /*
+     * @ public normal_behavior
+     *
+     * @ requires botName != null;
+     *
+     * @ ensures finishedGames() == \old(finishedGames()) + 2;
+     *
+     * @ ensures duplicateDeals() == \old(duplicateDeals()) + 1;
+     *
+     * @
+     */
+    public void recordDuplicateForfeit(String botName) {
+        recordForfeit(botName);
+        recordForfeit(botName);
+        if (botName.equals(pairing.bot1Name())) bot2DuplicateWins.increment();
+        else bot1DuplicateWins.increment();
+    }
+
+    /*
+     * @ public normal_behavior
+     *
+     * @ ensures abandonedGames() == \old(abandonedGames()) + 1;
+     *
+     * @
+     */
+    public void recordAbandoned() {
+        abandonedGames.increment();
+    }
+
+    // Set by the scheduler when an early stopping test decides the pairing before its last game.
+    /*
+     * @ public normal_behavior
+     *
+     * @ requires stopReason != null;
+     *
+     * @ ensures stopReason() == stopReason;
+     *
+     * @
+     */
+    public void stop(StopReason stopReason) {
+        this.stopReason = Objects.requireNonNull(stopReason);
+    }
+
+    public StopReason stopReason() {
+        return stopReason;
+    }
+
+    public boolean stoppedEarly() {
+        return stopReason != StopReason.MAX_GAMES;
+    }
+
+    public Pairing pairing() {
+        return pairing;
+    }
+
+    public long bot1Wins() {
+        return bot1Wins.sum();
+    }
+
+    public long bot2Wins() {
+        return bot2Wins.sum();
+    }
+
+    /*
+     * @ public normal_behavior
+     *
+     * @ requires botName != null;
+     *
+     * @ ensures \result >= 0;
+     *
+     * @
+     */
+    public long winsOf(String botName) {
+        long wins = 0;
+        if (botName.equals(pairing.bot1Name())) wins += bot1Wins();
+        if (botName.equals(pairing.bot2Name())) wins += bot2Wins();
+        return wins;
+    }
+
+    public long finishedGames() {
+        return bot1Wins() + bot2Wins();
+    }
+
+    public long abandonedGames() {
+        return abandonedGames.sum();
+    }
+
+    public long forfeits() {
+        return forfeits.sum();
+    }
+
+    public long hands() {
+        return hands.sum();
+    }
+
+    public long maoDeOnzeHands() {
+        return maoDeOnzeHands.sum();
+    }
+
+    public long maoDeOnzeWins() {
+        return maoDeOnzeWins.sum();
+    }
+
+    public long bot1DuplicateWins() {
+        return bot1DuplicateWins.sum();
+    }
+
+    public long bot2DuplicateWins() {
+        return bot2DuplicateWins.sum();
+    }
+
+    public long duplicateSplits() {
+        return duplicateSplits.sum();
+    }
+
+    public long duplicateDeals() {
+        return bot1DuplicateWins() + bot2DuplicateWins() + duplicateSplits();
+    }
+
+    public ConfidenceInterval bot1WinRate() {
+        return ConfidenceInterval.wilson(bot1Wins(), finishedGames());
+    }
+
+    public double averagePointsMargin() {
+        final long games = finishedGames();
+        return games == 0 ? 0.0 : (double) pointsMargin.sum() / games;
+    }
+
+    public double averageHandsPerGame() {
+        final long games = finishedGames();
+        return games == 0 ? 0.0 : (double) hands() / games;
+    }
+
+    // One entry per finished game, for callers still working with per game results.
+    /*
+     * @ public normal_behavior
+     *
+     * @ ensures \result.size() == finishedGames();
+     *
+     * @
+     */
+    public List<PlayWithBotsDto> toResults() {
+        final List<PlayWithBotsDto> results = new ArrayList<>();
+        results.addAll(Collections.nCopies((int) bot1Wins(), new PlayWithBotsDto(pairing.bot1Uuid(), pairing.bot1Name())));
+        results.addAll(Collections.nCopies((int) bot2Wins(), new PlayWithBotsDto(pairing.bot2Uuid(), pairing.bot2Name())));
+        return results;
+    }
+
+    @Override
+    public String toString() {
+        return "SimulationStats{" +
+                "pairing=" + pairing.bot1Name() + " x " + pairing.bot2Name() +
+                ", bot1Wins=" + bot1Wins() +
+                ", bot2Wins=" + bot2Wins() +
+                ", abandonedGames=" + abandonedGames() +
+                ", forfeits=" + forfeits() +
+                ", averagePointsMargin=" + averagePointsMargin() +
+                ", averageHandsPerGame=" + averageHandsPerGame() +
+                ", maoDeOnzeHands=" + maoDeOnzeHands() +
+                ", maoDeOnzeWins=" + maoDeOnzeWins() +
+                ", bot1DuplicateWins=" + bot1DuplicateWins() +
+                ", bot2DuplicateWins=" + bot2DuplicateWins() +
+                ", duplicateSplits=" + duplicateSplits() +
+                ", stopReason=" + stopReason +
+                '}';
+    }
+}
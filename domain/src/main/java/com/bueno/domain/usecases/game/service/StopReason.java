@@ -0,0 +1,9 @@
+package com.bueno.domain.usecases.game.service;
+
+// Why a pairing stopped dispatching games: it played all the games of the plan, or a sequential test
+// decided which of the two bots is stronger before that.
+public enum StopReason {
+    MAX_GAMES,
+    BOT1_STRONGER,
+    BOT2_STRONGER
+}
@@ -0,0 +1,128 @@
+package com.bueno.domain.usecases.game.service;
+
+import java.util.*;
+
+// Pairwise head-to-head table of a round-robin. Cell [winner][loser] counts the games the winner took
+// from that opponent, so a single game credits one bot and debits the other; the totals and the
+// per-opponent breakdown of every bot are read from the same table.
+public class WinMatrix {
+    /* @ spec_public @ */
+    private final List<String> botNames;
+    /* @ spec_public @ */
+    private final Map<String, Integer> indexes = new HashMap<>();
+    /* @ spec_public @ */
+    private final long[][] wins;
+
+    /*
+     * @ public invariant botNames != null;
+     *
+     * @ public invariant wins.length == botNames.size();
+     *
+     * @
+     */
+
+    /*
+     * @ public normal_behavior
+     *
+     * @ requires botNames != null;
+     *
+     * @ ensures this.botNames.equals(botNames);
+     *
+     * @
+     */
+    public WinMatrix(List<String> botNames) {
+        this.botNames = List.copyOf(botNames);
+        for (int i = 0; i < this.botNames.size(); i++)
+            indexes.put(this.botNames.get(i), i);
+        wins = new long[this.botNames.size()][this.botNames.size()];
+    }
+
+    /*
+     * @ public normal_behavior
+     *
+     * @ requires stats != null;
+     *
+     * @
+     */
+    public void addResults(SimulationStats stats) {
+        final int bot1 = indexOf(stats.pairing().bot1Name());
+        final int bot2 = indexOf(stats.pairing().bot2Name());
+        wins[bot1][bot2] += stats.bot1Wins();
+        wins[bot2][bot1] += stats.bot2Wins();
+    }
+
+    /*
+     * @ public normal_behavior
+     *
+     * @ requires botName != null && opponentName != null;
+     *
+     * @ ensures \result >= 0;
+     *
+     * @
+     */
+    public long winsAgainst(String botName, String opponentName) {
+        return wins[indexOf(botName)][indexOf(opponentName)];
+    }
+
+    /*
+     * @ public normal_behavior
+     *
+     * @ requires botName != null;
+     *
+     * @ ensures \result >= 0;
+     *
+     * @
+     */
+    public long totalWins(String botName) {
+        return Arrays.stream(wins[indexOf(botName)]).sum();
+    }
+
+    /*
+     * @ public normal_behavior
+     *
+     * @ requires botName != null;
+     *
+     * @ ensures \result != null && !\result.containsKey(botName);
+     *
+     * @
+     */
+    public Map<String, Long> breakdown(String botName) {
+        final int bot = indexOf(botName);
+        final Map<String, Long> breakdown = new LinkedHashMap<>();
+        for (int opponent = 0; opponent < botNames.size(); opponent++)
+            if (opponent != bot) breakdown.put(botNames.get(opponent), wins[bot][opponent]);
+        return breakdown;
+    }
+
+    /*
+     * @ public normal_behavior
+     *
+     * @ ensures \result != null && \result.size() == botNames.size();
+     *
+     * @
+     */
+    public Map<String, Long> totals() {
+        final Map<String, Long> totals = new LinkedHashMap<>();
+        botNames.forEach(botName -> totals.put(botName, totalWins(botName)));
+        return totals;
+    }
+
+    /*
+     * @ public normal_behavior
+     *
+     * @ ensures \result != null && \result.size() == botNames.size();
+     *
+     * @
+     */
+    public Map<String, Map<String, Long>> headToHead() {
+        final Map<String, Map<String, Long>> headToHead = new LinkedHashMap<>();
+        botNames.forEach(botName -> headToHead.put(botName, breakdown(botName)));
+        return headToHead;
+    }
+
+    private int indexOf(String botName) {
+        final Integer index = indexes.get(botName);
+        if (index == null) throw new NoSuchElementException("Bot is not part of the round-robin: " + botName);
+        return index;
+    }
+}
@@ -40,7 +40,6 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.validation.ObjectError;
 
-import java.util.List;
 import java.util.NoSuchElementException;
 import java.util.Objects;
 
@@ -170,9 +169,7 @@ public class CreateGameUseCase {
     }
 
     private boolean hasNoBotServiceWith(String botName) {
-        List<String> availableBots = botManagerService.providersNames();
-        boolean hasService = availableBots.contains(botName);
-        return !Objects.requireNonNull(botManagerService.providersNames()).contains(botName);
+        return !botManagerService.hasProvider(botName);
     }
 
     /*
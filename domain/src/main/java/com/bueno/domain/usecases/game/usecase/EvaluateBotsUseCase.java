@@ -4,20 +4,26 @@ import com.bueno.domain.usecases.bot.providers.BotManagerService;
 import com.bueno.domain.usecases.bot.providers.RemoteBotApi;
 import com.bueno.domain.usecases.bot.repository.RemoteBotRepository;
 import com.bueno.domain.usecases.game.dtos.EvaluateResultsDto;
-import com.bueno.domain.usecases.game.dtos.PlayWithBotsDto;
+import com.bueno.domain.usecases.game.service.ConfidenceInterval;
+import com.bueno.domain.usecases.game.service.SequentialTest;
+import com.bueno.domain.usecases.game.service.SimulationExecutor;
+import com.bueno.domain.usecases.game.service.SimulationPlan;
+import com.bueno.domain.usecases.game.service.SimulationPlan.Dealing;
 import com.bueno.domain.usecases.game.service.SimulationService;
+import com.bueno.domain.usecases.game.service.SimulationStats;
+import com.bueno.domain.usecases.game.service.StopReason;
 import com.bueno.domain.usecases.game.service.WinsAccumulatorService;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.UUID;
-import java.util.stream.Collectors;
+import java.util.Objects;
 
 @Service
 public class EvaluateBotsUseCase {
     public static final int EVALUATE_TIMES = 31;
-    private final UUID uuidBotToEvaluate = UUID.randomUUID();
     private String botToEvaluateName;
     /* @ spec_public @ */
     private final RemoteBotRepository remoteBotRepository;
@@ -25,6 +31,8 @@ public class EvaluateBotsUseCase {
     private final RemoteBotApi botApi;
     /* @ spec_public @ */
     private final BotManagerService providerService;
+    /* @ spec_public @ */
+    private final SimulationExecutor executor;
 
     /*
      * @ public invariant remoteBotRepository != null;
@@ -33,6 +41,8 @@ public class EvaluateBotsUseCase {
      * 
      * @ public invariant providerService != null;
      * 
+     * @ public invariant executor != null;
+     * 
      * @
      */
 
@@ -51,14 +61,46 @@ public class EvaluateBotsUseCase {
      * 
      * @ ensures this.providerService == providerService;
      * 
+     * @ ensures this.executor == SimulationExecutor.shared();
+     * 
      * @
      */
+    @Autowired
     public EvaluateBotsUseCase(RemoteBotRepository remoteBotRepository,
             RemoteBotApi botApi,
             BotManagerService providerService) {
+        this(remoteBotRepository, botApi, providerService, SimulationExecutor.shared());
+    }
+
+    /*
+     * @ public normal_behavior
+     * 
+     * @ requires remoteBotRepository != null;
+     * 
+     * @ requires botApi != null;
+     * 
+     * @ requires providerService != null;
+     * 
+     * @ requires executor != null;
+     * 
+     * @ ensures this.remoteBotRepository == remoteBotRepository;
+     * 
+     * @ ensures this.botApi == botApi;
+     * 
+     * @ ensures this.providerService == providerService;
+     * 
+     * @ ensures this.executor == executor;
+     * 
+     * @
+     */
+    public EvaluateBotsUseCase(RemoteBotRepository remoteBotRepository,
+            RemoteBotApi botApi,
+            BotManagerService providerService,
+            SimulationExecutor executor) {
         this.remoteBotRepository = remoteBotRepository;
         this.botApi = botApi;
         this.providerService = providerService;
+        this.executor = Objects.requireNonNull(executor);
     }
 
     /*
@@ -73,7 +115,52 @@ public class EvaluateBotsUseCase {
      * @
      */
     public EvaluateResultsDto evaluate(List<String> botNames, String botToEvaluateName) {
-        return executeSimulations(botToEvaluateName, botNames);
+        return executeSimulations(botToEvaluateName, botNames, null, EVALUATE_TIMES, Dealing.INDEPENDENT);
+    }
+
+    // Adaptive evaluation: maxGames bounds each opponent, but an opponent stops as soon as the sequential
+    // test decides which bot is stronger, so lopsided pairings take a fraction of the games.
+    /*
+     * @ public normal_behavior
+     * 
+     * @ requires botNames != null;
+     * 
+     * @ requires botToEvaluateName != null;
+     * 
+     * @ requires earlyStopping != null;
+     * 
+     * @ requires maxGames > 0;
+     * 
+     * @ ensures \result != null && \result.numberOfGames() <= \result.maxNumberOfGames();
+     * 
+     * @
+     */
+    public EvaluateResultsDto evaluate(List<String> botNames, String botToEvaluateName,
+            SequentialTest earlyStopping, int maxGames) {
+        return evaluate(botNames, botToEvaluateName, earlyStopping, maxGames, Dealing.INDEPENDENT);
+    }
+
+    // Duplicate dealing is opt-in: every deal is played twice with the seats swapped, so an odd maxGames
+    // is rounded up to whole deals and maxNumberOfGames reports the games actually scheduled.
+    /*
+     * @ public normal_behavior
+     * 
+     * @ requires botNames != null;
+     * 
+     * @ requires botToEvaluateName != null;
+     * 
+     * @ requires earlyStopping != null && dealing != null;
+     * 
+     * @ requires maxGames > 0;
+     * 
+     * @ ensures \result != null && \result.numberOfGames() <= \result.maxNumberOfGames();
+     * 
+     * @
+     */
+    public EvaluateResultsDto evaluate(List<String> botNames, String botToEvaluateName,
+            SequentialTest earlyStopping, int maxGames, Dealing dealing) {
+        return executeSimulations(botToEvaluateName, botNames, Objects.requireNonNull(earlyStopping), maxGames,
+                Objects.requireNonNull(dealing));
     }
 
     /*
@@ -87,47 +174,51 @@ public class EvaluateBotsUseCase {
      */
     public EvaluateResultsDto evaluateWithAll(String botToEvaluateName) {
         List<String> botNames = providerService.providersNames();
-        return executeSimulations(botToEvaluateName, botNames);
+        return executeSimulations(botToEvaluateName, botNames, null, EVALUATE_TIMES, Dealing.INDEPENDENT);
     }
 
-    private EvaluateResultsDto executeSimulations(String botToEvaluateName, List<String> botNames) {
+    private EvaluateResultsDto executeSimulations(String botToEvaluateName, List<String> botNames,
+            SequentialTest earlyStopping, int maxGames, Dealing dealing) {
         setBotToEvaluateName(botToEvaluateName);
-        final long numberOfGames = (long) (botNames.size() - 1) * EVALUATE_TIMES;
+        // Every duplicate deal is played twice with the seats swapped.
+        final int gamesPerPairing = dealing == Dealing.DUPLICATE ? (maxGames + 1) / 2 : maxGames;
+        final int gamesPerOpponent = dealing == Dealing.DUPLICATE ? 2 * gamesPerPairing : gamesPerPairing;
 
         final long start = System.currentTimeMillis();
-        List<List<PlayWithBotsDto>> results = botNames.stream().filter(this::isNotEvaluatedBot).map(this::run).toList();
+        List<SimulationStats> results = run(botNames, earlyStopping, gamesPerPairing, dealing);
         final long end = System.currentTimeMillis();
 
         final long computingTime = (end - start);
+        final long numberOfGames = results.stream().mapToLong(SimulationStats::finishedGames).sum();
+        final long abandonedGames = results.stream().mapToLong(SimulationStats::abandonedGames).sum();
 
-        final long evaluatedBotWins = results.stream().mapToLong(this::resultAccumulator).sum();
+        final long evaluatedBotWins = results.stream().mapToLong(stats -> stats.winsOf(botToEvaluateName)).sum();
         final long defeatedOpponents = results.stream()
-                .mapToLong(match -> WinsAccumulatorService.getWins(match, botToEvaluateName, EVALUATE_TIMES)).sum();
+                .mapToLong(stats -> WinsAccumulatorService.getWins(stats, botToEvaluateName,
+                        (int) stats.finishedGames()))
+                .sum();
         final long numberOfOpponents = results.size();
+        final long maxNumberOfGames = (long) gamesPerOpponent * numberOfOpponents;
+        final ConfidenceInterval winRateInterval = ConfidenceInterval.wilson(evaluatedBotWins, numberOfGames);
+        final Map<String, StopReason> stopReasons = new LinkedHashMap<>();
+        results.forEach(stats -> stopReasons.put(stats.pairing().bot2Name(), stats.stopReason()));
 
         double winRate = ((double) evaluatedBotWins / numberOfGames) * 100;
         double percentile = (((double) defeatedOpponents / (botNames.size() - 1)) * 100);
 
         return new EvaluateResultsDto(botToEvaluateName, computingTime, numberOfGames, evaluatedBotWins, winRate,
-                percentile, defeatedOpponents, numberOfOpponents);
-    }
-
-    private boolean isNotEvaluatedBot(String opponentName) {
-        return !opponentName.equals(botToEvaluateName);
-    }
-
-    private List<PlayWithBotsDto> run(String challengedBotName) {
-        final var playManyService = new SimulationService(remoteBotRepository, botApi, providerService);
-        return playManyService.runInParallel(uuidBotToEvaluate, botToEvaluateName, UUID.randomUUID(), challengedBotName,
-                EVALUATE_TIMES);
+                percentile, defeatedOpponents, numberOfOpponents, maxNumberOfGames,
+                winRateInterval.lower() * 100, winRateInterval.upper() * 100, stopReasons, abandonedGames);
     }
 
-    private Long resultAccumulator(List<PlayWithBotsDto> results) {
-        Map<String, Long> collectResults = results.stream()
-                .collect(Collectors.groupingBy(PlayWithBotsDto::name, Collectors.counting()));
-        if (!collectResults.containsKey(botToEvaluateName))
-            return 0L;
-        return collectResults.get(botToEvaluateName);
+    private List<SimulationStats> run(List<String> opponentNames, SequentialTest earlyStopping, int gamesPerPairing,
+            Dealing dealing) {
+        final var playManyService = new SimulationService(remoteBotRepository, botApi, providerService, executor);
+        SimulationPlan plan = SimulationPlan.oneAgainstAll("evaluate " + botToEvaluateName,
+                SimulationPlan.DEFAULT_PRIORITY, botToEvaluateName, opponentNames, gamesPerPairing)
+                .withDealing(dealing);
+        if (earlyStopping != null) plan = plan.withEarlyStopping(earlyStopping);
+        return playManyService.runPlan(plan);
     }
 
     private void setBotToEvaluateName(String botToEvaluateName) {
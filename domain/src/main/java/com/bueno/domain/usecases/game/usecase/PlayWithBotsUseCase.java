@@ -23,12 +23,16 @@ package com.bueno.domain.usecases.game.usecase;
 import com.bueno.domain.usecases.bot.providers.BotManagerService;
 import com.bueno.domain.usecases.bot.providers.RemoteBotApi;
 import com.bueno.domain.usecases.bot.repository.RemoteBotRepository;
-import com.bueno.domain.usecases.game.dtos.PlayWithBotsDto;
 import com.bueno.domain.usecases.game.dtos.PlayWithBotsResultsDto;
+import com.bueno.domain.usecases.game.service.SimulationExecutor;
+import com.bueno.domain.usecases.game.service.SimulationPlan;
+import com.bueno.domain.usecases.game.service.SimulationPlan.Pairing;
 import com.bueno.domain.usecases.game.service.SimulationService;
+import com.bueno.domain.usecases.game.service.SimulationStats;
 
-import java.util.List;
+import java.util.Objects;
 import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
 
 public class PlayWithBotsUseCase {
 
@@ -38,6 +42,8 @@ public class PlayWithBotsUseCase {
     private final RemoteBotApi remoteBotApi;
     /* @ spec_public @ */
     private final BotManagerService botManagerService;
+    /* @ spec_public @ */
+    private final SimulationExecutor executor;
 
     /*
      * @ public invariant remoteBotRepository != null;
@@ -46,6 +52,8 @@ public class PlayWithBotsUseCase {
      * 
      * @ public invariant botManagerService != null;
      * 
+     * @ public invariant executor != null;
+     * 
      * @
      */
 
@@ -64,13 +72,42 @@ public class PlayWithBotsUseCase {
      * 
      * @ ensures this.botManagerService == botManagerService;
      * 
+     * @ ensures this.executor == SimulationExecutor.shared();
+     * 
      * @
      */
     public PlayWithBotsUseCase(RemoteBotRepository remoteBotRepository, RemoteBotApi remoteBotApi,
             BotManagerService botManagerService) {
+        this(remoteBotRepository, remoteBotApi, botManagerService, SimulationExecutor.shared());
+    }
+
+    /*
+     * @ public normal_behavior
+     * 
+     * @ requires remoteBotRepository != null;
+     * 
+     * @ requires remoteBotApi != null;
+     * 
+     * @ requires botManagerService != null;
+     * 
+     * @ requires executor != null;
+     * 
+     * @ ensures this.remoteBotRepository == remoteBotRepository;
+     * 
+     * @ ensures this.remoteBotApi == remoteBotApi;
+     * 
+     * @ ensures this.botManagerService == botManagerService;
+     * 
+     * @ ensures this.executor == executor;
+     * 
+     * @
+     */
+    public PlayWithBotsUseCase(RemoteBotRepository remoteBotRepository, RemoteBotApi remoteBotApi,
+            BotManagerService botManagerService, SimulationExecutor executor) {
         this.remoteBotRepository = remoteBotRepository;
         this.remoteBotApi = remoteBotApi;
         this.botManagerService = botManagerService;
+        this.executor = Objects.requireNonNull(executor);
     }
 
     /*
@@ -92,11 +129,38 @@ public class PlayWithBotsUseCase {
      */
     public PlayWithBotsResultsDto playWithBots(UUID uuidBot1, String bot1Name, UUID uuidBot2, String bot2Name,
             int times) {
+        return playWithBots(uuidBot1, bot1Name, uuidBot2, bot2Name, times, ThreadLocalRandom.current().nextLong());
+    }
+
+    /*
+     * @ public normal_behavior
+     * 
+     * @ requires uuidBot1 != null;
+     * 
+     * @ requires bot1Name != null;
+     * 
+     * @ requires uuidBot2 != null;
+     * 
+     * @ requires bot2Name != null;
+     * 
+     * @ requires times > 0;
+     * 
+     * @ ensures \result != null;
+     * 
+     * @ ensures \result.seed() == seed;
+     * 
+     * @
+     */
+    public PlayWithBotsResultsDto playWithBots(UUID uuidBot1, String bot1Name, UUID uuidBot2, String bot2Name,
+            int times, long seed) {
         final long start = System.currentTimeMillis();
-        final var simulator = new SimulationService(remoteBotRepository, remoteBotApi, botManagerService);
-        final List<PlayWithBotsDto> results = simulator.runInParallel(uuidBot1, bot1Name, uuidBot2, bot2Name, times);
+        final var simulator = new SimulationService(remoteBotRepository, remoteBotApi, botManagerService, executor);
+        final Pairing pairing = new Pairing(uuidBot1, bot1Name, uuidBot2, bot2Name, times);
+        final SimulationPlan plan = SimulationPlan.of(bot1Name + " x " + bot2Name, pairing).withSeed(seed);
+        final SimulationStats stats = simulator.runPlan(plan).get(0);
         final long end = System.currentTimeMillis();
-        final PlayWithBotsResultsDto response = new PlayWithBotsResultsDto(results, (end - start), times);
+        final PlayWithBotsResultsDto response = new PlayWithBotsResultsDto(stats.toResults(), (end - start), times,
+                seed, stats.abandonedGames());
         return response;
     }
 }
@@ -1,20 +1,29 @@
 package com.bueno.domain.usecases.game.usecase;
 
 import com.bueno.domain.usecases.bot.providers.BotManagerService;
+import com.bueno.domain.usecases.bot.providers.DecisionBudget;
 import com.bueno.domain.usecases.bot.providers.RemoteBotApi;
 import com.bueno.domain.usecases.bot.repository.RemoteBotRepository;
 import com.bueno.domain.usecases.game.dtos.BotRankInfoDto;
-import com.bueno.domain.usecases.game.dtos.PlayWithBotsDto;
+import com.bueno.domain.usecases.game.service.SimulationExecutor;
+import com.bueno.domain.usecases.game.service.SimulationPlan;
+import com.bueno.domain.usecases.game.service.SimulationPlan.Dealing;
 import com.bueno.domain.usecases.game.service.SimulationService;
+import com.bueno.domain.usecases.game.service.SimulationStats;
+import com.bueno.domain.usecases.game.service.WinMatrix;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 import java.util.*;
-import java.util.concurrent.Callable;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.stream.Collectors;
 
 @Service
 public class RankBotsUseCase {
     public static final int TIMES_RANK = 7;
+    // Every duplicate deal is played twice with the seats swapped, so a duplicate ranking plays
+    // 2 * RANK_DUPLICATE_DEALS games per pair.
+    public static final int RANK_DUPLICATE_DEALS = (TIMES_RANK + 1) / 2;
 
     /* @ spec_public @ */
     private final RemoteBotRepository remoteBotRepository;
@@ -25,6 +34,8 @@ public class RankBotsUseCase {
     /* @ spec_public @ */
     private final BotManagerService botManagerService;
     /* @ spec_public @ */
+    private final SimulationExecutor executor;
+    /* @ spec_public @ */
     private boolean isRanking = false;
     /* @ spec_public @ */
     private boolean hasRank = false;
@@ -32,6 +43,12 @@ public class RankBotsUseCase {
     private List<BotRankInfoDto> rank = new ArrayList<>();
     /* @ spec_public @ */
     Map<String, Long> resultsMap = new HashMap<>();
+    /* @ spec_public @ */
+    private WinMatrix winMatrix;
+    /* @ spec_public @ */
+    private long seed;
+    /* @ spec_public @ */
+    private long abandonedGames;
     private long start;
 
     /*
@@ -41,6 +58,8 @@ public class RankBotsUseCase {
      * 
      * @ public invariant botManagerService != null;
      * 
+     * @ public invariant executor != null;
+     * 
      * @ public invariant rank != null;
      * 
      * @ public invariant resultsMap != null;
@@ -61,12 +80,58 @@ public class RankBotsUseCase {
      * 
      * @ ensures this.botManagerService != null;
      * 
+     * @ ensures this.executor == SimulationExecutor.shared();
+     * 
      * @
      */
+    @Autowired
     public RankBotsUseCase(RemoteBotRepository remoteBotRepository, RemoteBotApi remoteBotApi) {
+        this(remoteBotRepository, remoteBotApi, SimulationExecutor.shared());
+    }
+
+    /*
+     * @ public normal_behavior
+     * 
+     * @ requires remoteBotRepository != null;
+     * 
+     * @ requires remoteBotApi != null;
+     * 
+     * @ requires executor != null;
+     * 
+     * @ ensures this.remoteBotRepository == remoteBotRepository;
+     * 
+     * @ ensures this.remoteBotApi == remoteBotApi;
+     * 
+     * @ ensures this.botManagerService != null;
+     * 
+     * @ ensures this.executor == executor;
+     * 
+     * @
+     */
+    public RankBotsUseCase(RemoteBotRepository remoteBotRepository, RemoteBotApi remoteBotApi,
+            SimulationExecutor executor) {
+        this(remoteBotRepository, remoteBotApi, new BotManagerService(remoteBotRepository, remoteBotApi), executor);
+    }
+
+    /*
+     * @ public normal_behavior
+     * 
+     * @ requires botManagerService != null;
+     * 
+     * @ requires executor != null;
+     * 
+     * @ ensures this.botManagerService == botManagerService;
+     * 
+     * @ ensures this.executor == executor;
+     * 
+     * @
+     */
+    public RankBotsUseCase(RemoteBotRepository remoteBotRepository, RemoteBotApi remoteBotApi,
+            BotManagerService botManagerService, SimulationExecutor executor) {
         this.remoteBotRepository = remoteBotRepository;
         this.remoteBotApi = remoteBotApi;
-        botManagerService = new BotManagerService(remoteBotRepository, remoteBotApi);
+        this.botManagerService = Objects.requireNonNull(botManagerService);
+        this.executor = Objects.requireNonNull(executor);
         botNames = botManagerService.providersNames();
     }
 
@@ -80,11 +145,45 @@ public class RankBotsUseCase {
      * @
      */
     public Map<String, Long> rankAll() {
+        return rankAll(ThreadLocalRandom.current().nextLong());
+    }
+
+    /*
+     * @ public normal_behavior
+     * 
+     * @ ensures \result != null;
+     * 
+     * @ ensures isRanking == false;
+     * 
+     * @ ensures this.seed == seed;
+     * 
+     * @
+     */
+    public Map<String, Long> rankAll(long seed) {
+        return rankAll(seed, Dealing.INDEPENDENT);
+    }
+
+    /*
+     * @ public normal_behavior
+     * 
+     * @ requires dealing != null;
+     * 
+     * @ ensures \result != null;
+     * 
+     * @ ensures isRanking == false;
+     * 
+     * @ ensures this.seed == seed;
+     * 
+     * @
+     */
+    public Map<String, Long> rankAll(long seed, Dealing dealing) {
+        Objects.requireNonNull(dealing);
+        this.seed = seed;
         setRank(new ArrayList<>());
         setIsRanking(true);
         start = System.currentTimeMillis();
         System.out.println("simulando");
-        botNames.forEach(this::playAgainstAll);
+        playRoundRobin(dealing);
         resultsHandler(resultsMap, botNames);
         System.out.println("terminou");
         setIsRanking(false);
@@ -102,28 +201,24 @@ public class RankBotsUseCase {
         }
     }
 
-    private void playAgainstAll(String botName) {
-
-        UUID uuidBotToEvaluate = UUID.randomUUID();
-        long botWins = botNames.stream()
-                .filter(opponentName -> isNotEvaluatedBot(opponentName, botName))
-                .map(opponent -> runSimulations(opponent, botName, uuidBotToEvaluate))
-                .flatMap(List::stream)
-                .filter(result -> result.name().equals(botName))
-                .count();
-
-        resultsMap.put(botName, botWins);
-    }
-
-    private boolean isNotEvaluatedBot(String opponentName, String botToEvaluateName) {
-        return !opponentName.equals(botToEvaluateName);
-    }
-
-    private List<PlayWithBotsDto> runSimulations(String challengedBotName, String botToEvaluateName,
-            UUID uuidBotToEvaluate) {
-        final var simulator = new SimulationService(remoteBotRepository, remoteBotApi, botManagerService);
-        return simulator.runInParallel(uuidBotToEvaluate, botToEvaluateName, UUID.randomUUID(), challengedBotName,
-                TIMES_RANK);
+    // Each unordered pair is played once with the seats alternated, or on duplicate deals when asked, and the
+    // games are credited to both bots in the win matrix. The whole round-robin is submitted as a single plan,
+    // so the scheduler keeps all cores busy until the last game. Each ranking is a run of its own under the
+    // tournament budget: a bot that overran in an earlier ranking is asked again.
+    private void playRoundRobin(Dealing dealing) {
+        final BotManagerService budgetedBots = botManagerService.withDecisionBudget(DecisionBudget.TOURNAMENT);
+        final var simulator = new SimulationService(remoteBotRepository, remoteBotApi, budgetedBots, executor);
+        final SimulationPlan plan = (dealing == Dealing.DUPLICATE
+                ? SimulationPlan.duplicateRoundRobin("rank", SimulationPlan.BACKGROUND_PRIORITY, botNames,
+                        RANK_DUPLICATE_DEALS)
+                : SimulationPlan.roundRobin("rank", SimulationPlan.BACKGROUND_PRIORITY, botNames, TIMES_RANK))
+                .withSeed(seed);
+        final WinMatrix matrix = new WinMatrix(botNames);
+        final List<SimulationStats> results = simulator.runPlan(plan);
+        results.forEach(matrix::addResults);
+        winMatrix = matrix;
+        abandonedGames = results.stream().mapToLong(SimulationStats::abandonedGames).sum();
+        resultsMap.putAll(matrix.totals());
     }
 
     /*
@@ -170,6 +265,33 @@ public class RankBotsUseCase {
         this.hasRank = hasRank;
     }
 
+    /*
+     * @ public normal_behavior
+     * 
+     * @ ensures winMatrix == null ==> \result.isEmpty();
+     * 
+     * @
+     */
+    public Map<String, Map<String, Long>> getHeadToHead() {
+        return winMatrix == null ? Map.of() : winMatrix.headToHead();
+    }
+
+    // Master seed of the last ranking. Passing it back to rankAll with the same dealing deals the same cards again.
+    public long getSeed() {
+        return seed;
+    }
+
+    /*
+     * @ public normal_behavior
+     * 
+     * @ ensures \result == abandonedGames;
+     * 
+     * @
+     */
+    public long getAbandonedGames() {
+        return abandonedGames;
+    }
+
     public long getProcessingTime() {
         return System.currentTimeMillis() - start;
     }
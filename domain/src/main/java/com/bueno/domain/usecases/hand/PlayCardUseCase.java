@@ -67,8 +67,6 @@ public class PlayCardUseCase {
      * 
      * @ public invariant botManagerService != null;
      * 
-     * @ public invariant botUseCase != null;
-     * 
      * @
      */
 
@@ -134,6 +132,28 @@ public class PlayCardUseCase {
             RemoteBotApi remoteBotApi,
             GameResultRepository gameResultRepository,
             HandResultRepository handResultRepository, BotManagerService botManagerService) {
+        this(gameRepository, remoteBotRepository, remoteBotApi, gameResultRepository, handResultRepository,
+                botManagerService, new BotUseCase(gameRepository, remoteBotRepository, remoteBotApi,
+                        gameResultRepository, handResultRepository, botManagerService));
+    }
+
+    // Used by the bot handlers: a null botUseCase means the move is made on behalf of a bot whose turn loop
+    // is already being driven by BotUseCase, so the opponent bot must not be triggered from here.
+    /*
+     * @ public normal_behavior
+     * 
+     * @ requires gameRepository != null;
+     * 
+     * @ ensures this.botUseCase == botUseCase;
+     * 
+     * @
+     */
+    public PlayCardUseCase(GameRepository gameRepository,
+            RemoteBotRepository remoteBotRepository,
+            RemoteBotApi remoteBotApi,
+            GameResultRepository gameResultRepository,
+            HandResultRepository handResultRepository, BotManagerService botManagerService,
+            BotUseCase botUseCase) {
 
         this.gameRepository = gameRepository;
         this.gameResultRepository = gameResultRepository;
@@ -141,8 +161,7 @@ public class PlayCardUseCase {
         this.remoteBotRepository = remoteBotRepository;
         this.remoteBotApi = remoteBotApi;
         this.botManagerService = botManagerService;
-        this.botUseCase = new BotUseCase(gameRepository, remoteBotRepository, remoteBotApi, gameResultRepository,
-                handResultRepository, botManagerService);
+        this.botUseCase = botUseCase;
     }
 
     /*
@@ -205,7 +224,8 @@ public class PlayCardUseCase {
         if (gameResult != null)
             return gameResult;
 
-        botUseCase.playWhenNecessary(game, botManagerService);
+        if (botUseCase != null)
+            botUseCase.playWhenNecessary(game, botManagerService);
 
         game = gameRepository.findByPlayerUuid(request.uuid()).map(GameConverter::fromDto).orElseThrow();
         IntelDto intelResponse = IntelConverter.toDto(game.getIntel());
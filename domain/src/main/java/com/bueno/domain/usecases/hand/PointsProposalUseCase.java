@@ -62,8 +62,6 @@ public class PointsProposalUseCase {
      * 
      * @ public invariant botManagerService != null;
      * 
-     * @ public invariant botUseCase != null;
-     * 
      * @
      */
 
@@ -121,12 +119,33 @@ public class PointsProposalUseCase {
             RemoteBotApi remoteBotApi,
             GameResultRepository gameResultRepository,
             HandResultRepository handResultRepository, BotManagerService botManagerService) {
+        this(gameRepository, remoteBotRepository, remoteBotApi, gameResultRepository, handResultRepository,
+                botManagerService, new BotUseCase(gameRepository, remoteBotRepository, remoteBotApi,
+                        gameResultRepository, handResultRepository, botManagerService));
+    }
+
+    // Used by the bot handlers: a null botUseCase means the move is made on behalf of a bot whose turn loop
+    // is already being driven by BotUseCase, so the opponent bot must not be triggered from here.
+    /*
+     * @ public normal_behavior
+     * 
+     * @ requires gameRepository != null;
+     * 
+     * @ ensures this.botUseCase == botUseCase;
+     * 
+     * @
+     */
+    public PointsProposalUseCase(GameRepository gameRepository,
+            RemoteBotRepository remoteBotRepository,
+            RemoteBotApi remoteBotApi,
+            GameResultRepository gameResultRepository,
+            HandResultRepository handResultRepository, BotManagerService botManagerService,
+            BotUseCase botUseCase) {
         this.gameRepository = Objects.requireNonNull(gameRepository);
         this.gameResultRepository = gameResultRepository;
         this.handResultRepository = handResultRepository;
         this.botManagerService = botManagerService;
-        this.botUseCase = new BotUseCase(gameRepository, remoteBotRepository, remoteBotApi, gameResultRepository,
-                handResultRepository, botManagerService);
+        this.botUseCase = botUseCase;
     }
 
     /*
@@ -147,7 +166,8 @@ public class PointsProposalUseCase {
 
         hand.raise(player);
         gameRepository.update(GameConverter.toDto(game));
-        botUseCase.playWhenNecessary(game, botManagerService);
+        if (botUseCase != null)
+            botUseCase.playWhenNecessary(game, botManagerService);
 
         game = gameRepository.findByPlayerUuid(playerUuid).map(GameConverter::fromDto).orElseThrow();
         return IntelConverter.toDto(game.getIntel());
@@ -171,7 +191,8 @@ public class PointsProposalUseCase {
 
         hand.accept(player);
         gameRepository.update(GameConverter.toDto(game));
-        botUseCase.playWhenNecessary(game, botManagerService);
+        if (botUseCase != null)
+            botUseCase.playWhenNecessary(game, botManagerService);
 
         game = gameRepository.findByPlayerUuid(playerUuid).map(GameConverter::fromDto).orElseThrow();
         return IntelConverter.toDto(game.getIntel());
@@ -203,7 +224,8 @@ public class PointsProposalUseCase {
         if (gameResult != null)
             return gameResult;
 
-        botUseCase.playWhenNecessary(game, botManagerService);
+        if (botUseCase != null)
+            botUseCase.playWhenNecessary(game, botManagerService);
 
         game = gameRepository.findByPlayerUuid(playerUuid).map(GameConverter::fromDto).orElseThrow();
         return IntelConverter.toDto(game.getIntel());
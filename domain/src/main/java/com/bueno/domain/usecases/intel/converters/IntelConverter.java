@@ -65,7 +65,8 @@ public class IntelConverter {
                                 intel.event().orElse(null),
                                 intel.eventPlayerUuid().orElse(null),
                                 intel.eventPlayerUsername().orElse(null),
-                                intel.possibleActions());
+                                intel.possibleActions(),
+                                intel.sequence());
         }
 
         /*
@@ -116,7 +117,7 @@ public class IntelConverter {
                                 dto.event(),
                                 dto.eventPlayerUuid(),
                                 dto.eventPlayerUsername(),
-                                dto.possibleActions());
+                                dto.possibleActions()).withSequence(dto.sequence());
         }
 
         /*
@@ -37,7 +37,27 @@ public record IntelDto(Instant timestamp, boolean isGameDone, UUID gameWinner, b
                        CardDto cardToPlayAgainst,
                        List<PlayerDto> players,
                        String event, UUID eventPlayerUuid, String eventPlayerUsername,
-                       Set<String> possibleActions) {
+                       Set<String> possibleActions, long sequence) {
+
+    // For the intel restored without its sequence, which the hand that owns it numbers again.
+    public IntelDto(Instant timestamp, boolean isGameDone, UUID gameWinner, boolean isMaoDeOnze,
+                    Integer handPoints, Integer handPointsProposal,
+                    List<Optional<String>> roundWinnersUsernames,
+                    List<Optional<UUID>> roundWinnersUuid, int roundsPlayed,
+                    CardDto vira,
+                    List<CardDto> openCards,
+                    String handWinner, UUID currentPlayerUuid, int currentPlayerScore,
+                    String currentPlayerUsername, int currentOpponentScore,
+                    String currentOpponentUsername,
+                    CardDto cardToPlayAgainst,
+                    List<PlayerDto> players,
+                    String event, UUID eventPlayerUuid, String eventPlayerUsername,
+                    Set<String> possibleActions) {
+        this(timestamp, isGameDone, gameWinner, isMaoDeOnze, handPoints, handPointsProposal, roundWinnersUsernames,
+                roundWinnersUuid, roundsPlayed, vira, openCards, handWinner, currentPlayerUuid, currentPlayerScore,
+                currentPlayerUsername, currentOpponentScore, currentOpponentUsername, cardToPlayAgainst, players,
+                event, eventPlayerUuid, eventPlayerUsername, possibleActions, 0);
+    }
 
     @Override
     public boolean equals(Object o) {
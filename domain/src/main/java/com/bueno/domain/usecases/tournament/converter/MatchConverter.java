@@ -34,6 +34,9 @@ public class MatchConverter {
                                 match.getP1Score(),
                                 match.getP2Score(),
                                 match.getTimeToExecute(),
+                                match.getStopReason(),
+                                match.getP1WinRateLower(),
+                                match.getP1WinRateUpper(),
                                 (match.getNext() == null ? null : match.getNext().getId()));
         }
 
@@ -63,6 +66,9 @@ public class MatchConverter {
                                                 dto.p1Score(),
                                                 dto.p2Score(),
                                                 dto.timeToExecute(),
+                                                dto.stopReason(),
+                                                p1WinRateLowerOf(dto),
+                                                p1WinRateUpperOf(dto),
                                                 fromDTO(matchDTO, allMatches)))
                                 .orElseGet(() -> new Match(dto.uuid(),
                                                 dto.matchNumber(),
@@ -73,8 +79,21 @@ public class MatchConverter {
                                                 dto.p1Score(),
                                                 dto.p2Score(),
                                                 dto.timeToExecute(),
+                                                dto.stopReason(),
+                                                p1WinRateLowerOf(dto),
+                                                p1WinRateUpperOf(dto),
                                                 null));
                 return match;
         }
 
+        // Matches stored before the win rate interval was kept have no bounds, so they get the interval that
+        // says nothing about the win rate instead of claiming it is exactly zero.
+        private static double p1WinRateLowerOf(MatchDTO dto) {
+                return dto.p1WinRateLower() == null ? 0.0 : dto.p1WinRateLower();
+        }
+
+        private static double p1WinRateUpperOf(MatchDTO dto) {
+                return dto.p1WinRateUpper() == null ? 1.0 : dto.p1WinRateUpper();
+        }
+
 }
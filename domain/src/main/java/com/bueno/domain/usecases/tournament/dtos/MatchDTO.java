@@ -11,8 +11,17 @@ public record MatchDTO(UUID uuid,
                        long p1Score,
                        long p2Score,
                        long timeToExecute,
+                       String stopReason,
+                       Double p1WinRateLower,
+                       Double p1WinRateUpper,
                        UUID next) {
 
+    public MatchDTO(UUID uuid, int matchNumber, String p1Name, String p2Name, boolean available, String winnerName,
+                    long p1Score, long p2Score, long timeToExecute, UUID next) {
+        this(uuid, matchNumber, p1Name, p2Name, available, winnerName, p1Score, p2Score, timeToExecute,
+                null, 0.0, 1.0, next);
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
@@ -3,6 +3,7 @@ package com.bueno.domain.usecases.tournament.usecase;
 import com.bueno.domain.entities.tournament.Match;
 import com.bueno.domain.entities.tournament.Tournament;
 import com.bueno.domain.usecases.bot.providers.BotManagerService;
+import com.bueno.domain.usecases.bot.providers.DecisionBudget;
 import com.bueno.domain.usecases.bot.providers.RemoteBotApi;
 import com.bueno.domain.usecases.bot.repository.RemoteBotRepository;
 import com.bueno.domain.usecases.tournament.converter.MatchConverter;
@@ -81,7 +82,7 @@ public class PlayTournamentMatchesUseCase {
      * 
      * @ ensures this.api == api;
      * 
-     * @ ensures this.provider == botManagerService;
+     * @ ensures this.provider != null;
      * 
      * @ ensures this.getMatchUseCase == getMatchUseCase;
      * 
@@ -183,7 +184,9 @@ public class PlayTournamentMatchesUseCase {
 
     private Tournament playChosenMatch(TournamentDTO dto, UUID chosenMatchId, int numberOfSimulations) {
         Tournament tournament = TournamentConverter.fromDTO(dto, getMatchUseCase);
-        tournament.playByMatchUuid(chosenMatchId, api, provider, remoteBotRepository, numberOfSimulations);
+        // Each match is a run of its own under the tournament budget.
+        final BotManagerService budgetedBots = provider.withDecisionBudget(DecisionBudget.TOURNAMENT);
+        tournament.playByMatchUuid(chosenMatchId, api, budgetedBots, remoteBotRepository, numberOfSimulations);
         return tournament;
     }
 
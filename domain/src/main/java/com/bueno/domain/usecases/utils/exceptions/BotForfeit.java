@@ -0,0 +1,16 @@
+package com.bueno.domain.usecases.utils.exceptions;
+
+// Thrown when a bot can not give a valid decision within its budget. The game it was playing is lost by
+// forfeit.
+public class BotForfeit extends RuntimeException {
+    private final String botName;
+
+    public BotForfeit(String botName, String message) {
+        super(message);
+        this.botName = botName;
+    }
+
+    public String getBotName() {
+        return botName;
+    }
+}
@@ -0,0 +1,9 @@
+package com.bueno.domain.usecases.utils.exceptions;
+
+// Thrown when a remote bot does not give a valid decision in time or its circuit is open.
+public class RemoteBotForfeit extends BotForfeit {
+
+    public RemoteBotForfeit(String botName, String message) {
+        super(botName, message);
+    }
+}
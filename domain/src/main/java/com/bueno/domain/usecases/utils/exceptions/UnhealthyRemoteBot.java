@@ -4,4 +4,8 @@ public class UnhealthyRemoteBot extends RuntimeException {
     public UnhealthyRemoteBot(String message) {
         super(message);
     }
+
+    public UnhealthyRemoteBot(String message, Throwable cause) {
+        super(message, cause);
+    }
 }
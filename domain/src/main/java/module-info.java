@@ -1,12 +1,15 @@
 module domain {
     uses com.bueno.spi.service.BotServiceProvider;
     requires java.logging;
+    requires java.management;
+    requires jdk.management;
     requires bot.spi;
     requires spring.context;
     requires spring.beans;
 
     exports com.bueno.domain.usecases.game.usecase;
     exports com.bueno.domain.usecases.game.dtos;
+    exports com.bueno.domain.usecases.game.service;
     exports com.bueno.domain.usecases.user;
     exports com.bueno.domain.usecases.user.dtos;
     exports com.bueno.domain.usecases.intel;
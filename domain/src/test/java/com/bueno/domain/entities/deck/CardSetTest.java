@@ -0,0 +1,53 @@
+/*
+ *  Copyright (C) 2022 Lucas B. R. de Oliveira - IFSP/SCL
+ *  Contact: lucas <dot> oliveira <at> ifsp <dot> edu <dot> br
+ *
+ *  This file is part of CTruco (Truco game for didactic purpose).
+ *
+ *  CTruco is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  CTruco is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with CTruco.  If not, see <https://www.gnu.org/licenses/>
+ */
+
+package com.bueno.domain.entities.deck;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CardSetTest {
+
+    @Test
+    @DisplayName("Should give every card its own code")
+    void shouldGiveEveryCardItsOwnCode() {
+        for (int code = 0; code < 41; code++) assertThat(Card.ofCode(code).code()).isEqualTo(code);
+        assertThat(Card.closed().code()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should add, find and remove cards")
+    void shouldAddFindAndRemoveCards() {
+        final Card zap = Card.of(Rank.FOUR, Suit.CLUBS);
+        final Card three = Card.of(Rank.THREE, Suit.CLUBS);
+        long sut = CardSet.of(List.of(zap, Card.closed()));
+        sut = CardSet.with(sut, three);
+
+        assertThat(CardSet.contains(sut, zap)).isTrue();
+        assertThat(CardSet.contains(sut, Card.of(Rank.FOUR, Suit.HEARTS))).isFalse();
+        assertThat(CardSet.size(sut)).isEqualTo(3);
+        assertThat(CardSet.toList(sut)).containsExactly(Card.closed(), zap, three);
+        assertThat(CardSet.contains(CardSet.without(sut, zap), zap)).isFalse();
+    }
+}
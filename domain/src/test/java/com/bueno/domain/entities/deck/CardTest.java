@@ -28,6 +28,9 @@ import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.CsvFileSource;
 import org.junit.jupiter.params.provider.CsvSource;
 
+import java.util.Arrays;
+import java.util.List;
+
 import static org.assertj.core.api.Assertions.assertThatNullPointerException;
 import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
 import static org.junit.jupiter.api.Assertions.fail;
@@ -206,4 +209,24 @@ class CardTest {
         final Card zap = Card.of(Rank.THREE, Suit.CLUBS);
         assertThat(zap.compareValueTo(copas, vira)).isPositive();
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Should rank manilhas above every other card under every vira")
+    void shouldRankManilhasAboveEveryOtherCardUnderEveryVira() {
+        final List<Card> cards = Arrays.stream(Rank.values()).filter(rank -> rank != Rank.HIDDEN)
+                .flatMap(rank -> Arrays.stream(Suit.values()).filter(suit -> suit != Suit.HIDDEN)
+                        .map(suit -> Card.of(rank, suit)))
+                .toList();
+        SoftAssertions.assertSoftly(softly -> {
+            for (Card vira : cards) {
+                for (Card card : cards) {
+                    final int value = card.getRelativeValue(vira);
+                    softly.assertThat(card.isManilha(vira)).as(card + " manilha of " + vira)
+                            .isEqualTo(card.getRank() == vira.getRank().next());
+                    if (card.isManilha(vira)) softly.assertThat(value).as(card + " of " + vira).isBetween(10, 13);
+                    else softly.assertThat(value).as(card + " of " + vira).isBetween(1, 9);
+                }
+            }
+        });
+    }
+}
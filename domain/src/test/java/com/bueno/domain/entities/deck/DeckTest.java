@@ -27,6 +27,8 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
 import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
 
 import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
 import static org.junit.jupiter.api.Assertions.*;
@@ -70,6 +72,36 @@ class DeckTest {
         assertThat(deck.take(8)).isNotEqualTo(firstEight);
     }
 
+    @Test
+    @DisplayName("Should deal the same cards when shuffled with the same seed")
+    void shouldDealTheSameCardsWhenShuffledWithTheSameSeed() {
+        final Deck first = new Deck(new SplittableRandom(42));
+        final Deck second = new Deck(new SplittableRandom(42));
+        first.shuffle();
+        second.shuffle();
+        assertThat(first.take(40)).isEqualTo(second.take(40));
+    }
+
+    @Test
+    @DisplayName("Should deal every card exactly once after shuffling")
+    void shouldDealEveryCardExactlyOnceAfterShuffling() {
+        deck.shuffle();
+        final List<Card> cards = deck.take(40);
+        assertEquals(40, Set.copyOf(cards).size());
+        assertEquals(0, deck.size());
+        assertThrows(IndexOutOfBoundsException.class, deck::takeOne);
+    }
+
+    @Test
+    @DisplayName("Should restore the sorted deck on reset")
+    void shouldRestoreTheSortedDeckOnReset() {
+        final List<Card> sorted = new Deck().take(40);
+        deck.shuffle();
+        deck.take(7);
+        deck.reset();
+        assertThat(deck.take(40)).isEqualTo(sorted);
+    }
+
     @Test
     @DisplayName("Should be able to deal multiple cards ")
     void shouldDealMultipleCorrectly() {
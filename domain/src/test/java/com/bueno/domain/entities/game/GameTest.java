@@ -25,6 +25,8 @@ import com.bueno.domain.entities.deck.Deck;
 import com.bueno.domain.entities.deck.Rank;
 import com.bueno.domain.entities.deck.Suit;
 import com.bueno.domain.entities.hand.Hand;
+import com.bueno.domain.entities.hand.HistoryPolicy;
+import com.bueno.domain.entities.intel.Event;
 import com.bueno.domain.entities.intel.Intel;
 import com.bueno.domain.entities.player.Player;
 import org.assertj.core.api.SoftAssertions;
@@ -162,6 +164,74 @@ class GameTest {
         assertThat(sut.getIntelSince(firstHandIntel.timestamp()).size()).isEqualTo(6);
     }
 
+    @Test
+    @DisplayName("Should number intel consecutively across hands")
+    void shouldNumberIntelConsecutivelyAcrossHands() {
+        final Intel firstHandIntel = sut.getIntel();
+        final Hand hand = sut.currentHand();
+
+        hand.playFirstCard(player1, Card.of(Rank.KING, Suit.CLUBS));
+        hand.playSecondCard(player2, Card.of(Rank.JACK, Suit.CLUBS));
+        hand.playFirstCard(player1, Card.of(Rank.KING, Suit.SPADES));
+        hand.playSecondCard(player2, Card.closed());
+        sut.prepareNewHand();
+        sut.currentHand().playFirstCard(player2, Card.of(Rank.KING, Suit.CLUBS));
+
+        assertThat(firstHandIntel.sequence()).isOne();
+        assertThat(sut.getIntelSince(0L)).extracting(Intel::sequence).containsExactly(1L, 2L, 3L, 4L, 5L, 6L, 7L);
+        assertThat(sut.getIntelSince(firstHandIntel.sequence())).hasSize(6);
+        assertThat(sut.getIntelSince(5L)).containsExactly(sut.currentHand().getIntelHistory().toArray(Intel[]::new));
+    }
+
+    @Test
+    @DisplayName("Should get no intel since the last one")
+    void shouldGetNoIntelSinceTheLastOne() {
+        sut.prepareNewHand();
+        assertThat(sut.getIntelSince(sut.getIntel().sequence())).isEmpty();
+        assertThat(sut.getIntelSince(sut.getIntel().timestamp())).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should number intel of restored hands after the hands before them")
+    void shouldNumberIntelOfRestoredHandsAfterTheHandsBeforeThem() {
+        sut.prepareNewHand();
+        final List<Hand> hands = sut.getHands();
+        final Game restored = new Game(UUID.randomUUID(), null, player1, player2, player1, player2,
+                List.of(hands.get(1), hands.get(0)));
+
+        assertThat(restored.getIntelSince(0L)).extracting(Intel::sequence).containsExactly(1L, 2L);
+        assertThat(restored.currentHand().nextIntelSequence()).isEqualTo(3L);
+    }
+
+    @Test
+    @DisplayName("Should keep only the last intel of the hand with last only history")
+    void shouldKeepOnlyTheLastIntelOfTheHandWithLastOnlyHistory() {
+        sut = new Game(player1, player2, UUID.randomUUID(), deck, HistoryPolicy.LAST_ONLY);
+        final Hand hand = sut.currentHand();
+
+        hand.playFirstCard(player1, Card.of(Rank.KING, Suit.CLUBS));
+        hand.playSecondCard(player2, Card.of(Rank.JACK, Suit.CLUBS));
+
+        assertThat(hand.getIntelHistory()).hasSize(1);
+        assertThat(hand.getLastIntel().event()).contains(Event.PLAY.toString());
+        assertThat(hand.getLastIntel().openCards()).hasSize(3);
+    }
+
+    @Test
+    @DisplayName("Should build the last intel on demand with no history")
+    void shouldBuildTheLastIntelOnDemandWithNoHistory() {
+        sut = new Game(player1, player2, UUID.randomUUID(), deck, HistoryPolicy.NONE);
+        final Hand hand = sut.currentHand();
+
+        hand.playFirstCard(player1, Card.of(Rank.KING, Suit.CLUBS));
+
+        assertThat(hand.getIntelHistory()).isEmpty();
+        assertThat(hand.getLastIntel().openCards()).containsExactly(Card.of(Rank.FOUR, Suit.DIAMONDS),
+                Card.of(Rank.KING, Suit.CLUBS));
+        assertThat(hand.getIntelHistory()).hasSize(1);
+        assertThat(sut.getHistoryPolicy()).isEqualTo(HistoryPolicy.NONE);
+    }
+
     @Test
     @DisplayName("Should games with same uuid be equal")
     void shouldGamesWithSameUuidBeEqual() {
@@ -176,6 +176,28 @@ class IntelTest {
         );
     }
 
+    @Test
+    @DisplayName("Should keep the state of the event when read after later moves")
+    void shouldKeepTheStateOfTheEventWhenReadAfterLaterMoves() {
+        when(p1.getUsername()).thenReturn("name1");
+        when(p2.getUsername()).thenReturn("name2");
+        when(p1.getCards()).thenReturn(new ArrayList<>(List.of(Card.of(Rank.TWO, Suit.CLUBS))));
+        when(p2.getCards()).thenReturn(new ArrayList<>(List.of(Card.of(Rank.ACE, Suit.CLUBS))));
+
+        final Hand hand = new Hand(p1, p2, Card.of(Rank.THREE, Suit.CLUBS));
+        final Intel sut = hand.getLastIntel();
+        hand.playFirstCard(p1, Card.of(Rank.TWO, Suit.CLUBS));
+        hand.playSecondCard(p2, Card.of(Rank.ACE, Suit.CLUBS));
+
+        SoftAssertions softly = new SoftAssertions();
+        softly.assertThat(sut.openCards()).containsExactly(Card.of(Rank.THREE, Suit.CLUBS));
+        softly.assertThat(sut.roundWinnersUsernames()).isEmpty();
+        softly.assertThat(sut.currentPlayerUsername()).isEqualTo("name1");
+        softly.assertThat(sut.possibleActions()).containsExactlyInAnyOrder("PLAY", "RAISE");
+        softly.assertThat(hand.getLastIntel().roundWinnersUsernames()).containsExactly(Optional.of("name1"));
+        softly.assertAll();
+    }
+
     @Test
     @DisplayName("Should correctly obtain the name of the round winners")
     void shouldCorrectlyObtainTheNameOfTheRoundWinners() {
@@ -0,0 +1,94 @@
+/*
+ *  Copyright (C) 2022 Lucas B. R. de Oliveira - IFSP/SCL
+ *  Contact: lucas <dot> oliveira <at> ifsp <dot> edu <dot> br
+ *
+ *  This file is part of CTruco (Truco game for didactic purpose).
+ *
+ *  CTruco is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  CTruco is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with CTruco.  If not, see <https://www.gnu.org/licenses/>
+ */
+
+package com.bueno.domain.entities.tournament;
+
+import com.bueno.domain.testsupport.FirstCardBot;
+import com.bueno.domain.usecases.bot.providers.BotManagerService;
+import com.bueno.domain.usecases.bot.providers.RemoteBotApi;
+import com.bueno.domain.usecases.bot.repository.RemoteBotRepository;
+import com.bueno.domain.usecases.game.service.SimulationExecutor;
+import com.bueno.domain.usecases.game.service.StopReason;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class MatchTest {
+
+    @Mock private RemoteBotRepository repository;
+    @Mock private RemoteBotApi botApi;
+    @Mock private BotManagerService botManagerService;
+    private SimulationExecutor executor;
+
+    @BeforeEach
+    void setUp() {
+        executor = new SimulationExecutor(2, 4);
+        when(botManagerService.load(anyString())).thenAnswer(call -> FirstCardBot.quitting(call.getArgument(0)));
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.close();
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 3})
+    @DisplayName("Should play at least the requested number of games in whole duplicate deals")
+    void shouldPlayAtLeastTheRequestedNumberOfGamesInWholeDuplicateDeals(int times) {
+        final Match sut = new Match(UUID.randomUUID(), 1, "BotA", "BotB", true, null, 0, 0, 0, null);
+
+        sut.play(repository, botApi, botManagerService, executor, times, null);
+
+        assertThat(sut.getP1Score() + sut.getP2Score()).isEqualTo(times + 1);
+        assertThat(sut.getWinnerName()).isIn("BotA", "BotB");
+        assertThat(sut.getIsAvailable()).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should stop a lopsided match before playing every game")
+    void shouldStopALopsidedMatchBeforePlayingEveryGame() {
+        final SimulationExecutor wideExecutor = new SimulationExecutor(8, 8);
+        when(botManagerService.load("Raiser")).thenAnswer(call -> FirstCardBot.aggressive("Raiser"));
+        final Match sut = new Match(UUID.randomUUID(), 1, "Raiser", "BotB", true, null, 0, 0, 0, null);
+
+        try {
+            sut.play(repository, botApi, botManagerService, wideExecutor, 31);
+        } finally {
+            wideExecutor.close();
+        }
+
+        assertThat(sut.getStopReason()).isEqualTo(StopReason.BOT1_STRONGER.name());
+        assertThat(sut.getP1Score() + sut.getP2Score()).isLessThan(32);
+        assertThat(sut.getWinnerName()).isEqualTo("Raiser");
+    }
+}
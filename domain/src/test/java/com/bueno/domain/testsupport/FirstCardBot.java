@@ -0,0 +1,67 @@
+/*
+ *  Copyright (C) 2022 Lucas B. R. de Oliveira - IFSP/SCL
+ *  Contact: lucas <dot> oliveira <at> ifsp <dot> edu <dot> br
+ *
+ *  This file is part of CTruco (Truco game for didactic purpose).
+ *
+ *  CTruco is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  CTruco is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with CTruco.  If not, see <https://www.gnu.org/licenses/>
+ */
+
+package com.bueno.domain.testsupport;
+
+import com.bueno.spi.model.CardToPlay;
+import com.bueno.spi.model.GameIntel;
+import com.bueno.spi.service.BotServiceProvider;
+
+// Test bot that always plays its first card. An aggressive one accepts every mao de onze and raises
+// whenever asked; raise requests get the given response.
+public record FirstCardBot(String name, boolean aggressive, int raiseResponse) implements BotServiceProvider {
+
+    public static FirstCardBot passive(String name) {
+        return new FirstCardBot(name, false, 0);
+    }
+
+    public static FirstCardBot aggressive(String name) {
+        return new FirstCardBot(name, true, 1);
+    }
+
+    public static FirstCardBot quitting(String name) {
+        return new FirstCardBot(name, false, -1);
+    }
+
+    @Override
+    public boolean getMaoDeOnzeResponse(GameIntel intel) {
+        return aggressive;
+    }
+
+    @Override
+    public boolean decideIfRaises(GameIntel intel) {
+        return aggressive;
+    }
+
+    @Override
+    public CardToPlay chooseCard(GameIntel intel) {
+        return CardToPlay.of(intel.getCards().get(0));
+    }
+
+    @Override
+    public int getRaiseResponse(GameIntel intel) {
+        return raiseResponse;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+}
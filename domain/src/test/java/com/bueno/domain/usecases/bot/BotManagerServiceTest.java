@@ -0,0 +1,209 @@
+/*
+ *  Copyright (C) 2022 Lucas B. R. de Oliveira - IFSP/SCL
+ *  Contact: lucas <dot> oliveira <at> ifsp <dot> edu <dot> br
+ *
+ *  This file is part of CTruco (Truco game for didactic purpose).
+ *
+ *  CTruco is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  CTruco is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with CTruco.  If not, see <https://www.gnu.org/licenses/>
+ */
+
+package com.bueno.domain.usecases.bot;
+
+import com.bueno.domain.usecases.bot.dtos.RemoteBotDto;
+import com.bueno.domain.usecases.bot.providers.BotManagerService;
+import com.bueno.domain.usecases.bot.providers.DecisionBudget;
+import com.bueno.domain.usecases.bot.providers.DecisionBudget.Overrun;
+import com.bueno.domain.usecases.bot.providers.LocalBotRegistry;
+import com.bueno.domain.usecases.bot.providers.RemoteBotApi;
+import com.bueno.domain.usecases.bot.providers.RemoteBotHealthMonitor;
+import com.bueno.domain.usecases.bot.repository.RemoteBotRepository;
+import com.bueno.domain.usecases.utils.exceptions.BotForfeit;
+import com.bueno.spi.model.CardToPlay;
+import com.bueno.spi.model.GameIntel;
+import com.bueno.spi.model.TrucoCard;
+import com.bueno.spi.service.BotServiceProvider;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.bueno.spi.model.CardRank.*;
+import static com.bueno.spi.model.CardSuit.*;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BotManagerServiceTest {
+
+    @Mock private RemoteBotRepository repository;
+    @Mock private RemoteBotApi api;
+
+    private final RemoteBotDto healthyBot = remoteBot("HealthyBot");
+    private final RemoteBotDto offlineBot = remoteBot("OfflineBot");
+    private BotManagerService sut;
+
+    @BeforeEach
+    void setUp() {
+        sut = new BotManagerService(repository, api);
+    }
+
+    @Test
+    @DisplayName("Should index healthy remote bots by name")
+    void shouldIndexHealthyRemoteBotsByName() {
+        when(repository.findAll()).thenReturn(List.of(healthyBot, offlineBot));
+        when(api.isHealthy(healthyBot)).thenReturn(true);
+        when(api.isHealthy(offlineBot)).thenReturn(false);
+
+        assertThat(sut.providersNames()).contains("HealthyBot").doesNotContain("OfflineBot");
+        assertThat(sut.load("HealthyBot").getName()).isEqualTo("HealthyBot");
+        assertThat(sut.hasProvider("OfflineBot")).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should query remote bots once per health check period")
+    void shouldQueryRemoteBotsOncePerHealthCheckPeriod() {
+        when(repository.findAll()).thenReturn(List.of(healthyBot));
+        when(api.isHealthy(any())).thenReturn(true);
+
+        for (int i = 0; i < 10; i++) sut.load("HealthyBot");
+        sut.providersNames();
+
+        verify(repository, times(1)).findAll();
+    }
+
+    @Test
+    @DisplayName("Should share the remote bot health between services of the same repository and api")
+    void shouldShareTheRemoteBotHealthBetweenServicesOfTheSameRepositoryAndApi() {
+        when(repository.findAll()).thenReturn(List.of(healthyBot));
+        when(api.isHealthy(any())).thenReturn(true);
+
+        sut.load("HealthyBot");
+        new BotManagerService(repository, api).load("HealthyBot");
+
+        verify(repository, times(1)).findAll();
+        verify(api, times(1)).isHealthy(healthyBot);
+    }
+
+    @Test
+    @DisplayName("Should drop remote bots that are gone after a refresh")
+    void shouldDropRemoteBotsThatAreGoneAfterARefresh() {
+        when(repository.findAll()).thenReturn(List.of(healthyBot)).thenReturn(List.of());
+        when(api.isHealthy(any())).thenReturn(true);
+        assertThat(sut.hasProvider("HealthyBot")).isTrue();
+
+        sut.refresh();
+
+        assertThat(sut.hasProvider("HealthyBot")).isFalse();
+        assertThatExceptionOfType(NoSuchElementException.class).isThrownBy(() -> sut.load("HealthyBot"));
+    }
+
+    @Test
+    @DisplayName("Should not forfeit a tournament bot for overruns under a measure-only budget")
+    void shouldNotForfeitATournamentBotForOverrunsUnderAMeasureOnlyBudget() {
+        final SleepingBot bot = new SleepingBot(30);
+        final var root = new BotManagerService(repository, api, new LocalBotRegistry(Map.of("SleepingBot", () -> bot)),
+                new RemoteBotHealthMonitor(repository, api));
+        final var measured = root.withDecisionBudget(
+                new DecisionBudget(Duration.ofMillis(5), Duration.ofSeconds(5), Overrun.MEASURE, false));
+        final var tournament = root.withDecisionBudget(
+                new DecisionBudget(Duration.ofSeconds(1), Duration.ofSeconds(5), Overrun.FORFEIT, true));
+
+        assertThat(measured.load("SleepingBot").getRaiseResponse(intel())).isEqualTo(1);
+        assertThat(tournament.load("SleepingBot").getRaiseResponse(intel())).isEqualTo(1);
+
+        assertThat(bot.calls).hasValue(2);
+    }
+
+    @Test
+    @DisplayName("Should forfeit a bot that overran only for the rest of the run")
+    void shouldForfeitABotThatOverranOnlyForTheRestOfTheRun() {
+        final SleepingBot bot = new SleepingBot(30);
+        final var root = new BotManagerService(repository, api, new LocalBotRegistry(Map.of("SleepingBot", () -> bot)),
+                new RemoteBotHealthMonitor(repository, api));
+        final var budget = new DecisionBudget(Duration.ofMillis(5), Duration.ofSeconds(5), Overrun.FORFEIT, true);
+        final var firstRun = root.withDecisionBudget(budget);
+
+        assertThatExceptionOfType(BotForfeit.class).isThrownBy(() -> firstRun.load("SleepingBot").getRaiseResponse(intel()));
+        assertThatExceptionOfType(BotForfeit.class).isThrownBy(() -> firstRun.load("SleepingBot").getRaiseResponse(intel()));
+        assertThat(bot.calls).hasValue(1);
+
+        bot.delayMillis = 0;
+        assertThat(root.withDecisionBudget(budget).load("SleepingBot").getRaiseResponse(intel())).isEqualTo(1);
+        assertThat(bot.calls).hasValue(2);
+    }
+
+    private static GameIntel intel() {
+        return GameIntel.StepBuilder.with()
+                .gameInfo(List.of(), List.of(TrucoCard.of(KING, HEARTS)), TrucoCard.of(KING, HEARTS), 1)
+                .botInfo(List.of(TrucoCard.of(ACE, SPADES), TrucoCard.of(TWO, CLUBS)), 0)
+                .opponentScore(0)
+                .build();
+    }
+
+    private static final class SleepingBot implements BotServiceProvider {
+        private final AtomicInteger calls = new AtomicInteger();
+        private volatile long delayMillis;
+
+        private SleepingBot(long delayMillis) {
+            this.delayMillis = delayMillis;
+        }
+
+        @Override
+        public boolean getMaoDeOnzeResponse(GameIntel intel) {
+            return false;
+        }
+
+        @Override
+        public boolean decideIfRaises(GameIntel intel) {
+            return false;
+        }
+
+        @Override
+        public CardToPlay chooseCard(GameIntel intel) {
+            return CardToPlay.of(intel.getCards().get(0));
+        }
+
+        @Override
+        public int getRaiseResponse(GameIntel intel) {
+            calls.incrementAndGet();
+            try {
+                Thread.sleep(delayMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return 1;
+        }
+
+        @Override
+        public String getName() {
+            return "SleepingBot";
+        }
+    }
+
+    private static RemoteBotDto remoteBot(String name) {
+        return new RemoteBotDto(UUID.randomUUID(), UUID.randomUUID(), name, "http://localhost", "8080", "", true);
+    }
+}
@@ -0,0 +1,193 @@
+/*
+ *  Copyright (C) 2022 Lucas B. R. de Oliveira - IFSP/SCL
+ *  Contact: lucas <dot> oliveira <at> ifsp <dot> edu <dot> br
+ *
+ *  This file is part of CTruco (Truco game for didactic purpose).
+ *
+ *  CTruco is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  CTruco is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with CTruco.  If not, see <https://www.gnu.org/licenses/>
+ */
+
+package com.bueno.domain.usecases.bot;
+
+import com.bueno.domain.usecases.bot.providers.BudgetedBotServiceProvider;
+import com.bueno.domain.usecases.bot.providers.DecisionBudget;
+import com.bueno.domain.usecases.bot.providers.DecisionBudget.Overrun;
+import com.bueno.domain.usecases.utils.exceptions.BotForfeit;
+import com.bueno.spi.model.CardToPlay;
+import com.bueno.spi.model.GameIntel;
+import com.bueno.spi.model.TrucoCard;
+import com.bueno.spi.service.BotServiceProvider;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+
+import static com.bueno.spi.model.CardRank.*;
+import static com.bueno.spi.model.CardSuit.*;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+class BudgetedBotServiceProviderTest {
+
+    private final GameIntel intel = GameIntel.StepBuilder.with()
+            .gameInfo(List.of(), List.of(TrucoCard.of(KING, HEARTS)), TrucoCard.of(KING, HEARTS), 1)
+            .botInfo(List.of(TrucoCard.of(ACE, SPADES), TrucoCard.of(TWO, CLUBS)), 0)
+            .opponentScore(0)
+            .build();
+    private final LongAdder overruns = new LongAdder();
+
+    @Test
+    @DisplayName("Should answer with the bot decision within the budget")
+    void shouldAnswerWithTheBotDecisionWithinTheBudget() {
+        final var sut = new BudgetedBotServiceProvider(new SlowBot(0), DecisionBudget.DEFAULT, overruns);
+
+        assertThat(sut.getRaiseResponse(intel)).isEqualTo(1);
+        assertThat(overruns.sum()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should play a fallback move when an inline decision overruns")
+    void shouldPlayAFallbackMoveWhenAnInlineDecisionOverruns() {
+        final var budget = new DecisionBudget(Duration.ofMillis(5), Duration.ofSeconds(5), Overrun.FALLBACK, false);
+        final var sut = new BudgetedBotServiceProvider(new SlowBot(30), budget, overruns);
+
+        assertThat(sut.getRaiseResponse(intel)).isEqualTo(-1);
+        assertThat(sut.chooseCard(intel)).isEqualTo(CardToPlay.of(TrucoCard.of(ACE, SPADES)));
+        assertThat(overruns.sum()).isEqualTo(2);
+    }
+
+    @Test
+    @Timeout(5)
+    @DisplayName("Should forfeit an isolated decision that never returns")
+    void shouldForfeitAnIsolatedDecisionThatNeverReturns() {
+        final var budget = new DecisionBudget(Duration.ofMillis(50), Duration.ofSeconds(5), Overrun.FORFEIT, true);
+        final var sut = new BudgetedBotServiceProvider(new SlowBot(Long.MAX_VALUE), budget, overruns);
+
+        assertThatExceptionOfType(BotForfeit.class)
+                .isThrownBy(() -> sut.decideIfRaises(intel))
+                .satisfies(forfeit -> assertThat(forfeit.getBotName()).isEqualTo("SlowBot"));
+    }
+
+    @Test
+    @DisplayName("Should keep the late answer when the budget only measures overruns")
+    void shouldKeepTheLateAnswerWhenTheBudgetOnlyMeasuresOverruns() {
+        final var budget = new DecisionBudget(Duration.ofMillis(5), Duration.ofSeconds(5), Overrun.MEASURE, false);
+        final var sut = new BudgetedBotServiceProvider(new SlowBot(30), budget, overruns);
+
+        assertThat(sut.getRaiseResponse(intel)).isEqualTo(1);
+        assertThat(overruns.sum()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should forfeit without asking a bot that already overran in the run")
+    void shouldForfeitWithoutAskingABotThatAlreadyOverranInTheRun() {
+        final var budget = new DecisionBudget(Duration.ofMillis(5), Duration.ofSeconds(5), Overrun.FORFEIT, true);
+        final var firstGame = new BudgetedBotServiceProvider(new SlowBot(30), budget, overruns);
+        assertThatExceptionOfType(BotForfeit.class).isThrownBy(() -> firstGame.decideIfRaises(intel));
+
+        final SlowBot bot = new SlowBot(0);
+        final var sut = new BudgetedBotServiceProvider(bot, budget, overruns);
+
+        assertThatExceptionOfType(BotForfeit.class).isThrownBy(() -> sut.decideIfRaises(intel));
+        assertThat(bot.calls).isZero();
+    }
+
+    @Test
+    @DisplayName("Should ask a bot again whose overruns were counted in other runs")
+    void shouldAskABotAgainWhoseOverrunsWereCountedInOtherRuns() {
+        final var budget = new DecisionBudget(Duration.ofMillis(50), Duration.ofSeconds(5), Overrun.FORFEIT, true);
+        overruns.increment();
+
+        final var sut = new BudgetedBotServiceProvider(new SlowBot(0), budget, overruns, new LongAdder());
+
+        assertThat(sut.getRaiseResponse(intel)).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should count an overrun both in the run and in the reported total")
+    void shouldCountAnOverrunBothInTheRunAndInTheReportedTotal() {
+        final var budget = new DecisionBudget(Duration.ofMillis(5), Duration.ofSeconds(5), Overrun.MEASURE, false);
+        final LongAdder runOverruns = new LongAdder();
+        final var sut = new BudgetedBotServiceProvider(new SlowBot(30), budget, overruns, runOverruns);
+
+        sut.getRaiseResponse(intel);
+
+        assertThat(overruns.sum()).isEqualTo(1);
+        assertThat(runOverruns.sum()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should reject isolated budgets that only measure overruns")
+    void shouldRejectIsolatedBudgetsThatOnlyMeasureOverruns() {
+        assertThatIllegalArgumentException().isThrownBy(() ->
+                new DecisionBudget(Duration.ofMillis(5), Duration.ofSeconds(5), Overrun.MEASURE, true));
+    }
+
+    @Test
+    @DisplayName("Should stop asking the bot once the game budget is spent")
+    void shouldStopAskingTheBotOnceTheGameBudgetIsSpent() {
+        final var budget = new DecisionBudget(Duration.ofMillis(20), Duration.ofMillis(20), Overrun.FALLBACK, false);
+        final SlowBot bot = new SlowBot(30);
+        final var sut = new BudgetedBotServiceProvider(bot, budget, overruns);
+
+        sut.getRaiseResponse(intel);
+        sut.getRaiseResponse(intel);
+        sut.getRaiseResponse(intel);
+
+        assertThat(bot.calls).isEqualTo(1);
+    }
+
+    private static final class SlowBot implements BotServiceProvider {
+        private final long delayMillis;
+        private int calls;
+
+        private SlowBot(long delayMillis) {
+            this.delayMillis = delayMillis;
+        }
+
+        @Override
+        public boolean getMaoDeOnzeResponse(GameIntel intel) {
+            return think(true);
+        }
+
+        @Override
+        public boolean decideIfRaises(GameIntel intel) {
+            return think(true);
+        }
+
+        @Override
+        public CardToPlay chooseCard(GameIntel intel) {
+            return think(CardToPlay.of(intel.getCards().get(1)));
+        }
+
+        @Override
+        public int getRaiseResponse(GameIntel intel) {
+            return think(1);
+        }
+
+        private <T> T think(T answer) {
+            calls++;
+            try {
+                Thread.sleep(delayMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return answer;
+        }
+    }
+}
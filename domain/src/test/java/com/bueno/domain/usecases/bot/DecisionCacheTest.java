@@ -0,0 +1,97 @@
+/*
+ *  Copyright (C) 2022 Lucas B. R. de Oliveira - IFSP/SCL
+ *  Contact: lucas <dot> oliveira <at> ifsp <dot> edu <dot> br
+ *
+ *  This file is part of CTruco (Truco game for didactic purpose).
+ *
+ *  CTruco is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  CTruco is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with CTruco.  If not, see <https://www.gnu.org/licenses/>
+ */
+
+package com.bueno.domain.usecases.bot;
+
+import com.bueno.domain.usecases.bot.providers.CachingBotServiceProvider;
+import com.bueno.domain.usecases.bot.providers.DecisionCache;
+import com.bueno.spi.model.CardToPlay;
+import com.bueno.spi.model.GameIntel;
+import com.bueno.spi.model.TrucoCard;
+import com.bueno.spi.service.BotServiceProvider;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static com.bueno.spi.model.CardRank.*;
+import static com.bueno.spi.model.CardSuit.*;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class DecisionCacheTest {
+
+    @Mock private BotServiceProvider bot;
+
+    @Test
+    @DisplayName("Should ask a deterministic bot once per distinct intel")
+    void shouldAskADeterministicBotOncePerDistinctIntel() {
+        final GameIntel intel = intel(0);
+        when(bot.chooseCard(intel)).thenReturn(CardToPlay.of(TrucoCard.of(ACE, SPADES)));
+        final DecisionCache cache = new DecisionCache();
+        final CachingBotServiceProvider sut = new CachingBotServiceProvider(bot, cache);
+
+        for (int i = 0; i < 5; i++) sut.chooseCard(intel(0));
+
+        verify(bot, times(1)).chooseCard(any());
+        assertThat(cache.stats().hits()).isEqualTo(4);
+        assertThat(cache.stats().hitRate()).isEqualTo(0.8);
+    }
+
+    @Test
+    @DisplayName("Should keep the decisions of each kind apart")
+    void shouldKeepTheDecisionsOfEachKindApart() {
+        when(bot.decideIfRaises(any())).thenReturn(true);
+        when(bot.getMaoDeOnzeResponse(any())).thenReturn(false);
+        final CachingBotServiceProvider sut = new CachingBotServiceProvider(bot, new DecisionCache());
+
+        assertThat(sut.decideIfRaises(intel(0))).isTrue();
+        assertThat(sut.getMaoDeOnzeResponse(intel(0))).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should evict the least recently used decisions when full")
+    void shouldEvictTheLeastRecentlyUsedDecisionsWhenFull() {
+        final DecisionCache sut = new DecisionCache(16);
+
+        for (int score = 0; score < 12; score++)
+            for (int opponentScore = 0; opponentScore < 12; opponentScore++)
+                sut.get(DecisionCache.Decision.RAISE_RESPONSE, intel(score, opponentScore), () -> 0);
+
+        assertThat(sut.stats().size()).isLessThanOrEqualTo(16);
+        assertThat(sut.stats().evictions()).isEqualTo(144 - sut.stats().size());
+    }
+
+    private static GameIntel intel(int score) {
+        return intel(score, 0);
+    }
+
+    private static GameIntel intel(int score, int opponentScore) {
+        return GameIntel.StepBuilder.with()
+                .gameInfo(List.of(), List.of(TrucoCard.of(KING, HEARTS)), TrucoCard.of(KING, HEARTS), 1)
+                .botInfo(List.of(TrucoCard.of(ACE, SPADES), TrucoCard.of(TWO, CLUBS)), score)
+                .opponentScore(opponentScore)
+                .build();
+    }
+}
@@ -0,0 +1,124 @@
+/*
+ *  Copyright (C) 2022 Lucas B. R. de Oliveira - IFSP/SCL
+ *  Contact: lucas <dot> oliveira <at> ifsp <dot> edu <dot> br
+ *
+ *  This file is part of CTruco (Truco game for didactic purpose).
+ *
+ *  CTruco is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  CTruco is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with CTruco.  If not, see <https://www.gnu.org/licenses/>
+ */
+
+package com.bueno.domain.usecases.bot;
+
+import com.bueno.domain.usecases.bot.providers.BotProfile;
+import com.bueno.domain.usecases.bot.providers.BotProfile.Method;
+import com.bueno.domain.usecases.bot.providers.LogLinearHistogram;
+import com.bueno.domain.usecases.bot.providers.ProfilingBotServiceProvider;
+import com.bueno.spi.model.CardToPlay;
+import com.bueno.spi.model.GameIntel;
+import com.bueno.spi.model.TrucoCard;
+import com.bueno.spi.service.BotServiceProvider;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static com.bueno.spi.model.CardRank.*;
+import static com.bueno.spi.model.CardSuit.*;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class ProfilingBotServiceProviderTest {
+
+    private final GameIntel intel = GameIntel.StepBuilder.with()
+            .gameInfo(List.of(), List.of(TrucoCard.of(KING, HEARTS)), TrucoCard.of(KING, HEARTS), 1)
+            .botInfo(List.of(TrucoCard.of(ACE, SPADES), TrucoCard.of(TWO, CLUBS)), 0)
+            .opponentScore(0)
+            .build();
+
+    @Test
+    @DisplayName("Should report percentiles within the histogram precision")
+    void shouldReportPercentilesWithinTheHistogramPrecision() {
+        final var sut = new LogLinearHistogram();
+        for (long value = 1; value <= 10_000; value++) sut.record(value * 1_000);
+
+        assertThat(sut.count()).isEqualTo(10_000);
+        assertThat(sut.max()).isEqualTo(10_000_000);
+        assertThat((double) sut.percentile(0.5)).isCloseTo(5_000_000, within(5_000_000 * 0.04));
+        assertThat((double) sut.percentile(0.99)).isCloseTo(9_900_000, within(9_900_000 * 0.04));
+        assertThat(sut.percentile(1.0)).isEqualTo(10_000_000);
+    }
+
+    @Test
+    @DisplayName("Should record small values exactly and ignore unmeasured ones")
+    void shouldRecordSmallValuesExactlyAndIgnoreUnmeasuredOnes() {
+        final var sut = new LogLinearHistogram();
+        sut.record(3);
+        sut.record(7);
+        sut.record(-1);
+
+        assertThat(sut.summary()).isEqualTo(new LogLinearHistogram.Summary(2, 3, 7, 7));
+    }
+
+    @Test
+    @DisplayName("Should report zero for an empty histogram")
+    void shouldReportZeroForAnEmptyHistogram() {
+        assertThat(new LogLinearHistogram().summary()).isEqualTo(new LogLinearHistogram.Summary(0, 0, 0, 0));
+    }
+
+    @Test
+    @DisplayName("Should profile each decision under its method")
+    void shouldProfileEachDecisionUnderItsMethod() {
+        final var profile = new BotProfile("Sleeper");
+        final var sut = new ProfilingBotServiceProvider(new SleepingBot(), profile);
+
+        sut.chooseCard(intel);
+        sut.chooseCard(intel);
+        sut.getRaiseResponse(intel);
+
+        final List<BotProfile.MethodStats> stats = profile.stats();
+        assertThat(stats).extracting(BotProfile.MethodStats::method)
+                .containsExactly(Method.CHOOSE_CARD, Method.GET_RAISE_RESPONSE);
+        assertThat(stats.get(0).wallNanos().count()).isEqualTo(2);
+        assertThat(stats.get(0).wallNanos().max()).isGreaterThanOrEqualTo(5_000_000);
+        assertThat(stats.get(0).cpuNanos().max()).isLessThan(stats.get(0).wallNanos().max());
+    }
+
+    private static class SleepingBot implements BotServiceProvider {
+
+        @Override
+        public boolean getMaoDeOnzeResponse(GameIntel intel) {
+            return false;
+        }
+
+        @Override
+        public boolean decideIfRaises(GameIntel intel) {
+            return false;
+        }
+
+        @Override
+        public CardToPlay chooseCard(GameIntel intel) {
+            try {
+                Thread.sleep(5);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return CardToPlay.of(intel.getCards().get(0));
+        }
+
+        @Override
+        public int getRaiseResponse(GameIntel intel) {
+            return -1;
+        }
+    }
+}
@@ -0,0 +1,163 @@
+/*
+ *  Copyright (C) 2022 Lucas B. R. de Oliveira - IFSP/SCL
+ *  Contact: lucas <dot> oliveira <at> ifsp <dot> edu <dot> br
+ *
+ *  This file is part of CTruco (Truco game for didactic purpose).
+ *
+ *  CTruco is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  CTruco is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with CTruco.  If not, see <https://www.gnu.org/licenses/>
+ */
+
+package com.bueno.domain.usecases.bot;
+
+import com.bueno.domain.usecases.bot.providers.RemoteBotGuard;
+import com.bueno.domain.usecases.bot.providers.RemoteBotGuard.Settings;
+import com.bueno.domain.usecases.bot.providers.RemoteBotGuard.State;
+import com.bueno.domain.usecases.utils.exceptions.RemoteBotForfeit;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RemoteBotGuardTest {
+
+    private static final Runnable NO_LISTENER = () -> {
+    };
+
+    @Test
+    @DisplayName("Should queue calls above the concurrency cap until a call finishes")
+    void shouldQueueCallsAboveTheConcurrencyCapUntilACallFinishes() {
+        final RemoteBotGuard sut = new RemoteBotGuard("Bot", new Settings(2, Duration.ofSeconds(5), 5, Duration.ofSeconds(30)));
+        final CompletableFuture<Integer> first = new CompletableFuture<>();
+        final AtomicInteger startedCalls = new AtomicInteger();
+
+        sut.call(() -> { startedCalls.incrementAndGet(); return first; }, NO_LISTENER);
+        sut.call(() -> { startedCalls.incrementAndGet(); return new CompletableFuture<Integer>(); }, NO_LISTENER);
+        final CompletableFuture<Integer> third = sut.call(() -> {
+            startedCalls.incrementAndGet();
+            return CompletableFuture.completedFuture(3);
+        }, NO_LISTENER);
+
+        assertThat(startedCalls).hasValue(2);
+        first.complete(1);
+        assertThat(third.join()).isEqualTo(3);
+        assertThat(startedCalls).hasValue(3);
+    }
+
+    @Test
+    @DisplayName("Should start the next waiting call on the executor")
+    void shouldStartTheNextWaitingCallOnTheExecutor() {
+        final List<Runnable> executorTasks = new ArrayList<>();
+        final RemoteBotGuard sut = new RemoteBotGuard("Bot",
+                new Settings(1, Duration.ofSeconds(5), 5, Duration.ofSeconds(30)), executorTasks::add);
+        final CompletableFuture<Integer> first = new CompletableFuture<>();
+        final AtomicInteger startedCalls = new AtomicInteger();
+
+        sut.call(() -> { startedCalls.incrementAndGet(); return first; }, NO_LISTENER);
+        final CompletableFuture<Integer> second = sut.call(() -> {
+            startedCalls.incrementAndGet();
+            return CompletableFuture.completedFuture(2);
+        }, NO_LISTENER);
+        first.complete(1);
+
+        assertThat(startedCalls).hasValue(1);
+        assertThat(executorTasks).hasSize(1);
+        executorTasks.get(0).run();
+        assertThat(second.join()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should fail a long queue of waiting calls without starting them when the circuit opens")
+    void shouldFailALongQueueOfWaitingCallsWithoutStartingThemWhenTheCircuitOpens() {
+        final RemoteBotGuard sut = new RemoteBotGuard("Broken",
+                new Settings(1, Duration.ofSeconds(5), 1, Duration.ofMinutes(1)), Runnable::run);
+        final CompletableFuture<Integer> first = new CompletableFuture<>();
+        final AtomicInteger startedCalls = new AtomicInteger();
+        final List<CompletableFuture<Integer>> waitingCalls = new ArrayList<>();
+
+        sut.call(() -> first, NO_LISTENER);
+        for (int i = 0; i < 100_000; i++)
+            waitingCalls.add(sut.call(() -> {
+                startedCalls.incrementAndGet();
+                return CompletableFuture.completedFuture(1);
+            }, NO_LISTENER));
+        first.completeExceptionally(new IllegalStateException("offline"));
+
+        assertThat(sut.state()).isEqualTo(State.OPEN);
+        assertThat(startedCalls).hasValue(0);
+        assertThat(waitingCalls).allMatch(CompletableFuture::isCompletedExceptionally);
+    }
+
+    @Test
+    @DisplayName("Should forfeit a call that misses its deadline")
+    void shouldForfeitACallThatMissesItsDeadline() {
+        final RemoteBotGuard sut = new RemoteBotGuard("Slow", new Settings(2, Duration.ofMillis(20), 5, Duration.ofSeconds(30)));
+
+        final CompletableFuture<Integer> decision = sut.call(CompletableFuture::new, NO_LISTENER);
+
+        assertThat(decision).failsWithin(5, TimeUnit.SECONDS)
+                .withThrowableOfType(Exception.class)
+                .withCauseInstanceOf(RemoteBotForfeit.class)
+                .withMessageContaining("timed out");
+    }
+
+    @Test
+    @DisplayName("Should forfeit a call that answers null")
+    void shouldForfeitACallThatAnswersNull() {
+        final RemoteBotGuard sut = new RemoteBotGuard("Bot", Settings.DEFAULT);
+
+        final CompletableFuture<Integer> decision = sut.call(() -> CompletableFuture.completedFuture(null), NO_LISTENER);
+
+        assertThat(decision).isCompletedExceptionally();
+    }
+
+    @Test
+    @DisplayName("Should open the circuit after consecutive failures and fail fast")
+    void shouldOpenTheCircuitAfterConsecutiveFailuresAndFailFast() {
+        final RemoteBotGuard sut = new RemoteBotGuard("Broken", new Settings(4, Duration.ofSeconds(5), 3, Duration.ofMinutes(1)));
+        final AtomicInteger openings = new AtomicInteger();
+        final AtomicInteger startedCalls = new AtomicInteger();
+
+        for (int i = 0; i < 5; i++)
+            sut.call(() -> {
+                startedCalls.incrementAndGet();
+                return CompletableFuture.<Integer>failedFuture(new IllegalStateException("offline"));
+            }, openings::incrementAndGet);
+
+        assertThat(sut.state()).isEqualTo(State.OPEN);
+        assertThat(startedCalls).hasValue(3);
+        assertThat(openings).hasValue(1);
+    }
+
+    @Test
+    @DisplayName("Should close the circuit when the trial call after the open period succeeds")
+    void shouldCloseTheCircuitWhenTheTrialCallAfterTheOpenPeriodSucceeds() throws InterruptedException {
+        final RemoteBotGuard sut = new RemoteBotGuard("Flaky", new Settings(4, Duration.ofSeconds(5), 1, Duration.ofMillis(20)));
+        sut.call(() -> CompletableFuture.<Integer>failedFuture(new IllegalStateException("offline")), NO_LISTENER);
+        assertThat(sut.state()).isEqualTo(State.OPEN);
+
+        Thread.sleep(40);
+        assertThat(sut.state()).isEqualTo(State.HALF_OPEN);
+        final CompletableFuture<Integer> trial = sut.call(() -> CompletableFuture.completedFuture(1), NO_LISTENER);
+
+        assertThat(trial.join()).isEqualTo(1);
+        assertThat(sut.state()).isEqualTo(State.CLOSED);
+    }
+}
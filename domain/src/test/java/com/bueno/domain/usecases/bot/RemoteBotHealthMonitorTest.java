@@ -0,0 +1,168 @@
+/*
+ *  Copyright (C) 2022 Lucas B. R. de Oliveira - IFSP/SCL
+ *  Contact: lucas <dot> oliveira <at> ifsp <dot> edu <dot> br
+ *
+ *  This file is part of CTruco (Truco game for didactic purpose).
+ *
+ *  CTruco is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  CTruco is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with CTruco.  If not, see <https://www.gnu.org/licenses/>
+ */
+
+package com.bueno.domain.usecases.bot;
+
+import com.bueno.domain.usecases.bot.dtos.RemoteBotDto;
+import com.bueno.domain.usecases.bot.providers.RemoteBotApi;
+import com.bueno.domain.usecases.bot.providers.RemoteBotHealth;
+import com.bueno.domain.usecases.bot.providers.RemoteBotHealthMonitor;
+import com.bueno.domain.usecases.bot.providers.RemoteBotHealthMonitor.Snapshot;
+import com.bueno.domain.usecases.bot.repository.RemoteBotRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RemoteBotHealthMonitorTest {
+
+    @Mock private RemoteBotRepository repository;
+    @Mock private RemoteBotApi api;
+
+    private final RemoteBotDto healthyBot = remoteBot("HealthyBot");
+    private final RemoteBotDto slowBot = remoteBot("SlowBot");
+    private ExecutorService probes;
+
+    @BeforeEach
+    void setUp() {
+        probes = Executors.newCachedThreadPool();
+    }
+
+    @AfterEach
+    void tearDown() {
+        probes.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("Should count probes that time out as failures")
+    void shouldCountProbesThatTimeOutAsFailures() {
+        when(repository.findAll()).thenReturn(List.of(healthyBot, slowBot));
+        when(api.isHealthy(healthyBot)).thenReturn(true);
+        when(api.isHealthy(slowBot)).thenAnswer(call -> {
+            Thread.sleep(2_000);
+            return true;
+        });
+        final var sut = new RemoteBotHealthMonitor(repository, api, Duration.ofMinutes(2), Duration.ofMillis(100), probes);
+
+        final long start = System.nanoTime();
+        final Snapshot snapshot = sut.snapshot();
+
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofSeconds(1));
+        assertThat(snapshot.bots()).containsOnlyKeys("HealthyBot");
+        assertThat(snapshot.health().get("SlowBot").healthy()).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should start the probe timeout when the probe runs")
+    void shouldStartTheProbeTimeoutWhenTheProbeRuns() {
+        final ExecutorService oneProbeAtATime = Executors.newSingleThreadExecutor();
+        when(repository.findAll()).thenReturn(List.of(healthyBot, slowBot));
+        when(api.isHealthy(any())).thenAnswer(call -> {
+            Thread.sleep(200);
+            return true;
+        });
+        final var sut = new RemoteBotHealthMonitor(repository, api, Duration.ofMinutes(2), Duration.ofMillis(300),
+                oneProbeAtATime);
+
+        try {
+            assertThat(sut.refresh().bots()).containsOnlyKeys("HealthyBot", "SlowBot");
+        } finally {
+            oneProbeAtATime.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("Should publish a bot registered twice only once")
+    void shouldPublishABotRegisteredTwiceOnlyOnce() {
+        when(repository.findAll()).thenReturn(List.of(healthyBot, remoteBot("HealthyBot")));
+        when(api.isHealthy(any())).thenReturn(true);
+        final var sut = new RemoteBotHealthMonitor(repository, api, Duration.ofMinutes(2), Duration.ofSeconds(1), probes);
+
+        sut.refresh();
+
+        assertThat(sut.snapshot().bots()).hasSize(1);
+        assertThat(sut.snapshot().health().get("HealthyBot").probes()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should keep the health history of every bot")
+    void shouldKeepTheHealthHistoryOfEveryBot() {
+        when(repository.findAll()).thenReturn(List.of(healthyBot));
+        when(api.isHealthy(healthyBot)).thenReturn(true, false, false);
+        final var sut = new RemoteBotHealthMonitor(repository, api, Duration.ofMinutes(2), Duration.ofSeconds(1), probes);
+
+        sut.refresh();
+        sut.refresh();
+        final RemoteBotHealth health = sut.refresh().health().get("HealthyBot");
+
+        assertThat(health.probes()).isEqualTo(3);
+        assertThat(health.failures()).isEqualTo(2);
+        assertThat(health.consecutiveFailures()).isEqualTo(2);
+        assertThat(health.recentProbes()).containsExactly(true, false, false);
+    }
+
+    @Test
+    @DisplayName("Should serve the expired snapshot while refreshing in the background")
+    void shouldServeTheExpiredSnapshotWhileRefreshingInTheBackground() {
+        when(repository.findAll()).thenReturn(List.of(healthyBot)).thenReturn(List.of());
+        when(api.isHealthy(healthyBot)).thenReturn(true);
+        final var sut = new RemoteBotHealthMonitor(repository, api, Duration.ZERO, Duration.ofSeconds(1), probes);
+        final Snapshot first = sut.snapshot();
+
+        final Snapshot served = sut.snapshot();
+
+        assertThat(served).isSameAs(first);
+        verify(repository, timeout(1_000).times(2)).findAll();
+    }
+
+    @Test
+    @DisplayName("Should keep the previous snapshot when a background refresh fails")
+    void shouldKeepThePreviousSnapshotWhenABackgroundRefreshFails() {
+        when(repository.findAll()).thenReturn(List.of(healthyBot))
+                .thenThrow(new IllegalStateException("Repository unavailable"))
+                .thenReturn(List.of());
+        when(api.isHealthy(healthyBot)).thenReturn(true);
+        final var sut = new RemoteBotHealthMonitor(repository, api, Duration.ZERO, Duration.ofSeconds(1), Runnable::run);
+        final Snapshot first = sut.snapshot();
+
+        final Snapshot servedAfterFailure = sut.snapshot();
+        sut.snapshot();
+
+        assertThat(servedAfterFailure).isSameAs(first);
+        assertThat(sut.snapshot().bots()).isEmpty();
+    }
+
+    private static RemoteBotDto remoteBot(String name) {
+        return new RemoteBotDto(UUID.randomUUID(), UUID.randomUUID(), name, "http://localhost", "8080", "", true);
+    }
+}
@@ -0,0 +1,197 @@
+/*
+ *  Copyright (C) 2022 Lucas B. R. de Oliveira - IFSP/SCL
+ *  Contact: lucas <dot> oliveira <at> ifsp <dot> edu <dot> br
+ *
+ *  This file is part of CTruco (Truco game for didactic purpose).
+ *
+ *  CTruco is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  CTruco is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with CTruco.  If not, see <https://www.gnu.org/licenses/>
+ */
+
+package com.bueno.domain.usecases.game;
+
+import com.bueno.domain.entities.game.Game;
+import com.bueno.domain.testsupport.FirstCardBot;
+import com.bueno.domain.usecases.bot.dtos.RemoteBotDto;
+import com.bueno.domain.usecases.bot.providers.RemoteBotApi;
+import com.bueno.domain.usecases.bot.providers.RemoteBotServiceProvider;
+import com.bueno.domain.usecases.game.service.AsyncGameEngine;
+import com.bueno.spi.model.CardToPlay;
+import com.bueno.spi.model.GameIntel;
+import com.bueno.spi.service.BotServiceProvider;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AsyncGameEngineTest {
+
+    private ExecutorService continuations;
+
+    @BeforeEach
+    void setUp() {
+        continuations = Executors.newFixedThreadPool(2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        continuations.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("Should finish a game against a remote bot that answers asynchronously")
+    void shouldFinishAGameAgainstARemoteBotThatAnswersAsynchronously() {
+        final DelayedRemoteBotApi api = new DelayedRemoteBotApi(false);
+        final var sut = new AsyncGameEngine(FirstCardBot.passive("Local"), remoteBot(api), continuations);
+
+        final Game game = sut.play(UUID.randomUUID(), UUID.randomUUID(), new SplittableRandom(1), g -> {
+        }).join();
+
+        assertThat(game.isDone()).isTrue();
+        assertThat(api.asyncCalls.get()).isPositive();
+    }
+
+    @Test
+    @DisplayName("Should drive many suspended games with a few threads")
+    void shouldDriveManySuspendedGamesWithAFewThreads() {
+        final DelayedRemoteBotApi api = new DelayedRemoteBotApi(false);
+        final var sut = new AsyncGameEngine(remoteBot(api), remoteBot(api), continuations);
+
+        final List<CompletableFuture<Game>> games = IntStream.range(0, 200)
+                .mapToObj(i -> sut.play(UUID.randomUUID(), UUID.randomUUID(), new SplittableRandom(i), g -> {
+                }))
+                .toList();
+
+        assertThat(games).allSatisfy(game -> assertThat(game.join().isDone()).isTrue());
+    }
+
+    @Test
+    @DisplayName("Should apply remote decisions on the continuation threads")
+    void shouldApplyRemoteDecisionsOnTheContinuationThreads() {
+        final ExecutorService namedContinuations = Executors.newFixedThreadPool(2,
+                task -> new Thread(task, "continuation"));
+        final DelayedRemoteBotApi api = new DelayedRemoteBotApi(false);
+        final var sut = new AsyncGameEngine(remoteBot(api), remoteBot(api), namedContinuations);
+        final Set<String> handThreads = ConcurrentHashMap.newKeySet();
+
+        try {
+            sut.play(UUID.randomUUID(), UUID.randomUUID(), new SplittableRandom(1),
+                    g -> handThreads.add(Thread.currentThread().getName())).join();
+        } finally {
+            namedContinuations.shutdownNow();
+        }
+
+        assertThat(handThreads).containsExactly("continuation");
+    }
+
+    @Test
+    @DisplayName("Should fail the game when a remote decision fails")
+    void shouldFailTheGameWhenARemoteDecisionFails() {
+        final var sut = new AsyncGameEngine(FirstCardBot.passive("Local"), remoteBot(new DelayedRemoteBotApi(true)),
+                continuations);
+
+        final CompletableFuture<Game> game = sut.play(UUID.randomUUID(), UUID.randomUUID(), new SplittableRandom(1), g -> {
+        });
+
+        assertThat(game).failsWithin(5, TimeUnit.SECONDS);
+    }
+
+    private static RemoteBotServiceProvider remoteBot(RemoteBotApi api) {
+        final RemoteBotDto dto = new RemoteBotDto(UUID.randomUUID(), UUID.randomUUID(), "Remote", "http://localhost",
+                "8080", "", true);
+        return new RemoteBotServiceProvider(api, dto);
+    }
+
+    private static final class DelayedRemoteBotApi implements RemoteBotApi {
+        private final BotServiceProvider logic = FirstCardBot.passive("Remote");
+        private final Executor network = CompletableFuture.delayedExecutor(1, TimeUnit.MILLISECONDS);
+        private final AtomicInteger asyncCalls = new AtomicInteger();
+        private final boolean failing;
+
+        private DelayedRemoteBotApi(boolean failing) {
+            this.failing = failing;
+        }
+
+        @Override
+        public boolean supportsAsync() {
+            return true;
+        }
+
+        @Override
+        public CompletableFuture<Boolean> fetchMaoDeOnzeResponseAsync(GameIntel intel, RemoteBotDto botData) {
+            return later(() -> logic.getMaoDeOnzeResponse(intel));
+        }
+
+        @Override
+        public CompletableFuture<Boolean> fetchRaiseRequestDecisionAsync(GameIntel intel, RemoteBotDto botData) {
+            return later(() -> logic.decideIfRaises(intel));
+        }
+
+        @Override
+        public CompletableFuture<CardToPlay> fetchCardToPlayAsync(GameIntel intel, RemoteBotDto botData) {
+            return later(() -> logic.chooseCard(intel));
+        }
+
+        @Override
+        public CompletableFuture<Integer> fetchRaiseResponseAsync(GameIntel intel, RemoteBotDto botData) {
+            return later(() -> logic.getRaiseResponse(intel));
+        }
+
+        private <T> CompletableFuture<T> later(Callable<T> decision) {
+            asyncCalls.incrementAndGet();
+            return CompletableFuture.supplyAsync(() -> {
+                if (failing) throw new IllegalStateException("Remote bot is offline");
+                try {
+                    return decision.call();
+                } catch (Exception e) {
+                    throw new CompletionException(e);
+                }
+            }, network);
+        }
+
+        @Override
+        public boolean fetchMaoDeOnzeResponse(GameIntel intel, RemoteBotDto botData) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public boolean fetchRaiseRequestDecision(GameIntel intel, RemoteBotDto botData) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public CardToPlay fetchCardToPlay(GameIntel intel, RemoteBotDto botData) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public int fetchRaiseResponse(GameIntel intel, RemoteBotDto botData) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public boolean isHealthy(RemoteBotDto botData) {
+            return true;
+        }
+    }
+}
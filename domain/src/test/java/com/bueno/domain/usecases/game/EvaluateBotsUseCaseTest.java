@@ -0,0 +1,86 @@
+/*
+ *  Copyright (C) 2022 Lucas B. R. de Oliveira - IFSP/SCL
+ *  Contact: lucas <dot> oliveira <at> ifsp <dot> edu <dot> br
+ *
+ *  This file is part of CTruco (Truco game for didactic purpose).
+ *
+ *  CTruco is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  CTruco is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with CTruco.  If not, see <https://www.gnu.org/licenses/>
+ */
+
+package com.bueno.domain.usecases.game;
+
+import com.bueno.domain.testsupport.FirstCardBot;
+import com.bueno.domain.usecases.bot.providers.BotManagerService;
+import com.bueno.domain.usecases.bot.providers.RemoteBotApi;
+import com.bueno.domain.usecases.bot.repository.RemoteBotRepository;
+import com.bueno.domain.usecases.game.dtos.EvaluateResultsDto;
+import com.bueno.domain.usecases.game.service.SequentialTest;
+import com.bueno.domain.usecases.game.service.SimulationExecutor;
+import com.bueno.domain.usecases.game.service.SimulationPlan.Dealing;
+import com.bueno.domain.usecases.game.usecase.EvaluateBotsUseCase;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class EvaluateBotsUseCaseTest {
+
+    @Mock private RemoteBotRepository repository;
+    @Mock private RemoteBotApi botApi;
+    @Mock private BotManagerService botManagerService;
+    private SimulationExecutor executor;
+    private EvaluateBotsUseCase sut;
+
+    @BeforeEach
+    void setUp() {
+        executor = new SimulationExecutor(2, 4);
+        when(botManagerService.load(anyString())).thenAnswer(call -> FirstCardBot.passive(call.getArgument(0)));
+        sut = new EvaluateBotsUseCase(repository, botApi, botManagerService, executor);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.close();
+    }
+
+    @Test
+    @DisplayName("Should play the published number of games against each opponent by default")
+    void shouldPlayThePublishedNumberOfGamesAgainstEachOpponentByDefault() {
+        final EvaluateResultsDto results = sut.evaluate(List.of("BotA", "BotB", "BotC"), "BotA");
+
+        assertThat(results.numberOfOpponents()).isEqualTo(2);
+        assertThat(results.numberOfGames()).isEqualTo(2L * EvaluateBotsUseCase.EVALUATE_TIMES);
+        assertThat(results.maxNumberOfGames()).isEqualTo(2L * EvaluateBotsUseCase.EVALUATE_TIMES);
+    }
+
+    @Test
+    @DisplayName("Should report the games of whole duplicate deals when duplicate dealing is chosen")
+    void shouldReportTheGamesOfWholeDuplicateDealsWhenDuplicateDealingIsChosen() {
+        final EvaluateResultsDto results = sut.evaluate(List.of("BotA", "BotB"), "BotA", SequentialTest.DEFAULT,
+                EvaluateBotsUseCase.EVALUATE_TIMES, Dealing.DUPLICATE);
+
+        assertThat(results.maxNumberOfGames()).isEqualTo(EvaluateBotsUseCase.EVALUATE_TIMES + 1);
+        assertThat(results.numberOfGames()).isEven().isLessThanOrEqualTo(results.maxNumberOfGames());
+    }
+}
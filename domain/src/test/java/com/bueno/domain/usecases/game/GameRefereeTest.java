@@ -0,0 +1,93 @@
+/*
+ *  Copyright (C) 2022 Lucas B. R. de Oliveira - IFSP/SCL
+ *  Contact: lucas <dot> oliveira <at> ifsp <dot> edu <dot> br
+ *
+ *  This file is part of CTruco (Truco game for didactic purpose).
+ *
+ *  CTruco is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  CTruco is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with CTruco.  If not, see <https://www.gnu.org/licenses/>
+ */
+
+package com.bueno.domain.usecases.game;
+
+import com.bueno.domain.entities.game.Game;
+import com.bueno.domain.entities.player.Player;
+import com.bueno.domain.usecases.game.service.GameReferee;
+import com.bueno.domain.usecases.game.service.GameReferee.Turn;
+import com.bueno.spi.model.CardToPlay;
+import com.bueno.spi.model.GameIntel;
+import com.bueno.spi.service.BotServiceProvider;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class GameRefereeTest {
+
+    @Mock BotServiceProvider botService;
+
+    @Test
+    @DisplayName("Should wait for raise or card at the beginning of an ordinary hand")
+    void shouldWaitForRaiseOrCardAtTheBeginningOfAnOrdinaryHand() {
+        final Game game = new Game(Player.ofBot("Bot1"), Player.ofBot("Bot2"));
+        assertThat(GameReferee.turnOf(game.currentHand())).isEqualTo(Turn.RAISE_OR_PLAY);
+    }
+
+    @Test
+    @DisplayName("Should wait for mao de onze response if one player has eleven points")
+    void shouldWaitForMaoDeOnzeResponseIfOnePlayerHasElevenPoints() {
+        final Player player1 = new Player(new ArrayList<>(), "Bot1", UUID.randomUUID(), 11, true);
+        final Game game = new Game(player1, Player.ofBot("Bot2"));
+        assertThat(GameReferee.turnOf(game.currentHand())).isEqualTo(Turn.MAO_DE_ONZE_RESPONSE);
+    }
+
+    @Test
+    @DisplayName("Should wait for raise response after a raise request")
+    void shouldWaitForRaiseResponseAfterARaiseRequest() {
+        final Game game = new Game(Player.ofBot("Bot1"), Player.ofBot("Bot2"));
+        game.currentHand().raise(game.currentHand().getCurrentPlayer());
+        assertThat(GameReferee.turnOf(game.currentHand())).isEqualTo(Turn.RAISE_RESPONSE);
+    }
+
+    @Test
+    @DisplayName("Should stop driving the game when it is a user turn")
+    void shouldStopDrivingTheGameWhenItIsAUserTurn() {
+        when(botService.chooseCard(any())).thenAnswer(call -> {
+            final GameIntel intel = call.getArgument(0);
+            return CardToPlay.of(intel.getCards().get(0));
+        });
+        final Player user = Player.of(UUID.randomUUID(), "User");
+        final Player bot = Player.ofBot("Bot");
+        final Game game = new Game(bot, user);
+
+        final List<Player> seated = new ArrayList<>();
+        new GameReferee(player -> {
+            seated.add(player);
+            return botService;
+        }).playWhileBotsTurn(game);
+
+        assertThat(seated).containsOnly(bot);
+        assertThat(game.currentHand().getCurrentPlayer()).isEqualTo(user);
+        verify(botService, times(1)).chooseCard(any());
+    }
+}
@@ -0,0 +1,61 @@
+/*
+ *  Copyright (C) 2022 Lucas B. R. de Oliveira - IFSP/SCL
+ *  Contact: lucas <dot> oliveira <at> ifsp <dot> edu <dot> br
+ *
+ *  This file is part of CTruco (Truco game for didactic purpose).
+ *
+ *  CTruco is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  CTruco is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with CTruco.  If not, see <https://www.gnu.org/licenses/>
+ */
+
+package com.bueno.domain.usecases.game;
+
+import com.bueno.domain.entities.game.Game;
+import com.bueno.domain.entities.player.Player;
+import com.bueno.domain.testsupport.FirstCardBot;
+import com.bueno.domain.usecases.game.service.InMemoryGameEngine;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatNullPointerException;
+
+class InMemoryGameEngineTest {
+
+    @Test
+    @DisplayName("Should not accept null bots")
+    void shouldNotAcceptNullBots() {
+        assertThatNullPointerException().isThrownBy(() -> new InMemoryGameEngine(null, FirstCardBot.passive("PassiveBot")));
+        assertThatNullPointerException().isThrownBy(() -> new InMemoryGameEngine(FirstCardBot.passive("PassiveBot"), null));
+    }
+
+    @Test
+    @DisplayName("Should play game until one of the bots wins")
+    void shouldPlayGameUntilOneOfTheBotsWins() {
+        final var sut = new InMemoryGameEngine(FirstCardBot.passive("PassiveBot"), FirstCardBot.passive("PassiveBot"));
+        final Game game = sut.play(UUID.randomUUID(), UUID.randomUUID());
+        assertThat(game.isDone()).isTrue();
+        assertThat(game.getWinner().map(Player::getScore)).contains(Player.MAX_SCORE);
+    }
+
+    @Test
+    @DisplayName("Should play game with raises and mao de onze decisions")
+    void shouldPlayGameWithRaisesAndMaoDeOnzeDecisions() {
+        final var sut = new InMemoryGameEngine(FirstCardBot.aggressive("AggressiveBot"), FirstCardBot.passive("PassiveBot"));
+        final Game game = sut.play(UUID.randomUUID(), UUID.randomUUID());
+        assertThat(game.isDone()).isTrue();
+        assertThat(game.handsPlayed()).isPositive();
+    }
+}
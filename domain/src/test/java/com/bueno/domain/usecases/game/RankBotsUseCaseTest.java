@@ -0,0 +1,168 @@
+/*
+ *  Copyright (C) 2022 Lucas B. R. de Oliveira - IFSP/SCL
+ *  Contact: lucas <dot> oliveira <at> ifsp <dot> edu <dot> br
+ *
+ *  This file is part of CTruco (Truco game for didactic purpose).
+ *
+ *  CTruco is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  CTruco is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with CTruco.  If not, see <https://www.gnu.org/licenses/>
+ */
+
+package com.bueno.domain.usecases.game;
+
+import com.bueno.domain.testsupport.FirstCardBot;
+import com.bueno.domain.usecases.bot.providers.BotManagerService;
+import com.bueno.domain.usecases.bot.providers.LocalBotRegistry;
+import com.bueno.domain.usecases.bot.providers.RemoteBotApi;
+import com.bueno.domain.usecases.bot.providers.RemoteBotHealthMonitor;
+import com.bueno.domain.usecases.bot.repository.RemoteBotRepository;
+import com.bueno.domain.usecases.game.service.SimulationExecutor;
+import com.bueno.domain.usecases.game.usecase.RankBotsUseCase;
+import com.bueno.spi.model.CardToPlay;
+import com.bueno.spi.model.GameIntel;
+import com.bueno.spi.service.BotServiceProvider;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@ExtendWith(MockitoExtension.class)
+class RankBotsUseCaseTest {
+
+    @Mock private RemoteBotRepository repository;
+    @Mock private RemoteBotApi api;
+    private SimulationExecutor executor;
+
+    @BeforeEach
+    void setUp() {
+        executor = new SimulationExecutor(2, 4);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.close();
+    }
+
+    @Test
+    @DisplayName("Should ask a bot that overran in an earlier ranking again")
+    void shouldAskABotThatOverranInAnEarlierRankingAgain() {
+        final AtomicBoolean slowNextDecision = new AtomicBoolean(true);
+        final AtomicInteger calls = new AtomicInteger();
+        final Map<String, Supplier<BotServiceProvider>> bots = new LinkedHashMap<>();
+        bots.put("SlowOnceBot", () -> new SlowOnceBot(slowNextDecision, calls));
+        bots.put("QuittingBot", () -> FirstCardBot.quitting("QuittingBot"));
+        final var botManagerService = new BotManagerService(repository, api, new LocalBotRegistry(bots),
+                new RemoteBotHealthMonitor(repository, api));
+        final var sut = new RankBotsUseCase(repository, api, botManagerService, executor);
+
+        sut.rankAll(1);
+        calls.set(0);
+        sut.rankAll(2);
+
+        assertThat(calls).hasPositiveValue();
+    }
+
+    @Test
+    @DisplayName("Should report the games abandoned by a failing bot")
+    void shouldReportTheGamesAbandonedByAFailingBot() {
+        final Map<String, Supplier<BotServiceProvider>> bots = new LinkedHashMap<>();
+        bots.put("FailingBot", FailingBot::new);
+        bots.put("QuittingBot", () -> FirstCardBot.quitting("QuittingBot"));
+        final var botManagerService = new BotManagerService(repository, api, new LocalBotRegistry(bots),
+                new RemoteBotHealthMonitor(repository, api));
+        final var sut = new RankBotsUseCase(repository, api, botManagerService, executor);
+
+        sut.rankAll(1);
+
+        assertThat(sut.getAbandonedGames()).isEqualTo(RankBotsUseCase.TIMES_RANK);
+    }
+
+    // Fails on every card it is asked for, so none of its games can be finished.
+    private record FailingBot() implements BotServiceProvider {
+        @Override
+        public boolean getMaoDeOnzeResponse(GameIntel intel) {
+            return true;
+        }
+
+        @Override
+        public boolean decideIfRaises(GameIntel intel) {
+            return false;
+        }
+
+        @Override
+        public CardToPlay chooseCard(GameIntel intel) {
+            throw new IllegalStateException("FailingBot can not choose a card");
+        }
+
+        @Override
+        public int getRaiseResponse(GameIntel intel) {
+            return 0;
+        }
+
+        @Override
+        public String getName() {
+            return "FailingBot";
+        }
+    }
+
+    // Overruns the tournament decision budget the first time any instance is asked, then answers at once.
+    private record SlowOnceBot(AtomicBoolean slowNextDecision, AtomicInteger calls) implements BotServiceProvider {
+        @Override
+        public boolean getMaoDeOnzeResponse(GameIntel intel) {
+            return think(true);
+        }
+
+        @Override
+        public boolean decideIfRaises(GameIntel intel) {
+            return think(false);
+        }
+
+        @Override
+        public CardToPlay chooseCard(GameIntel intel) {
+            return think(CardToPlay.of(intel.getCards().get(0)));
+        }
+
+        @Override
+        public int getRaiseResponse(GameIntel intel) {
+            return think(0);
+        }
+
+        @Override
+        public String getName() {
+            return "SlowOnceBot";
+        }
+
+        private <T> T think(T answer) {
+            calls.incrementAndGet();
+            if (slowNextDecision.compareAndSet(true, false)) {
+                try {
+                    Thread.sleep(2_000);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            return answer;
+        }
+    }
+}
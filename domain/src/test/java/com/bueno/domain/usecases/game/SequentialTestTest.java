@@ -0,0 +1,81 @@
+/*
+ *  Copyright (C) 2022 Lucas B. R. de Oliveira - IFSP/SCL
+ *  Contact: lucas <dot> oliveira <at> ifsp <dot> edu <dot> br
+ *
+ *  This file is part of CTruco (Truco game for didactic purpose).
+ *
+ *  CTruco is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  CTruco is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with CTruco.  If not, see <https://www.gnu.org/licenses/>
+ */
+
+package com.bueno.domain.usecases.game;
+
+import com.bueno.domain.usecases.game.service.ConfidenceInterval;
+import com.bueno.domain.usecases.game.service.SequentialTest;
+import com.bueno.domain.usecases.game.service.StopReason;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+import static org.assertj.core.api.Assertions.within;
+
+class SequentialTestTest {
+
+    private final SequentialTest sut = new SequentialTest(0.05, 0.05, 0.1, 10);
+
+    @Test
+    @DisplayName("Should decide a lopsided pairing after a few games")
+    void shouldDecideALopsidedPairingAfterAFewGames() {
+        assertThat(sut.decide(7, 0)).isEmpty();
+        assertThat(sut.decide(10, 0)).contains(StopReason.BOT1_STRONGER);
+        assertThat(sut.decide(1, 10)).contains(StopReason.BOT2_STRONGER);
+    }
+
+    @Test
+    @DisplayName("Should keep playing an even pairing")
+    void shouldKeepPlayingAnEvenPairing() {
+        assertThat(sut.decide(15, 14)).isEmpty();
+        assertThat(sut.decide(100, 95)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should not decide before the minimum number of games")
+    void shouldNotDecideBeforeTheMinimumNumberOfGames() {
+        assertThat(new SequentialTest(0.05, 0.05, 0.1, 20).decide(15, 0)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should not accept an indifference zone outside the win rate range")
+    void shouldNotAcceptAnIndifferenceZoneOutsideTheWinRateRange() {
+        assertThatIllegalArgumentException().isThrownBy(() -> new SequentialTest(0.05, 0.05, 0.5, 10));
+    }
+
+    @Test
+    @DisplayName("Should compute a Wilson interval that contains the observed win rate")
+    void shouldComputeAWilsonIntervalThatContainsTheObservedWinRate() {
+        final ConfidenceInterval interval = ConfidenceInterval.wilson(20, 40);
+        assertThat(interval.contains(0.5)).isTrue();
+        assertThat(interval.lower()).isBetween(0.34, 0.36);
+        assertThat(interval.upper()).isBetween(0.64, 0.66);
+    }
+
+    @Test
+    @DisplayName("Should keep the Wilson interval inside the unit range for lopsided samples")
+    void shouldKeepTheWilsonIntervalInsideTheUnitRangeForLopsidedSamples() {
+        final ConfidenceInterval interval = ConfidenceInterval.wilson(10, 10);
+        assertThat(interval.upper()).isCloseTo(1.0, within(1e-9));
+        assertThat(interval.lower()).isGreaterThan(0.6);
+        assertThat(ConfidenceInterval.wilson(0, 0)).isEqualTo(new ConfidenceInterval(0.0, 1.0));
+    }
+}
@@ -0,0 +1,79 @@
+/*
+ *  Copyright (C) 2022 Lucas B. R. de Oliveira - IFSP/SCL
+ *  Contact: lucas <dot> oliveira <at> ifsp <dot> edu <dot> br
+ *
+ *  This file is part of CTruco (Truco game for didactic purpose).
+ *
+ *  CTruco is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  CTruco is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with CTruco.  If not, see <https://www.gnu.org/licenses/>
+ */
+
+package com.bueno.domain.usecases.game;
+
+import com.bueno.domain.usecases.game.service.SimulationExecutor;
+import com.bueno.domain.usecases.game.service.SimulationExecutor.Mode;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SimulationExecutorTest {
+
+    private SimulationExecutor sut;
+
+    @BeforeEach
+    void setUp() {
+        sut = new SimulationExecutor(2, 8);
+    }
+
+    @AfterEach
+    void tearDown() {
+        sut.close();
+    }
+
+    @Test
+    @DisplayName("Should not accept pools without threads")
+    void shouldNotAcceptPoolsWithoutThreads() {
+        assertThatIllegalArgumentException().isThrownBy(() -> new SimulationExecutor(0, 8));
+        assertThatIllegalArgumentException().isThrownBy(() -> new SimulationExecutor(2, 0));
+    }
+
+    @Test
+    @DisplayName("Should run submitted games in both modes")
+    void shouldRunSubmittedGamesInBothModes() {
+        final AtomicInteger counter = new AtomicInteger();
+        final var cpuGame = sut.submit(Mode.CPU_BOUND, counter::incrementAndGet);
+        final var ioGame = sut.submit(Mode.IO_BOUND, counter::incrementAndGet);
+
+        assertThat(List.of(cpuGame.join(), ioGame.join())).containsExactlyInAnyOrder(1, 2);
+    }
+
+    @Test
+    @DisplayName("Should complete the game exceptionally when it fails")
+    void shouldCompleteTheGameExceptionallyWhenItFails() {
+        final var game = sut.submit(Mode.CPU_BOUND, () -> {
+            throw new IllegalStateException("Game failed");
+        });
+
+        assertThatThrownBy(game::join).isInstanceOf(CompletionException.class)
+                .hasRootCauseMessage("Game failed");
+    }
+}
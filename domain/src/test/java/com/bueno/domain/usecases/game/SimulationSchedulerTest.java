@@ -0,0 +1,221 @@
+/*
+ *  Copyright (C) 2022 Lucas B. R. de Oliveira - IFSP/SCL
+ *  Contact: lucas <dot> oliveira <at> ifsp <dot> edu <dot> br
+ *
+ *  This file is part of CTruco (Truco game for didactic purpose).
+ *
+ *  CTruco is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  CTruco is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with CTruco.  If not, see <https://www.gnu.org/licenses/>
+ */
+
+package com.bueno.domain.usecases.game;
+
+import com.bueno.domain.entities.game.Game;
+import com.bueno.domain.entities.player.Player;
+import com.bueno.domain.usecases.game.service.SequentialTest;
+import com.bueno.domain.usecases.game.service.SimulationExecutor;
+import com.bueno.domain.usecases.game.service.SimulationExecutor.Mode;
+import com.bueno.domain.usecases.game.service.SimulationPlan;
+import com.bueno.domain.usecases.game.service.SimulationPlan.Dealing;
+import com.bueno.domain.usecases.game.service.SimulationPlan.Pairing;
+import com.bueno.domain.usecases.game.service.SimulationService;
+import com.bueno.domain.usecases.game.service.SimulationStats;
+import com.bueno.domain.usecases.game.service.StopReason;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.random.RandomGenerator;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SimulationSchedulerTest {
+
+    @Mock private SimulationService simulator;
+    private SimulationExecutor executor;
+
+    @BeforeEach
+    void setUp() {
+        executor = new SimulationExecutor(2, 4);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.close();
+    }
+
+    @Test
+    @DisplayName("Should play every game of every pairing of the plan")
+    void shouldPlayEveryGameOfEveryPairingOfThePlan() {
+        when(simulator.modeOf(any())).thenReturn(Mode.CPU_BOUND);
+        doAnswer(call -> {
+            final SimulationStats stats = call.getArgument(0);
+            stats.recordGame(finishedGame(stats.pairing().bot1Uuid(), stats.pairing().bot2Uuid()));
+            return null;
+        }).when(simulator).play(any(), any(), any());
+        final SimulationPlan plan = SimulationPlan.roundRobin("rank", 0, List.of("A", "B", "C"), 10);
+
+        final List<SimulationStats> results = executor.scheduler().submit(plan, simulator).join();
+
+        assertThat(results).hasSize(6).allMatch(stats -> stats.bot1Wins() == 5 && stats.bot2Wins() == 0);
+        for (int i = 0; i < results.size(); i++)
+            assertThat(results.get(i).pairing()).isEqualTo(plan.pairings().get(i));
+        verify(simulator, times(30)).play(any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Should interleave games of concurrent plans")
+    void shouldInterleaveGamesOfConcurrentPlans() {
+        when(simulator.modeOf(any())).thenReturn(Mode.IO_BOUND);
+        doAnswer(call -> {
+            final SimulationStats stats = call.getArgument(0);
+            Thread.sleep(1);
+            stats.recordGame(finishedGame(stats.pairing().bot2Uuid(), stats.pairing().bot1Uuid()));
+            return null;
+        }).when(simulator).play(any(), any(), any());
+        final var first = executor.scheduler().submit(SimulationPlan.of("first", Pairing.of("A", "B", 40)), simulator);
+        final var second = executor.scheduler().submit(SimulationPlan.of("second", Pairing.of("C", "D", 40)), simulator);
+
+        CompletableFuture.allOf(first, second).join();
+
+        assertThat(first.join().get(0).winsOf("B")).isEqualTo(40);
+        assertThat(second.join().get(0).winsOf("D")).isEqualTo(40);
+    }
+
+    @Test
+    @DisplayName("Should complete plans without games immediately")
+    void shouldCompletePlansWithoutGamesImmediately() {
+        final var future = executor.scheduler().submit(SimulationPlan.of("empty", Pairing.of("A", "B", 0)), simulator);
+        assertThat(future).isCompleted();
+        assertThat(future.join()).singleElement().matches(stats -> stats.finishedGames() == 0);
+        verify(simulator, never()).play(any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Should count failed games as abandoned")
+    void shouldCountFailedGamesAsAbandoned() {
+        when(simulator.modeOf(any())).thenReturn(Mode.CPU_BOUND);
+        doThrow(new IllegalStateException("Bot failed")).when(simulator).play(any(), any(), any());
+
+        final var stats = executor.scheduler().submit(SimulationPlan.of("failing", Pairing.of("A", "B", 3)), simulator);
+
+        assertThat(stats.join().get(0).abandonedGames()).isEqualTo(3);
+        assertThat(stats.join().get(0).finishedGames()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should give every game the same random generator when the plan is replayed with its seed")
+    void shouldGiveEveryGameTheSameRandomGeneratorWhenThePlanIsReplayedWithItsSeed() {
+        when(simulator.modeOf(any())).thenReturn(Mode.CPU_BOUND);
+        final List<Long> draws = Collections.synchronizedList(new ArrayList<>());
+        doAnswer(call -> {
+            final RandomGenerator random = call.getArgument(1);
+            draws.add(random.nextLong());
+            return null;
+        }).when(simulator).play(any(), any(), any());
+        final SimulationPlan plan = SimulationPlan.roundRobin("rank", 0, List.of("A", "B", "C"), 8).withSeed(7);
+
+        executor.scheduler().submit(plan, simulator).join();
+        final List<Long> firstRun = new ArrayList<>(draws);
+        draws.clear();
+        executor.scheduler().submit(plan, simulator).join();
+
+        assertThat(draws).hasSize(24).containsExactlyInAnyOrderElementsOf(firstRun);
+    }
+
+    @Test
+    @DisplayName("Should get the same stats when a plan of many pairings is replayed with its seed")
+    void shouldGetTheSameStatsWhenAPlanOfManyPairingsIsReplayedWithItsSeed() {
+        when(simulator.modeOf(any())).thenReturn(Mode.CPU_BOUND);
+        doAnswer(call -> {
+            final SimulationStats stats = call.getArgument(0);
+            final RandomGenerator random = call.getArgument(1);
+            final Pairing pairing = stats.pairing();
+            stats.recordGame(random.nextBoolean()
+                    ? finishedGame(pairing.bot1Uuid(), pairing.bot2Uuid())
+                    : finishedGame(pairing.bot2Uuid(), pairing.bot1Uuid()));
+            return null;
+        }).when(simulator).play(any(), any(), any());
+        final SimulationPlan plan = SimulationPlan.roundRobin("rank", 0, List.of("A", "B", "C", "D"), 40)
+                .withSeed(11);
+
+        final var firstRun = executor.scheduler().submit(plan, simulator);
+        final var secondRun = executor.scheduler().submit(plan, simulator);
+
+        assertThat(winsOf(secondRun.join())).isEqualTo(winsOf(firstRun.join()));
+    }
+
+    @Test
+    @DisplayName("Should deal a pairing the same games whatever the games of the pairings before it")
+    void shouldDealAPairingTheSameGamesWhateverTheGamesOfThePairingsBeforeIt() {
+        when(simulator.modeOf(any())).thenReturn(Mode.CPU_BOUND);
+        final List<Long> draws = Collections.synchronizedList(new ArrayList<>());
+        doAnswer(call -> {
+            final SimulationStats stats = call.getArgument(0);
+            final RandomGenerator random = call.getArgument(1);
+            if (stats.pairing().bot1Name().equals("C")) draws.add(random.nextLong());
+            return null;
+        }).when(simulator).play(any(), any(), any());
+        final Pairing lastPairing = Pairing.of("C", "D", 6);
+
+        executor.scheduler().submit(new SimulationPlan("long", 0, List.of(Pairing.of("A", "B", 9), lastPairing),
+                5, Dealing.INDEPENDENT), simulator).join();
+        final List<Long> firstRun = new ArrayList<>(draws);
+        draws.clear();
+        executor.scheduler().submit(new SimulationPlan("short", 0, List.of(Pairing.of("A", "B", 1), lastPairing),
+                5, Dealing.INDEPENDENT), simulator).join();
+
+        assertThat(draws).hasSize(6).containsExactlyInAnyOrderElementsOf(firstRun);
+    }
+
+    @Test
+    @DisplayName("Should stop dispatching games of a pairing decided by the sequential test")
+    void shouldStopDispatchingGamesOfAPairingDecidedByTheSequentialTest() {
+        when(simulator.modeOf(any())).thenReturn(Mode.CPU_BOUND);
+        doAnswer(call -> {
+            final SimulationStats stats = call.getArgument(0);
+            stats.recordGame(finishedGame(stats.pairing().bot1Uuid(), stats.pairing().bot2Uuid()));
+            return null;
+        }).when(simulator).play(any(), any(), any());
+        final SimulationPlan plan = SimulationPlan.of("lopsided", Pairing.of("A", "B", 500))
+                .withEarlyStopping(SequentialTest.DEFAULT);
+
+        final SimulationStats stats = executor.scheduler().submit(plan, simulator).join().get(0);
+
+        assertThat(stats.stopReason()).isEqualTo(StopReason.BOT1_STRONGER);
+        assertThat(stats.finishedGames()).isLessThan(500);
+        assertThat(stats.bot2Wins()).isZero();
+    }
+
+    private static List<List<Long>> winsOf(List<SimulationStats> results) {
+        return results.stream().map(stats -> List.of(stats.bot1Wins(), stats.bot2Wins())).toList();
+    }
+
+    static Game finishedGame(UUID winnerUuid, UUID loserUuid) {
+        final Player winner = new Player(new ArrayList<>(), "Winner", winnerUuid, Player.MAX_SCORE, true);
+        final Player loser = new Player(new ArrayList<>(), "Loser", loserUuid, 4, true);
+        return new Game(winner, loser);
+    }
+}
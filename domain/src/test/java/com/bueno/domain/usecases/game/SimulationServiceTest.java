@@ -0,0 +1,94 @@
+/*
+ *  Copyright (C) 2022 Lucas B. R. de Oliveira - IFSP/SCL
+ *  Contact: lucas <dot> oliveira <at> ifsp <dot> edu <dot> br
+ *
+ *  This file is part of CTruco (Truco game for didactic purpose).
+ *
+ *  CTruco is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  CTruco is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with CTruco.  If not, see <https://www.gnu.org/licenses/>
+ */
+package com.bueno.domain.usecases.game;
+
+import com.bueno.domain.testsupport.FirstCardBot;
+import com.bueno.domain.usecases.bot.dtos.RemoteBotDto;
+import com.bueno.domain.usecases.bot.providers.BotManagerService;
+import com.bueno.domain.usecases.bot.providers.LocalBotRegistry;
+import com.bueno.domain.usecases.bot.providers.RemoteBotApi;
+import com.bueno.domain.usecases.bot.providers.RemoteBotGuard;
+import com.bueno.domain.usecases.bot.providers.RemoteBotHealthMonitor;
+import com.bueno.domain.usecases.bot.providers.ResilientRemoteBotApi;
+import com.bueno.domain.usecases.bot.repository.RemoteBotRepository;
+import com.bueno.domain.usecases.game.service.SimulationExecutor;
+import com.bueno.domain.usecases.game.service.SimulationPlan;
+import com.bueno.domain.usecases.game.service.SimulationPlan.Pairing;
+import com.bueno.domain.usecases.game.service.SimulationService;
+import com.bueno.domain.usecases.game.service.SimulationStats;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class SimulationServiceTest {
+
+    @Mock private RemoteBotRepository repository;
+    @Mock private RemoteBotApi api;
+    private SimulationExecutor executor;
+
+    @BeforeEach
+    void setUp() {
+        executor = new SimulationExecutor(2, 4);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.close();
+    }
+
+    @Test
+    @DisplayName("Should forfeit the games of a remote bot whose circuit opens during the plan")
+    void shouldForfeitTheGamesOfARemoteBotWhoseCircuitOpensDuringThePlan() {
+        final RemoteBotDto flakyBot = new RemoteBotDto(UUID.randomUUID(), UUID.randomUUID(), "FlakyBot",
+                "http://localhost", "8080", "", true);
+        when(repository.findAll()).thenReturn(List.of(flakyBot));
+        when(api.isHealthy(flakyBot)).thenReturn(true);
+        when(api.fetchCardToPlay(any(), any())).thenThrow(new IllegalStateException("Connection refused"));
+        final var resilientApi = new ResilientRemoteBotApi(api,
+                new RemoteBotGuard.Settings(4, Duration.ofSeconds(1), 3, Duration.ofMinutes(1)),
+                new ConcurrentHashMap<>());
+        final var botManagerService = new BotManagerService(repository, resilientApi,
+                new LocalBotRegistry(Map.of("FirstCardBot", () -> FirstCardBot.passive("FirstCardBot"))),
+                new RemoteBotHealthMonitor(repository, resilientApi));
+        final var sut = new SimulationService(repository, api, botManagerService, executor);
+
+        final SimulationStats stats = sut
+                .runPlan(SimulationPlan.of("flaky", Pairing.of("FirstCardBot", "FlakyBot", 20))).get(0);
+
+        assertThat(botManagerService.hasProvider("FlakyBot")).isFalse();
+        assertThat(stats.abandonedGames()).isZero();
+        assertThat(stats.winsOf("FirstCardBot")).isEqualTo(20);
+    }
+}
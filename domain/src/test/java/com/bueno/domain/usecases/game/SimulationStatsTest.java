@@ -0,0 +1,117 @@
+/*
+ *  Copyright (C) 2022 Lucas B. R. de Oliveira - IFSP/SCL
+ *  Contact: lucas <dot> oliveira <at> ifsp <dot> edu <dot> br
+ *
+ *  This file is part of CTruco (Truco game for didactic purpose).
+ *
+ *  CTruco is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  CTruco is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with CTruco.  If not, see <https://www.gnu.org/licenses/>
+ */
+
+package com.bueno.domain.usecases.game;
+
+import com.bueno.domain.entities.game.Game;
+import com.bueno.domain.entities.player.Player;
+import com.bueno.domain.usecases.game.service.SimulationPlan.Pairing;
+import com.bueno.domain.usecases.game.service.SimulationStats;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SimulationStatsTest {
+
+    private Pairing pairing;
+    private SimulationStats sut;
+
+    @BeforeEach
+    void setUp() {
+        pairing = Pairing.of("A", "B", 2);
+        sut = new SimulationStats(pairing);
+    }
+
+    @Test
+    @DisplayName("Should count wins per seat and average margin")
+    void shouldCountWinsPerSeatAndAverageMargin() {
+        sut.recordGame(SimulationSchedulerTest.finishedGame(pairing.bot1Uuid(), pairing.bot2Uuid()));
+        sut.recordGame(SimulationSchedulerTest.finishedGame(pairing.bot2Uuid(), pairing.bot1Uuid()));
+        sut.recordGame(SimulationSchedulerTest.finishedGame(pairing.bot2Uuid(), pairing.bot1Uuid()));
+
+        assertThat(sut.bot1Wins()).isEqualTo(1);
+        assertThat(sut.bot2Wins()).isEqualTo(2);
+        assertThat(sut.winsOf("B")).isEqualTo(2);
+        assertThat(sut.finishedGames()).isEqualTo(3);
+        assertThat(sut.averagePointsMargin()).isEqualTo(Player.MAX_SCORE - 4);
+        assertThat(sut.toResults()).hasSize(3);
+    }
+
+    @Test
+    @DisplayName("Should count mao de onze hands lost by the eleven points player")
+    void shouldCountMaoDeOnzeHandsLostByTheElevenPointsPlayer() {
+        final Player elevenPoints = new Player(new ArrayList<>(), "A", pairing.bot1Uuid(), 11, true);
+        final Player opponent = new Player(new ArrayList<>(), "B", pairing.bot2Uuid(), 3, true);
+        final Game game = new Game(elevenPoints, opponent);
+        game.currentHand().quit(elevenPoints);
+
+        sut.recordHand(game);
+
+        assertThat(sut.hands()).isEqualTo(1);
+        assertThat(sut.maoDeOnzeHands()).isEqualTo(1);
+        assertThat(sut.maoDeOnzeWins()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should score the two games of a duplicate deal as a unit")
+    void shouldScoreTheTwoGamesOfADuplicateDealAsAUnit() {
+        final Game bot1Won = SimulationSchedulerTest.finishedGame(pairing.bot1Uuid(), pairing.bot2Uuid());
+        final Game bot2Won = SimulationSchedulerTest.finishedGame(pairing.bot2Uuid(), pairing.bot1Uuid());
+
+        sut.recordDuplicate(bot1Won, bot1Won);
+        sut.recordDuplicate(bot1Won, bot2Won);
+        sut.recordDuplicate(bot2Won, bot2Won);
+        sut.recordDuplicate(bot2Won, bot2Won);
+
+        assertThat(sut.bot1DuplicateWins()).isEqualTo(1);
+        assertThat(sut.bot2DuplicateWins()).isEqualTo(2);
+        assertThat(sut.duplicateSplits()).isEqualTo(1);
+        assertThat(sut.duplicateDeals()).isEqualTo(4);
+    }
+
+    @Test
+    @DisplayName("Should count a forfeit as a win of the opponent")
+    void shouldCountAForfeitAsAWinOfTheOpponent() {
+        sut.recordForfeit("A");
+        sut.recordDuplicateForfeit("B");
+
+        assertThat(sut.bot1Wins()).isEqualTo(2);
+        assertThat(sut.bot2Wins()).isEqualTo(1);
+        assertThat(sut.forfeits()).isEqualTo(3);
+        assertThat(sut.bot1DuplicateWins()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should not count ordinary hands as mao de onze")
+    void shouldNotCountOrdinaryHandsAsMaoDeOnze() {
+        final Game game = new Game(Player.ofBot(pairing.bot1Uuid(), "A"), Player.ofBot(pairing.bot2Uuid(), "B"));
+        game.currentHand().raise(game.currentHand().getCurrentPlayer());
+        game.currentHand().quit(game.currentHand().getCurrentPlayer());
+
+        sut.recordHand(game);
+
+        assertThat(sut.hands()).isEqualTo(1);
+        assertThat(sut.maoDeOnzeHands()).isZero();
+    }
+}
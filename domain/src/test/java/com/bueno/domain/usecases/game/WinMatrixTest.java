@@ -0,0 +1,117 @@
+/*
+ *  Copyright (C) 2022 Lucas B. R. de Oliveira - IFSP/SCL
+ *  Contact: lucas <dot> oliveira <at> ifsp <dot> edu <dot> br
+ *
+ *  This file is part of CTruco (Truco game for didactic purpose).
+ *
+ *  CTruco is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  CTruco is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with CTruco.  If not, see <https://www.gnu.org/licenses/>
+ */
+
+package com.bueno.domain.usecases.game;
+
+import com.bueno.domain.usecases.game.service.SimulationPlan;
+import com.bueno.domain.usecases.game.service.SimulationPlan.Pairing;
+import com.bueno.domain.usecases.game.service.SimulationStats;
+import com.bueno.domain.usecases.game.service.WinMatrix;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+import static org.assertj.core.api.Assertions.*;
+
+class WinMatrixTest {
+
+    private WinMatrix sut;
+
+    @BeforeEach
+    void setUp() {
+        sut = new WinMatrix(List.of("A", "B", "C"));
+    }
+
+    @Test
+    @DisplayName("Should credit both bots of a pairing")
+    void shouldCreditBothBotsOfAPairing() {
+        sut.addResults(stats("A", "B", 2, 1));
+        sut.addResults(stats("B", "A", 1, 0));
+
+        assertThat(sut.winsAgainst("A", "B")).isEqualTo(2);
+        assertThat(sut.winsAgainst("B", "A")).isEqualTo(2);
+        assertThat(sut.totals()).containsExactly(entry("A", 2L), entry("B", 2L), entry("C", 0L));
+    }
+
+    @Test
+    @DisplayName("Should break wins down by opponent")
+    void shouldBreakWinsDownByOpponent() {
+        sut.addResults(stats("A", "B", 1, 0));
+        sut.addResults(stats("C", "A", 1, 2));
+
+        assertThat(sut.breakdown("A")).isEqualTo(Map.of("B", 1L, "C", 2L));
+        assertThat(sut.totalWins("A")).isEqualTo(3);
+        assertThat(sut.headToHead().get("C")).isEqualTo(Map.of("A", 1L, "B", 0L));
+    }
+
+    @Test
+    @DisplayName("Should not accept results of bots outside the round-robin")
+    void shouldNotAcceptResultsOfBotsOutsideTheRoundRobin() {
+        assertThatExceptionOfType(NoSuchElementException.class).isThrownBy(() -> sut.addResults(stats("A", "D", 1, 0)));
+    }
+
+    @Test
+    @DisplayName("Should play each unordered pair once with alternated seats")
+    void shouldPlayEachUnorderedPairOnceWithAlternatedSeats() {
+        final SimulationPlan plan = SimulationPlan.roundRobin("rank", 0, List.of("A", "B", "C"), 7);
+        assertThat(plan.pairings()).hasSize(6);
+        assertThat(plan.totalGames()).isEqualTo(21);
+        assertThat(plan.pairings().get(0).games()).isEqualTo(4);
+        assertThat(plan.pairings().get(1).bot1Name()).isEqualTo("B");
+        assertThat(plan.pairings().get(1).games()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Should seat every bot first in half of its games when the games per pair are odd")
+    void shouldSeatEveryBotFirstInHalfOfItsGamesWhenTheGamesPerPairAreOdd() {
+        final List<String> botNames = List.of("A", "B", "C", "D", "E");
+        final SimulationPlan plan = SimulationPlan.roundRobin("rank", 0, botNames, 7);
+        for (String bot : botNames) {
+            final int firstSeatGames = plan.pairings().stream()
+                    .filter(pairing -> pairing.bot1Name().equals(bot))
+                    .mapToInt(Pairing::games)
+                    .sum();
+            assertThat(firstSeatGames).as(bot).isEqualTo(14);
+        }
+    }
+
+    @Test
+    @DisplayName("Should play each unordered pair once on duplicate deals")
+    void shouldPlayEachUnorderedPairOnceOnDuplicateDeals() {
+        final SimulationPlan plan = SimulationPlan.duplicateRoundRobin("rank", 0, List.of("A", "B", "C"), 4);
+        assertThat(plan.pairings()).hasSize(3);
+        assertThat(plan.totalGames()).isEqualTo(12);
+        assertThat(plan.dealing()).isEqualTo(SimulationPlan.Dealing.DUPLICATE);
+    }
+
+    private SimulationStats stats(String bot1Name, String bot2Name, int bot1Wins, int bot2Wins) {
+        final Pairing pairing = Pairing.of(bot1Name, bot2Name, bot1Wins + bot2Wins);
+        final SimulationStats stats = new SimulationStats(pairing);
+        for (int i = 0; i < bot1Wins; i++)
+            stats.recordGame(SimulationSchedulerTest.finishedGame(pairing.bot1Uuid(), pairing.bot2Uuid()));
+        for (int i = 0; i < bot2Wins; i++)
+            stats.recordGame(SimulationSchedulerTest.finishedGame(pairing.bot2Uuid(), pairing.bot1Uuid()));
+        return stats;
+    }
+}
@@ -0,0 +1,58 @@
+/*
+ *  Copyright (C) 2022 Lucas B. R. de Oliveira - IFSP/SCL
+ *  Contact: lucas <dot> oliveira <at> ifsp <dot> edu <dot> br
+ *
+ *  This file is part of CTruco (Truco game for didactic purpose).
+ *
+ *  CTruco is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  CTruco is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with CTruco.  If not, see <https://www.gnu.org/licenses/>
+ */
+package com.bueno.domain.usecases.tournament;
+
+import com.bueno.domain.entities.tournament.Match;
+import com.bueno.domain.usecases.tournament.converter.MatchConverter;
+import com.bueno.domain.usecases.tournament.dtos.MatchDTO;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MatchConverterTest {
+
+    @Test
+    @DisplayName("Should give a match stored without win rate bounds the whole interval")
+    void shouldGiveAMatchStoredWithoutWinRateBoundsTheWholeInterval() {
+        final MatchDTO dto = new MatchDTO(UUID.randomUUID(), 1, "BotA", "BotB", false, "BotA", 7, 3, 100,
+                "MAX_GAMES", null, null, null);
+
+        final Match match = MatchConverter.fromDTO(dto, List.of(dto));
+
+        assertThat(match.getP1WinRateLower()).isZero();
+        assertThat(match.getP1WinRateUpper()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("Should keep the stored win rate bounds of a match")
+    void shouldKeepTheStoredWinRateBoundsOfAMatch() {
+        final MatchDTO dto = new MatchDTO(UUID.randomUUID(), 1, "BotA", "BotB", false, "BotA", 7, 3, 100,
+                "MAX_GAMES", 0.4, 0.9, null);
+
+        final Match match = MatchConverter.fromDTO(dto, List.of(dto));
+
+        assertThat(match.getP1WinRateLower()).isEqualTo(0.4);
+        assertThat(match.getP1WinRateUpper()).isEqualTo(0.9);
+    }
+}
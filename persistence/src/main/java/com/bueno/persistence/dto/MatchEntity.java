@@ -22,6 +22,10 @@ public class MatchEntity {
     private long p1Score;
     private long p2Score;
     private long timeToExecute;
+    private String stopReason;
+    // Null in matches stored before the win rate interval was kept.
+    private Double p1WinRateLower;
+    private Double p1WinRateUpper;
     private UUID next;
 
     public static MatchEntity from(MatchDTO dto) {
@@ -35,6 +39,9 @@ public class MatchEntity {
                 .p1Score(dto.p1Score())
                 .p2Score(dto.p2Score())
                 .timeToExecute(dto.timeToExecute())
+                .stopReason(dto.stopReason())
+                .p1WinRateLower(dto.p1WinRateLower())
+                .p1WinRateUpper(dto.p1WinRateUpper())
                 .next(dto.next())
                 .build();
     }
@@ -49,6 +56,9 @@ public class MatchEntity {
                 p1Score,
                 p2Score,
                 timeToExecute,
+                stopReason,
+                p1WinRateLower,
+                p1WinRateUpper,
                 next);
     }
 }